@@ -0,0 +1,23 @@
+package com.gag.board.config;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+/**
+ * Configuration class that enables the application cache for board IDs and column layouts.
+ *<p>
+ * The caches hold IDs and immutable values only, never entities, so concurrent requests can share them.
+ * They are backed by Caffeine; their size and expiry are set through
+ * {@code spring.cache.caffeine.spec}, and their hit/miss statistics are published
+ * as {@code cache.gets} metrics through the actuator.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    /**
+     * Cache of the column layouts of boards, as column definitions with their transition tables, keyed by board ID.
+     */
+    public static final String BOARD_COLUMNS = "boardColumns";
+    /**
+     * Cache of board IDs, keyed by normalized board name.
+     */
+    public static final String BOARD_IDS = "boardIds";
+}
@@ -0,0 +1,10 @@
+package com.gag.board.config;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+/**
+ * Configuration class that enables scheduled background work, such as purging deleted boards.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,266 @@
+package com.gag.board.controller;
+
+import com.gag.board.dto.BlockUnblockReport;
+import com.gag.board.dto.BlockedCard;
+import com.gag.board.dto.BlockedTime;
+import com.gag.board.dto.BoardRequest;
+import com.gag.board.dto.BoardView;
+import com.gag.board.dto.BulkCardRequest;
+import com.gag.board.dto.CardCommandResponse;
+import com.gag.board.dto.CardCommandResult;
+import com.gag.board.dto.CardReasonRequest;
+import com.gag.board.dto.CardSpec;
+import com.gag.board.dto.CardSummary;
+import com.gag.board.dto.MovementReport;
+import com.gag.board.dto.ReportPage;
+import com.gag.board.entity.Board;
+import com.gag.board.entity.BoardColumn;
+import com.gag.board.service.BoardColumnService;
+import com.gag.board.service.BoardService;
+import com.gag.board.service.CardCommandService;
+import com.gag.board.service.CardService;
+import com.gag.board.service.MessageService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+/**
+ * HTTP API over the board operations offered by the console: creating and deleting boards,
+ * listing and changing cards, and reading reports.
+ */
+@RestController
+@RequestMapping("/api/boards")
+public class BoardController {
+    private static final int MAX_REPORT_PAGE_SIZE = 1000;
+
+    private final BoardService boardService;
+    private final BoardColumnService boardColumnService;
+    private final CardService cardService;
+    private final CardCommandService cardCommandService;
+    private final MessageService messageService;
+    /**
+     * Constructs a BoardController with the required services.
+     *
+     * @param boardService       service for board lookup, creation and deletion
+     * @param boardColumnService service for column generation and listing
+     * @param cardService        service for card generation, listing and reports
+     * @param cardCommandService service applying the card operations
+     * @param messageService     service translating the outcome messages
+     */
+    public BoardController(BoardService boardService, BoardColumnService boardColumnService, CardService cardService,
+                           CardCommandService cardCommandService, MessageService messageService) {
+        this.boardService = boardService;
+        this.boardColumnService = boardColumnService;
+        this.cardService = cardService;
+        this.cardCommandService = cardCommandService;
+        this.messageService = messageService;
+    }
+    /**
+     * Creates a new board with its columns, adding the given cards to the first column.
+     *
+     * @param request the name, number of columns and cards of the board
+     * @return the created board
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public BoardView create(@RequestBody BoardRequest request) {
+        if (request.name() == null || request.name().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "name is required");
+        }
+        if (request.columns() < 3) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, messageService.getMessage("msg.error.columns.quantity.minimum.required"));
+        }
+        List<CardSpec> cards = request.cards() != null ? request.cards() : List.of();
+        Board board = boardService.addBoard(request.name());
+        List<BoardColumn> boardColumnList = boardColumnService.generateBoardColumns(request.columns(), board);
+        boardColumnList.getFirst().setCardList(cardService.generateCards(cards, boardColumnList.getFirst()));
+        board.setBoardColumns(boardColumnList);
+        boardService.create(board);
+        return new BoardView(board.getId(), board.getName(), boardColumnService.listColumns(board.getId()));
+    }
+    /**
+     * Finds a board by its ID or name.
+     *
+     * @param idOrName the ID or the name of the board
+     * @return the board with its columns
+     */
+    @GetMapping("/{idOrName}")
+    public BoardView find(@PathVariable String idOrName) {
+        Board board = boardService.resolveBoard(idOrName).orElseThrow(this::boardNotFound);
+        return new BoardView(board.getId(), board.getName(), boardColumnService.listColumns(board.getId()));
+    }
+    /**
+     * Deletes a board. The board is hidden at once and purged in the background.
+     *
+     * @param boardId the ID of the board
+     */
+    @DeleteMapping("/{boardId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void delete(@PathVariable long boardId) {
+        Board board = requireBoard(boardId);
+        boardService.delete(board);
+    }
+    /**
+     * Lists the cards of a board.
+     *
+     * @param boardId the ID of the board
+     * @return the card summaries ordered by column and card id
+     */
+    @GetMapping("/{boardId}/cards")
+    public List<CardSummary> listCards(@PathVariable long boardId) {
+        requireBoard(boardId);
+        return cardService.listCards(boardId);
+    }
+    /**
+     * Moves a card to the next column.
+     *
+     * @param boardId the ID of the board
+     * @param cardId  the ID of the card
+     * @return the outcome of the move
+     */
+    @PostMapping("/{boardId}/cards/{cardId}/move")
+    public ResponseEntity<CardCommandResponse> move(@PathVariable long boardId, @PathVariable long cardId) {
+        return respond(cardCommandService.move(boardId, cardId));
+    }
+    /**
+     * Cancels a card.
+     *
+     * @param boardId the ID of the board
+     * @param cardId  the ID of the card
+     * @return the outcome of the cancellation
+     */
+    @PostMapping("/{boardId}/cards/{cardId}/cancel")
+    public ResponseEntity<CardCommandResponse> cancel(@PathVariable long boardId, @PathVariable long cardId) {
+        return respond(cardCommandService.cancel(boardId, cardId));
+    }
+    /**
+     * Blocks a card.
+     *
+     * @param boardId the ID of the board
+     * @param cardId  the ID of the card
+     * @param request the block reason
+     * @return the outcome of the block
+     */
+    @PostMapping("/{boardId}/cards/{cardId}/block")
+    public ResponseEntity<CardCommandResponse> block(@PathVariable long boardId, @PathVariable long cardId,
+                                                     @RequestBody(required = false) CardReasonRequest request) {
+        return respond(cardCommandService.block(boardId, cardId, reason(request)));
+    }
+    /**
+     * Unblocks a card.
+     *
+     * @param boardId the ID of the board
+     * @param cardId  the ID of the card
+     * @param request the unblock reason
+     * @return the outcome of the unblock
+     */
+    @PostMapping("/{boardId}/cards/{cardId}/unblock")
+    public ResponseEntity<CardCommandResponse> unblock(@PathVariable long boardId, @PathVariable long cardId,
+                                                       @RequestBody(required = false) CardReasonRequest request) {
+        return respond(cardCommandService.unblock(boardId, cardId, reason(request)));
+    }
+    /**
+     * Applies one operation to many cards of a board in a single transaction.
+     *
+     * @param boardId the ID of the board
+     * @param request the operation, the cards or the filter selecting them, and the reason
+     * @return the outcome of each card, keyed by card id
+     */
+    @PostMapping("/{boardId}/cards/bulk")
+    public Map<Long, CardCommandResult> bulk(@PathVariable long boardId, @RequestBody BulkCardRequest request) {
+        if (request.operation() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "operation is required");
+        }
+        requireBoard(boardId);
+        List<Long> cardIds = request.cardIds() != null ? request.cardIds()
+                : cardService.findCardIds(boardId, request.columnId(), request.blocked());
+        return switch (request.operation()) {
+            case MOVE -> cardService.moveCards(boardId, cardIds);
+            case CANCEL -> cardService.cancelCards(boardId, cardIds);
+            case BLOCK -> cardService.blockCards(boardId, cardIds, request.reason());
+            case UNBLOCK -> cardService.unblockCards(boardId, cardIds, request.reason());
+        };
+    }
+    /**
+     * Reads one page of the movement report of a board.
+     *
+     * @param boardId     the ID of the board
+     * @param from        inclusive lower bound of the window, or none
+     * @param to          exclusive upper bound of the window, or none
+     * @param afterCardId cursor returned by the previous page, or 0 for the first page
+     * @param size        maximum number of cards in the page
+     * @return the page of movement report entries
+     */
+    @GetMapping("/{boardId}/reports/movement")
+    public ReportPage<MovementReport> movementReport(@PathVariable long boardId,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+                                                     @RequestParam(defaultValue = "0") long afterCardId,
+                                                     @RequestParam(defaultValue = "100") int size) {
+        requireBoard(boardId);
+        if (size < 1 || size > MAX_REPORT_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and " + MAX_REPORT_PAGE_SIZE);
+        }
+        return cardService.getMovementReportPage(boardId, from, to, afterCardId, size);
+    }
+    /**
+     * Reads the block/unblock report of a board.
+     *
+     * @param boardId the ID of the board
+     * @return the block/unblock report entries
+     */
+    @GetMapping("/{boardId}/reports/blocked")
+    public List<BlockUnblockReport> blockedReport(@PathVariable long boardId) {
+        requireBoard(boardId);
+        return cardService.getBlockedReport(boardId);
+    }
+    /**
+     * Lists the cards of a board that are blocked right now.
+     *
+     * @param boardId the ID of the board
+     * @return the blocked cards, oldest block first
+     */
+    @GetMapping("/{boardId}/cards/blocked")
+    public List<BlockedCard> blockedCards(@PathVariable long boardId) {
+        requireBoard(boardId);
+        return cardService.getCurrentlyBlocked(boardId);
+    }
+    /**
+     * Reads the total blocked time of each card of a board.
+     *
+     * @param boardId the ID of the board
+     * @return the blocked time per card
+     */
+    @GetMapping("/{boardId}/reports/blocked-time")
+    public List<BlockedTime> blockedTimeReport(@PathVariable long boardId) {
+        requireBoard(boardId);
+        return cardService.getBlockedTimeTotals(boardId);
+    }
+    private ResponseEntity<CardCommandResponse> respond(CardCommandResult result) {
+        HttpStatus status = result.isApplied() ? HttpStatus.OK
+                : result == CardCommandResult.CARD_NOT_FOUND ? HttpStatus.NOT_FOUND : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(new CardCommandResponse(result, messageService.getMessage(result.getMessageKey())));
+    }
+    private Board requireBoard(long boardId) {
+        return boardService.resolveBoard(String.valueOf(boardId)).orElseThrow(this::boardNotFound);
+    }
+    private ResponseStatusException boardNotFound() {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, messageService.getMessage("msg.error.board.not.exist"));
+    }
+    private static String reason(CardReasonRequest request) {
+        return request != null ? request.reason() : null;
+    }
+}
@@ -0,0 +1,104 @@
+package com.gag.board.controller;
+
+import com.gag.board.dto.ReportJobRequest;
+import com.gag.board.dto.ReportJobView;
+import com.gag.board.exception.ReportJobRejectedException;
+import com.gag.board.service.BoardService;
+import com.gag.board.service.ReportJob;
+import com.gag.board.service.ReportJobService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+/**
+ * HTTP API over the background report exports of the {@link ReportJobService}.
+ */
+@RestController
+public class ReportJobController {
+    private final ReportJobService reportJobService;
+    private final BoardService boardService;
+    /**
+     * Constructs a ReportJobController with the required services.
+     *
+     * @param reportJobService service running the report exports
+     * @param boardService     service used to check that the board exists
+     */
+    public ReportJobController(ReportJobService reportJobService, BoardService boardService) {
+        this.reportJobService = reportJobService;
+        this.boardService = boardService;
+    }
+    /**
+     * Submits the export of a report of a board.
+     *
+     * @param boardId the ID of the board
+     * @param request the kind of report and its format
+     * @return the queued job
+     */
+    @PostMapping("/api/boards/{boardId}/report-jobs")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ReportJobView submit(@PathVariable long boardId, @RequestBody ReportJobRequest request) {
+        if (request.type() == null || request.format() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "type and format are required");
+        }
+        if (boardService.resolveBoard(String.valueOf(boardId)).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        return view(reportJobService.submit(boardId, request.type(), request.format()));
+    }
+    /**
+     * Lists the report jobs.
+     *
+     * @return the jobs
+     */
+    @GetMapping("/api/report-jobs")
+    public List<ReportJobView> findAll() {
+        return reportJobService.findAll().stream().map(ReportJobController::view).toList();
+    }
+    /**
+     * Finds a report job.
+     *
+     * @param jobId the ID of the job
+     * @return the job
+     */
+    @GetMapping("/api/report-jobs/{jobId}")
+    public ReportJobView find(@PathVariable long jobId) {
+        return reportJobService.find(jobId).map(ReportJobController::view)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+    /**
+     * Cancels a report job.
+     *
+     * @param jobId the ID of the job
+     */
+    @DeleteMapping("/api/report-jobs/{jobId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void cancel(@PathVariable long jobId) {
+        if (reportJobService.find(jobId).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        reportJobService.cancel(jobId);
+    }
+    /**
+     * Answers a rejected export with 429, as the client may retry once the running exports finish.
+     *
+     * @param e the rejection
+     * @return the rejection as a problem detail
+     */
+    @ExceptionHandler(ReportJobRejectedException.class)
+    public ProblemDetail rejected(ReportJobRejectedException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+    }
+    private static ReportJobView view(ReportJob job) {
+        return new ReportJobView(job.getId(), job.getBoardId(), job.getType(), job.getFormat(),
+                job.getStatus().name(), job.getRowsWritten());
+    }
+}
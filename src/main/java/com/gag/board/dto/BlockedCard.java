@@ -0,0 +1,15 @@
+package com.gag.board.dto;
+
+import java.time.LocalDateTime;
+/**
+ * A card that is blocked right now, with the column it was blocked in and how long it has been blocked.
+ */
+public record BlockedCard(
+        Long id,
+        String title,
+        Long columnBoardId,
+        String columnName,
+        String blockedReason,
+        LocalDateTime blockedSince,
+        Long secondsBlocked) {
+}
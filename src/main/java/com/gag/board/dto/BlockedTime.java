@@ -0,0 +1,10 @@
+package com.gag.board.dto;
+/**
+ * Total time a card spent blocked over all of its block episodes, counting a current block up to now.
+ */
+public record BlockedTime(
+        Long id,
+        String title,
+        Long episodes,
+        Long secondsBlocked) {
+}
@@ -0,0 +1,11 @@
+package com.gag.board.dto;
+
+import java.util.List;
+/**
+ * Request to create a board with the given number of columns and its initial cards.
+ */
+public record BoardRequest(
+        String name,
+        int columns,
+        List<CardSpec> cards) {
+}
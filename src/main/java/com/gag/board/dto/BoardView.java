@@ -0,0 +1,11 @@
+package com.gag.board.dto;
+
+import java.util.List;
+/**
+ * Read-only view of a board with its columns.
+ */
+public record BoardView(
+        Long id,
+        String name,
+        List<ColumnSummary> columns) {
+}
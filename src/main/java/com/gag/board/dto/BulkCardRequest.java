@@ -0,0 +1,14 @@
+package com.gag.board.dto;
+
+import java.util.List;
+/**
+ * Request to apply one operation to many cards of a board. The cards are given by id or, when no ids are given,
+ * selected by column and block state; a null filter matches every card.
+ */
+public record BulkCardRequest(
+        CardOperation operation,
+        List<Long> cardIds,
+        Long columnId,
+        Boolean blocked,
+        String reason) {
+}
@@ -0,0 +1,8 @@
+package com.gag.board.dto;
+/**
+ * Response to a command on a card: its outcome and the translated message describing it.
+ */
+public record CardCommandResponse(
+        CardCommandResult result,
+        String message) {
+}
@@ -0,0 +1,37 @@
+package com.gag.board.dto;
+/**
+ * Outcome of a command on a card, with the key of the message that describes it.
+ */
+public enum CardCommandResult {
+    MOVED(true, "msg.card.moved.to.next.column"),
+    CANCELLED(true, "msg.card.cancelled"),
+    BLOCKED(true, "msg.card.blocked"),
+    UNBLOCKED(true, "msg.card.unblocked"),
+    CARD_NOT_FOUND(false, "msg.error.card.id.not.found"),
+    CARD_IS_BLOCKED(false, "msg.error.card.cant.be.moved"),
+    LAST_ACTIVE_COLUMN(false, "msg.error.card.is.on.board.last.active.column"),
+    ALREADY_CANCELLED(false, "msg.error.card.already.cancelled"),
+    ALREADY_BLOCKED(false, "msg.error.card.already.blocked"),
+    NOT_BLOCKED(false, "msg.error.impossible.do.unblock"),
+    CONFLICT(false, "msg.error.card.concurrent.update");
+
+    private final boolean applied;
+    private final String messageKey;
+
+    CardCommandResult(boolean applied, String messageKey) {
+        this.applied = applied;
+        this.messageKey = messageKey;
+    }
+    /**
+     * @return true if the card was changed
+     */
+    public boolean isApplied() {
+        return applied;
+    }
+    /**
+     * @return the key of the message describing the outcome
+     */
+    public String getMessageKey() {
+        return messageKey;
+    }
+}
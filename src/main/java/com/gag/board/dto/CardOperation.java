@@ -0,0 +1,10 @@
+package com.gag.board.dto;
+/**
+ * Operations that can be applied to many cards at once.
+ */
+public enum CardOperation {
+    MOVE,
+    CANCEL,
+    BLOCK,
+    UNBLOCK
+}
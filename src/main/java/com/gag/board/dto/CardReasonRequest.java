@@ -0,0 +1,6 @@
+package com.gag.board.dto;
+/**
+ * Request carrying the reason a card is blocked or unblocked.
+ */
+public record CardReasonRequest(String reason) {
+}
@@ -0,0 +1,9 @@
+package com.gag.board.dto;
+
+/**
+ * Title and description of a card to be created. Unlike map keys, titles may repeat.
+ */
+public record CardSpec(
+        String title,
+        String description) {
+}
@@ -0,0 +1,13 @@
+package com.gag.board.dto;
+
+/**
+ * Read-only view of a card for listings, with the name of the column it is in.
+ */
+public record CardSummary(
+        Long id,
+        String title,
+        String description,
+        Boolean blocked,
+        Long columnId,
+        String columnName) {
+}
@@ -0,0 +1,11 @@
+package com.gag.board.dto;
+
+/**
+ * Immutable definition of a board column, without its board, cards or version, safe to cache and share.
+ */
+public record ColumnDefinition(
+        Long id,
+        String name,
+        Integer boardOrder,
+        Character type) {
+}
@@ -0,0 +1,12 @@
+package com.gag.board.dto;
+
+/**
+ * Read-only view of a board column for listings, with the number of cards it holds.
+ */
+public record ColumnSummary(
+        Long id,
+        String name,
+        Integer boardOrder,
+        Character type,
+        Long cardCount) {
+}
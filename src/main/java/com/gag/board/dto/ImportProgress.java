@@ -0,0 +1,16 @@
+package com.gag.board.dto;
+
+/**
+ * Progress of a card import. Counts include the chunks committed by earlier runs of the same import.
+ *
+ * @param linesRead     lines of the file consumed so far
+ * @param imported      cards created
+ * @param rejected      rows rejected by validation
+ * @param resumedAtLine line the import resumed after, or 0 when it started from the beginning
+ */
+public record ImportProgress(
+        long linesRead,
+        long imported,
+        long rejected,
+        long resumedAtLine) {
+}
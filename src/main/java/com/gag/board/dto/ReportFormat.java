@@ -0,0 +1,20 @@
+package com.gag.board.dto;
+/**
+ * File formats a report can be exported to.
+ */
+public enum ReportFormat {
+    EXCEL(".xlsx"),
+    PDF(".pdf");
+
+    private final String extension;
+
+    ReportFormat(String extension) {
+        this.extension = extension;
+    }
+    /**
+     * @return the file extension, including the leading dot
+     */
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,8 @@
+package com.gag.board.dto;
+/**
+ * Request to export a report of a board in the background.
+ */
+public record ReportJobRequest(
+        ReportType type,
+        ReportFormat format) {
+}
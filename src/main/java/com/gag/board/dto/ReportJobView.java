@@ -0,0 +1,12 @@
+package com.gag.board.dto;
+/**
+ * Read-only view of a report job, without the server-side path of its output file.
+ */
+public record ReportJobView(
+        long id,
+        long boardId,
+        ReportType type,
+        ReportFormat format,
+        String status,
+        long rowsWritten) {
+}
@@ -0,0 +1,12 @@
+package com.gag.board.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of a report. {@code nextAfterCardId} is the cursor for the following page,
+ * or null when this page is the last one.
+ */
+public record ReportPage<T>(
+        List<T> rows,
+        Long nextAfterCardId) {
+}
@@ -0,0 +1,21 @@
+package com.gag.board.dto;
+/**
+ * Kinds of report that can be exported for a board.
+ */
+public enum ReportType {
+    MOVEMENT("MovementReport"),
+    BLOCKED("blockReport"),
+    DOSSIER("boardDossier");
+
+    private final String fileName;
+
+    ReportType(String fileName) {
+        this.fileName = fileName;
+    }
+    /**
+     * @return the base name of the exported file, also used as title
+     */
+    public String getFileName() {
+        return fileName;
+    }
+}
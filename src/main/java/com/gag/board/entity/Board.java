@@ -4,7 +4,8 @@ import com.gag.board.entity.audit.AuditBoardColumns;
 import com.gag.board.entity.audit.AuditCard;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.annotations.GeneratedColumn;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -13,6 +14,7 @@ import java.util.List;
 @NoArgsConstructor
 @Entity
 @Table(name="boards")
+@SQLRestriction("deleted_dt IS NULL")
 public class Board {
 
     @Id
@@ -22,12 +24,18 @@ public class Board {
     @ToString.Include
     private String name;
 
+    @GeneratedColumn("lower(trim(name))")
+    @Column(name = "name_normalized")
+    private String nameNormalized;
+
     @ToString.Include
     private OffsetDateTime createDt;
 
     @ToString.Include
     private OffsetDateTime updateDt;
 
+    private OffsetDateTime deletedDt;
+
     @OneToMany(mappedBy = "board", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<BoardColumn> boardColumns;
 
@@ -52,6 +60,10 @@ public class Board {
         this.name = name;
     }
 
+    public String getNameNormalized() {
+        return nameNormalized;
+    }
+
     public OffsetDateTime getCreateDt() {
         return createDt;
     }
@@ -68,6 +80,14 @@ public class Board {
         this.updateDt = updateDt;
     }
 
+    public OffsetDateTime getDeletedDt() {
+        return deletedDt;
+    }
+
+    public void setDeletedDt(OffsetDateTime deletedDt) {
+        this.deletedDt = deletedDt;
+    }
+
     public List<BoardColumn> getBoardColumns() {
         return boardColumns;
     }
@@ -76,9 +96,14 @@ public class Board {
         this.boardColumns = boardColumns;
     }
 
+    @Override
+    public final boolean equals(Object o) {
+        return EntityIdentity.equals(this, o, Board::getId);
+    }
+
     @Override
     public final int hashCode() {
-        return this instanceof HibernateProxy ? ((HibernateProxy) this).getHibernateLazyInitializer().getPersistentClass().hashCode() : getClass().hashCode();
+        return EntityIdentity.hashCode(this, Board::getId);
     }
 
 
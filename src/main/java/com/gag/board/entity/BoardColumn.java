@@ -20,7 +20,7 @@ public class BoardColumn {
     @Column(name = "column_board_id")
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "board_id")
     private Board board;
 
@@ -42,9 +42,15 @@ public class BoardColumn {
     @OneToMany(mappedBy = "boardColumn", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Card> cardList;
 
+    @Version
+    private Long version;
+
     public Board getBoard() {
         return board;
     }
+    public Long getVersion() {
+        return version;
+    }
     public Long getId() {
         return id;
     }
@@ -102,4 +108,14 @@ public class BoardColumn {
     public void setCardList(List<Card> cardList) {
         this.cardList = cardList;
     }
+
+    @Override
+    public final boolean equals(Object o) {
+        return EntityIdentity.equals(this, o, BoardColumn::getId);
+    }
+
+    @Override
+    public final int hashCode() {
+        return EntityIdentity.hashCode(this, BoardColumn::getId);
+    }
 }
@@ -2,7 +2,6 @@ package com.gag.board.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.proxy.HibernateProxy;
 
 import java.time.OffsetDateTime;
 
@@ -56,13 +55,21 @@ public class Card {
     @ToString.Include
     private OffsetDateTime lastMovementDt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "column_board_id")
     private BoardColumn boardColumn;
 
+    @Version
+    private Long version;
+
+    @Override
+    public final boolean equals(Object o) {
+        return EntityIdentity.equals(this, o, Card::getId);
+    }
+
     @Override
     public final int hashCode() {
-        return this instanceof HibernateProxy ? ((HibernateProxy) this).getHibernateLazyInitializer().getPersistentClass().hashCode() : getClass().hashCode();
+        return EntityIdentity.hashCode(this, Card::getId);
     }
 
     public void setLastBlockedDt(OffsetDateTime lastBlockedDt) {
@@ -81,10 +88,17 @@ public class Card {
         return title;
     }
 
+    public Long getVersion() {
+        return version;
+    }
     public Long getId() {
         return id;
     }
 
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public void setTitle(String title) {
         this.title = title;
     }
@@ -0,0 +1,51 @@
+package com.gag.board.entity;
+
+import org.hibernate.proxy.HibernateProxy;
+
+import java.util.function.Function;
+/**
+ * Equality shared by the entities: two instances are equal when they are of the same entity class, looking through
+ * Hibernate proxies, and carry the same assigned id. The hash is the hash of the id once it is assigned, so hash-based
+ * collections of persisted entities spread over their buckets, and the identity hash of the instance before that.
+ * <p>
+ * The hash therefore changes when persisting assigns the id: a transient entity must not be kept in a hash-based
+ * collection across the persist, or it can no longer be found there. Collect new entities in lists instead.
+ */
+public final class EntityIdentity {
+
+    private EntityIdentity() {
+    }
+    /**
+     * Compares an entity with another object by entity class and id.
+     *
+     * @param entity the entity
+     * @param other  the object to compare with
+     * @param id     reads the id of an entity of the same class
+     * @return true if both are the same instance, or entities of the same class with the same non-null id
+     * @param <T> the entity class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> boolean equals(T entity, Object other, Function<? super T, ?> id) {
+        if (entity == other) return true;
+        if (other == null) return false;
+        if (effectiveClass(entity) != effectiveClass(other)) return false;
+        Object entityId = id.apply(entity);
+        return entityId != null && entityId.equals(id.apply((T) other));
+    }
+    /**
+     * Hashes an entity consistently with {@link #equals(Object, Object, Function)}.
+     *
+     * @param entity the entity
+     * @param id     reads the id of the entity
+     * @return the hash of the id, or the identity hash of the instance while the id is not assigned
+     * @param <T> the entity class
+     */
+    public static <T> int hashCode(T entity, Function<? super T, ?> id) {
+        Object entityId = id.apply(entity);
+        return entityId != null ? entityId.hashCode() : System.identityHashCode(entity);
+    }
+
+    private static Class<?> effectiveClass(Object object) {
+        return object instanceof HibernateProxy proxy ? proxy.getHibernateLazyInitializer().getPersistentClass() : object.getClass();
+    }
+}
@@ -3,6 +3,7 @@ package com.gag.board.entity.audit;
 import com.gag.board.entity.Board;
 import com.gag.board.entity.BoardColumn;
 import com.gag.board.entity.Card;
+import com.gag.board.entity.EntityIdentity;
 import com.gag.board.repository.BoardRepository;
 import com.gag.board.service.BoardColumnService;
 import com.gag.board.service.BoardService;
@@ -12,7 +13,6 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
-import org.hibernate.proxy.HibernateProxy;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
@@ -81,8 +81,13 @@ public class AuditBoard {
     public void setBoardColumns(List<AuditBoardColumns> boardColumns) {
         this.boardColumns = boardColumns;
     }
+    @Override
+    public final boolean equals(Object o) {
+        return EntityIdentity.equals(this, o, AuditBoard::getId);
+    }
+
     @Override
     public final int hashCode() {
-        return this instanceof HibernateProxy ? ((HibernateProxy) this).getHibernateLazyInitializer().getPersistentClass().hashCode() : getClass().hashCode();
+        return EntityIdentity.hashCode(this, AuditBoard::getId);
     }
 }
@@ -3,6 +3,7 @@ package com.gag.board.entity.audit;
 import com.gag.board.entity.Board;
 import com.gag.board.entity.BoardColumn;
 import com.gag.board.entity.Card;
+import com.gag.board.entity.EntityIdentity;
 import com.gag.board.repository.BoardColumnRepository;
 import com.gag.board.service.BoardColumnService;
 import com.gag.board.service.BoardService;
@@ -29,7 +30,7 @@ public class AuditBoardColumns {
     @Column(name = "column_board_id")
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "board_id")
     private AuditBoard board;
 
@@ -115,4 +116,14 @@ public class AuditBoardColumns {
     public void setCardList(List<AuditCard> cardList) {
         this.cardList = cardList;
     }
+
+    @Override
+    public final boolean equals(Object o) {
+        return EntityIdentity.equals(this, o, AuditBoardColumns::getId);
+    }
+
+    @Override
+    public final int hashCode() {
+        return EntityIdentity.hashCode(this, AuditBoardColumns::getId);
+    }
 }
@@ -7,11 +7,14 @@ import com.gag.board.service.BoardColumnService;
 import com.gag.board.service.CardService;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.proxy.HibernateProxy;
 
 import java.time.OffsetDateTime;
 import java.util.List;
 
+/**
+ * A history row of a card. The mapped id is {@code card_id}, which repeats across the rows of a card,
+ * so instances keep the default identity-based equality instead of comparing by id.
+ */
 @Getter
 @Setter
 @ToString(onlyExplicitlyIncluded = true)
@@ -127,12 +130,7 @@ public class AuditCard {
         this.columnBoard = columnBoard;
     }
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "column_board_id")
     private AuditBoardColumns columnBoard;
-
-    @Override
-    public final int hashCode() {
-        return this instanceof HibernateProxy ? ((HibernateProxy) this).getHibernateLazyInitializer().getPersistentClass().hashCode() : getClass().hashCode();
-    }
 }
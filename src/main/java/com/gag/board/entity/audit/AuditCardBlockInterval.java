@@ -0,0 +1,56 @@
+package com.gag.board.entity.audit;
+
+import com.gag.board.entity.EntityIdentity;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.OffsetDateTime;
+/**
+ * One block episode of a card, written by the card audit path and only read by the application.
+ * The card is still blocked while {@code unblockedDt} is null.
+ */
+@Getter
+@ToString(onlyExplicitlyIncluded = true)
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "a_card_block_interval")
+public class AuditCardBlockInterval {
+    @ToString.Include
+    @Id
+    private Long id;
+
+    @ToString.Include
+    private Long cardId;
+
+    @ToString.Include
+    private Long columnBoardId;
+
+    private String title;
+
+    private String description;
+
+    private String blockedReason;
+
+    private String unblockedReason;
+
+    @ToString.Include
+    private OffsetDateTime blockedDt;
+
+    @ToString.Include
+    private OffsetDateTime unblockedDt;
+
+    @Column(insertable = false, updatable = false)
+    private Long secondsBlocked;
+
+    @Override
+    public final boolean equals(Object o) {
+        return EntityIdentity.equals(this, o, AuditCardBlockInterval::getId);
+    }
+
+    @Override
+    public final int hashCode() {
+        return EntityIdentity.hashCode(this, AuditCardBlockInterval::getId);
+    }
+}
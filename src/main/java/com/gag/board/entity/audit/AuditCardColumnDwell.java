@@ -0,0 +1,52 @@
+package com.gag.board.entity.audit;
+
+import com.gag.board.entity.EntityIdentity;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.OffsetDateTime;
+/**
+ * One visit of a card to a column, written by the card audit path and only read by the application.
+ * The visit is open while {@code exitedDt} is null.
+ */
+@Getter
+@ToString(onlyExplicitlyIncluded = true)
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "a_card_column_dwell")
+public class AuditCardColumnDwell {
+    @ToString.Include
+    @Id
+    private Long id;
+
+    @ToString.Include
+    private Long cardId;
+
+    @ToString.Include
+    private Long columnBoardId;
+
+    private String title;
+
+    private String description;
+
+    @ToString.Include
+    private OffsetDateTime enteredDt;
+
+    @ToString.Include
+    private OffsetDateTime exitedDt;
+
+    @Column(insertable = false, updatable = false)
+    private Long secondsSpent;
+
+    @Override
+    public final boolean equals(Object o) {
+        return EntityIdentity.equals(this, o, AuditCardColumnDwell::getId);
+    }
+
+    @Override
+    public final int hashCode() {
+        return EntityIdentity.hashCode(this, AuditCardColumnDwell::getId);
+    }
+}
@@ -0,0 +1,10 @@
+package com.gag.board.exception;
+/**
+ * Exception thrown when a card import can't read its file or can't commit a chunk.
+ * Chunks committed before the failure are kept and the import resumes after them when run again.
+ */
+public class CardImportException extends RuntimeException{
+    public CardImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,10 @@
+package com.gag.board.exception;
+/**
+ * Exception thrown when an exporter can't write a report file.
+ * The file may already exist and hold a partial report, so callers must not treat it as a finished export.
+ */
+public class ReportExportException extends RuntimeException{
+    public ReportExportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,10 @@
+package com.gag.board.exception;
+/**
+ * Exception thrown when a report job can't be accepted, either because the board already has
+ * as many running exports as allowed or because the export queue is full.
+ */
+public class ReportJobRejectedException extends RuntimeException{
+    public ReportJobRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,165 @@
+package com.gag.board.repository;
+
+import com.gag.board.entity.Board;
+import com.gag.board.entity.BoardColumn;
+import com.gag.board.entity.Card;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+/**
+ * Set-based insert of a whole board graph (board, columns and cards) over plain JDBC.
+ * <p>
+ * The tables use IDENTITY keys, which stop Hibernate from batching inserts, so saving through JPA costs one round trip
+ * and one audit trigger call per row. Here every chunk of rows is written by a single {@code MERGE ... OUTPUT INTO}
+ * statement that also returns the generated keys together with the position of each source row, so the keys are
+ * assigned back to the right entities. Rows per statement are set by {@code board.seed.batch-size}, so with the default
+ * a board with 20 columns and 5,000 cards takes about thirty-five statements.
+ */
+@Repository
+public class BoardBulkRepository {
+    /**
+     * SQL Server accepts at most 2,100 parameters per statement; one is left for the row position.
+     */
+    static final int MAX_PARAMETERS = 2000;
+
+    private static final List<String> BOARD_COLUMNS = List.of("name", "create_dt", "update_dt");
+    private static final List<String> COLUMN_COLUMNS = List.of("board_id", "name", "board_order", "type", "create_dt", "update_dt");
+    private static final List<String> CARD_COLUMNS = List.of("title", "description", "create_dt", "update_dt", "is_blocked",
+            "blocked_reason", "unblocked_reason", "last_blocked_dt", "last_unblocked_dt", "last_movement_dt", "column_board_id");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int rowsPerStatement;
+
+    public BoardBulkRepository(JdbcTemplate jdbcTemplate, @Value("${board.seed.batch-size:150}") int rowsPerStatement) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rowsPerStatement = rowsPerStatement;
+    }
+    /**
+     * Inserts the board, its columns and the cards of every column, and sets the generated ids on the entities.
+     * Must run inside a transaction so that a failed chunk leaves no partial board behind.
+     *
+     * @param board the new board with its columns and cards
+     */
+    public void insert(Board board) {
+        insertAll("boards", "board_id", BOARD_COLUMNS, List.of(board), (ps, row) -> {
+            ps.setString(1, row.getName());
+            setTimestamp(ps, 2, row.getCreateDt());
+            setTimestamp(ps, 3, row.getUpdateDt());
+        }, Board::setId);
+
+        List<BoardColumn> columns = board.getBoardColumns() != null ? board.getBoardColumns() : Collections.emptyList();
+        insertAll("board_columns", "column_board_id", COLUMN_COLUMNS, columns, (ps, column) -> {
+            ps.setLong(1, board.getId());
+            ps.setString(2, column.getName());
+            ps.setInt(3, column.getBoard_order());
+            ps.setString(4, String.valueOf(column.getType()));
+            setTimestamp(ps, 5, column.getCreateDt());
+            setTimestamp(ps, 6, column.getUpdateDt());
+        }, BoardColumn::setId);
+
+        List<Card> cards = new ArrayList<>();
+        for (BoardColumn column : columns) {
+            if (column.getCardList() != null) {
+                cards.addAll(column.getCardList());
+            }
+        }
+        insertCards(cards);
+    }
+    /**
+     * Inserts cards whose columns are already persisted and sets the generated ids on them.
+     *
+     * @param cards the new cards
+     */
+    public void insertCards(List<Card> cards) {
+        insertAll("cards", "card_id", CARD_COLUMNS, cards, (ps, card) -> {
+            ps.setString(1, card.getTitle());
+            ps.setString(2, card.getDescription());
+            setTimestamp(ps, 3, card.getCreateDt());
+            setTimestamp(ps, 4, card.getUpdateDt());
+            ps.setLong(5, Boolean.TRUE.equals(card.getIsBlocked()) ? 1 : 0);
+            ps.setString(6, card.getBlockedReason());
+            ps.setString(7, card.getUnblockedReason());
+            setTimestamp(ps, 8, card.getLastBlockedDt());
+            setTimestamp(ps, 9, card.getLastUnblockedDt());
+            setTimestamp(ps, 10, card.getLastMovementDt());
+            ps.setLong(11, card.getBoardColumn().getId());
+        }, Card::setId);
+    }
+    /**
+     * Inserts rows in chunks of the configured size, capped by the parameter limit, and assigns the generated keys.
+     */
+    private <T> void insertAll(String table, String idColumn, List<String> columns, List<T> rows,
+                               RowBinder<T> binder, BiConsumer<T, Long> idSetter) {
+        int rowsPerStatement = Math.max(1, Math.min(this.rowsPerStatement, MAX_PARAMETERS / (columns.size() + 1)));
+        for (int start = 0; start < rows.size(); start += rowsPerStatement) {
+            List<T> chunk = rows.subList(start, Math.min(start + rowsPerStatement, rows.size()));
+            jdbcTemplate.query(mergeStatement(table, idColumn, columns, chunk.size()), ps -> {
+                int parameter = 1;
+                for (int position = 0; position < chunk.size(); position++) {
+                    ps.setInt(parameter, position);
+                    binder.bind(new OffsetStatement(ps, parameter), chunk.get(position));
+                    parameter += columns.size() + 1;
+                }
+            }, rs -> {
+                idSetter.accept(chunk.get(rs.getInt("ord")), rs.getLong("id"));
+            });
+        }
+    }
+    /**
+     * Builds a MERGE that always inserts and reports each generated key next to the position of its source row.
+     * OUTPUT must go INTO a table variable because the target tables carry triggers.
+     */
+    static String mergeStatement(String table, String idColumn, List<String> columns, int rowCount) {
+        String placeholders = "(" + String.join(", ", Collections.nCopies(columns.size() + 1, "?")) + ")";
+        String sourceColumns = String.join(", ", columns);
+        String values = String.join(", ", columns.stream().map(column -> "s." + column).toList());
+        return "SET NOCOUNT ON;\n"
+                + "DECLARE @ids TABLE (id BIGINT, ord INT);\n"
+                + "MERGE INTO " + table + " AS t\n"
+                + "USING (VALUES " + String.join(", ", Collections.nCopies(rowCount, placeholders)) + ")\n"
+                + "    AS s (ord, " + sourceColumns + ")\n"
+                + "ON 1 = 0\n"
+                + "WHEN NOT MATCHED THEN\n"
+                + "    INSERT (" + sourceColumns + ") VALUES (" + values + ")\n"
+                + "OUTPUT inserted." + idColumn + ", s.ord INTO @ids (id, ord);\n"
+                + "SELECT id, ord FROM @ids;";
+    }
+    private static void setTimestamp(OffsetStatement ps, int index, OffsetDateTime value) throws SQLException {
+        if (value == null) {
+            ps.statement.setNull(ps.offset + index, Types.TIMESTAMP);
+        } else {
+            ps.statement.setTimestamp(ps.offset + index, Timestamp.from(value.toInstant()));
+        }
+    }
+    /**
+     * Binds the values of one row; indexes start at 1 for the first column of the row.
+     */
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(OffsetStatement ps, T row) throws SQLException;
+    }
+    /**
+     * Prepared statement view whose parameter indexes are relative to the current row.
+     */
+    private record OffsetStatement(PreparedStatement statement, int offset) {
+        void setString(int index, String value) throws SQLException {
+            statement.setString(offset + index, value);
+        }
+        void setLong(int index, long value) throws SQLException {
+            statement.setLong(offset + index, value);
+        }
+        void setInt(int index, int value) throws SQLException {
+            statement.setInt(offset + index, value);
+        }
+    }
+}
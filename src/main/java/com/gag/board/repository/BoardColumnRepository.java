@@ -1,14 +1,56 @@
 package com.gag.board.repository;
 
+import com.gag.board.dto.ColumnDefinition;
+import com.gag.board.dto.ColumnSummary;
 import com.gag.board.entity.BoardColumn;
 import com.gag.board.entity.audit.AuditBoardColumns;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface BoardColumnRepository extends JpaRepository<BoardColumn, Long> {
     List<BoardColumn> findByBoard_Id(Long id);
 
+    /**
+     * Loads the columns of a board in board order, together with the board and the cards of every column,
+     * in a single statement. Only one collection is fetched, which avoids a cartesian product of bags.
+     */
+    @Query("""
+        SELECT DISTINCT bc
+        FROM BoardColumn bc
+        JOIN FETCH bc.board
+        LEFT JOIN FETCH bc.cardList
+        WHERE bc.board.id = :boardId
+        ORDER BY bc.board_order
+    """)
+    List<BoardColumn> findWorkingSetByBoardId(@Param("boardId") Long boardId);
+
+    /**
+     * Lists the definitions of the columns of a board in board order, without loading any entity.
+     */
+    @Query("""
+        SELECT new com.gag.board.dto.ColumnDefinition(bc.id, bc.name, bc.board_order, bc.type)
+        FROM BoardColumn bc
+        WHERE bc.board.id = :boardId
+        ORDER BY bc.board_order
+    """)
+    List<ColumnDefinition> findDefinitionsByBoardId(@Param("boardId") Long boardId);
+
+    /**
+     * Lists the columns of a board in board order with their card counts, without loading any entity.
+     */
+    @Query("""
+        SELECT new com.gag.board.dto.ColumnSummary(bc.id, bc.name, bc.board_order, bc.type, COUNT(c.id))
+        FROM BoardColumn bc
+        LEFT JOIN bc.cardList c
+        WHERE bc.board.id = :boardId
+        GROUP BY bc.id, bc.name, bc.board_order, bc.type
+        ORDER BY bc.board_order
+    """)
+    List<ColumnSummary> findSummariesByBoardId(@Param("boardId") Long boardId);
+
     List<AuditBoardColumns> findAuditBoardColumnsByBoard_Id(Long id);
 
     AuditBoardColumns findByCardList_Id(Long id);
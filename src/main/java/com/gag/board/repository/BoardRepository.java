@@ -5,19 +5,26 @@ import com.gag.board.entity.audit.AuditBoard;
 import jakarta.transaction.Transactional;
 import lombok.NonNull;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
 import java.util.Optional;
 
 public interface BoardRepository extends JpaRepository<Board, Long> {
 
-    boolean existsByIdOrNameIgnoreCase(Long id, String name);
     @Override
     @NonNull
     Optional<Board> findById(@NonNull Long aLong);
 
-    Optional<Board> findByIdOrNameIgnoreCase(Long id, String name);
+    Optional<Board> findFirstByNameNormalizedOrderByIdAsc(String nameNormalized);
 
     Board findBoardById(Long id);
 
     AuditBoard findAuditBoardById(Long id);
+
+    @Modifying
+    @Query("UPDATE Board b SET b.deletedDt = :deletedDt WHERE b.id = :id AND b.deletedDt IS NULL")
+    int markDeleted(@Param("id") Long id, @Param("deletedDt") OffsetDateTime deletedDt);
 }
\ No newline at end of file
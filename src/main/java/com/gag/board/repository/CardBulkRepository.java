@@ -0,0 +1,174 @@
+package com.gag.board.repository;
+
+import com.gag.board.entity.BoardColumn;
+import com.gag.board.entity.Card;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+/**
+ * Set-based updates of many cards of a board over plain JDBC.
+ * <p>
+ * The card ids travel as a single comma separated parameter expanded by {@code STRING_SPLIT}, so a statement is not
+ * bound by the 2,100 parameter limit and changing hundreds of cards costs one {@code UPDATE} per target column.
+ * The audit trigger fires once per statement with every changed row. Each update also bumps {@code version}, so an
+ * entity loaded before the update fails its optimistic check instead of overwriting the change, and reports the
+ * changed rows through {@code OUTPUT ... INTO} a table variable, as the target table carries triggers.
+ */
+@Repository
+public class CardBulkRepository {
+    static final String LOCK_CARDS = """
+        SELECT c.card_id, c.column_board_id, c.is_blocked
+        FROM cards c WITH (UPDLOCK, ROWLOCK)
+        JOIN board_columns bc ON bc.column_board_id = c.column_board_id
+        JOIN boards b ON b.board_id = bc.board_id
+        WHERE bc.board_id = ? AND b.deleted_dt IS NULL
+          AND c.card_id IN (SELECT CAST(value AS BIGINT) FROM STRING_SPLIT(?, ','))
+    """;
+    static final String MOVE_CARDS = """
+        UPDATE cards
+        SET column_board_id = ?, last_movement_dt = ?, version = version + 1
+        %s
+        WHERE column_board_id = ? AND is_blocked = 0
+          AND card_id IN (SELECT CAST(value AS BIGINT) FROM STRING_SPLIT(?, ','));
+    """;
+    static final String CANCEL_CARDS = """
+        UPDATE cards
+        SET column_board_id = ?, last_movement_dt = ?,
+            last_unblocked_dt = CASE WHEN is_blocked <> 0 THEN ? ELSE last_unblocked_dt END,
+            unblocked_reason = CASE WHEN is_blocked <> 0 THEN NULL ELSE unblocked_reason END,
+            blocked_reason = CASE WHEN is_blocked <> 0 THEN NULL ELSE blocked_reason END,
+            is_blocked = 0, version = version + 1
+        %s
+        WHERE column_board_id <> ?
+          AND card_id IN (SELECT CAST(value AS BIGINT) FROM STRING_SPLIT(?, ','));
+    """;
+    static final String BLOCK_CARDS = """
+        UPDATE cards
+        SET is_blocked = 1, blocked_reason = ?, last_blocked_dt = ?, update_dt = ?,
+            unblocked_reason = NULL, last_unblocked_dt = NULL, version = version + 1
+        %s
+        WHERE is_blocked = 0
+          AND card_id IN (SELECT CAST(value AS BIGINT) FROM STRING_SPLIT(?, ','));
+    """;
+    static final String UNBLOCK_CARDS = """
+        UPDATE cards
+        SET is_blocked = 0, blocked_reason = NULL, last_blocked_dt = NULL, last_unblocked_dt = ?, update_dt = ?,
+            unblocked_reason = ?, version = version + 1
+        %s
+        WHERE is_blocked <> 0
+          AND card_id IN (SELECT CAST(value AS BIGINT) FROM STRING_SPLIT(?, ','));
+    """;
+    static final String UPDATED_TABLE = "SET NOCOUNT ON;\n"
+            + "DECLARE @updated TABLE (card_id BIGINT, title VARCHAR(255), description VARCHAR(255), is_blocked BIGINT,"
+            + " blocked_reason VARCHAR(255), unblocked_reason VARCHAR(255), last_blocked_dt DATETIME,"
+            + " last_unblocked_dt DATETIME, last_movement_dt DATETIME, column_board_id BIGINT);\n";
+    static final String CARD_OUTPUT = "OUTPUT inserted.card_id, inserted.title, inserted.description, inserted.is_blocked,"
+            + " inserted.blocked_reason, inserted.unblocked_reason, inserted.last_blocked_dt, inserted.last_unblocked_dt,"
+            + " inserted.last_movement_dt, inserted.column_board_id INTO @updated";
+    static final String SELECT_UPDATED = "SELECT * FROM @updated;";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CardBulkRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    /**
+     * Reads the column and block state of the given cards of a board that is not deleted, and holds update locks
+     * on their rows until the transaction ends so the state stays valid for the updates that follow.
+     * Must run inside a transaction.
+     *
+     * @param boardId the ID of the board
+     * @param cardIds the IDs of the cards
+     * @return the state of the cards found on the board
+     */
+    public List<CardState> lockCards(long boardId, Collection<Long> cardIds) {
+        return jdbcTemplate.query(LOCK_CARDS, (rs, rowNum) -> new CardState(
+                rs.getLong("card_id"), rs.getLong("column_board_id"), rs.getLong("is_blocked") != 0), boardId, join(cardIds));
+    }
+    /**
+     * Moves the unblocked cards among the given ones from a column to another.
+     *
+     * @param cardIds      the IDs of the cards
+     * @param fromColumnId the ID of the column the cards are in
+     * @param toColumnId   the ID of the column the cards move to
+     * @param now          the movement date
+     * @return the moved cards, as they are after the update
+     */
+    public List<Card> moveCards(Collection<Long> cardIds, long fromColumnId, long toColumnId, OffsetDateTime now) {
+        return update(MOVE_CARDS, toColumnId, timestamp(now), fromColumnId, join(cardIds));
+    }
+    /**
+     * Moves the given cards to the cancel column, unblocking the blocked ones.
+     *
+     * @param cardIds        the IDs of the cards
+     * @param cancelColumnId the ID of the cancel column
+     * @param now            the movement date
+     * @return the cancelled cards, as they are after the update
+     */
+    public List<Card> cancelCards(Collection<Long> cardIds, long cancelColumnId, OffsetDateTime now) {
+        Timestamp timestamp = timestamp(now);
+        return update(CANCEL_CARDS, cancelColumnId, timestamp, timestamp, cancelColumnId, join(cardIds));
+    }
+    /**
+     * Blocks the unblocked cards among the given ones with the same reason.
+     *
+     * @param cardIds the IDs of the cards
+     * @param reason  the block reason
+     * @param now     the block date
+     * @return the blocked cards, as they are after the update
+     */
+    public List<Card> blockCards(Collection<Long> cardIds, String reason, OffsetDateTime now) {
+        Timestamp timestamp = timestamp(now);
+        return update(BLOCK_CARDS, reason, timestamp, timestamp, join(cardIds));
+    }
+    /**
+     * Unblocks the blocked cards among the given ones with the same reason.
+     *
+     * @param cardIds the IDs of the cards
+     * @param reason  the unblock reason
+     * @param now     the unblock date
+     * @return the unblocked cards, as they are after the update
+     */
+    public List<Card> unblockCards(Collection<Long> cardIds, String reason, OffsetDateTime now) {
+        Timestamp timestamp = timestamp(now);
+        return update(UNBLOCK_CARDS, timestamp, timestamp, reason, join(cardIds));
+    }
+    private List<Card> update(String sql, Object... args) {
+        return jdbcTemplate.query(UPDATED_TABLE + sql.formatted(CARD_OUTPUT) + SELECT_UPDATED, this::card, args);
+    }
+    private Card card(ResultSet rs, int rowNum) throws SQLException {
+        BoardColumn column = new BoardColumn();
+        column.setId(rs.getLong("column_board_id"));
+        Card card = new Card(rs.getString("title"), rs.getString("description"), null, null,
+                rs.getLong("is_blocked") != 0, column);
+        card.setId(rs.getLong("card_id"));
+        card.setBlockedReason(rs.getString("blocked_reason"));
+        card.setUnblockedReason(rs.getString("unblocked_reason"));
+        card.setLastBlockedDt(toOffsetDateTime(rs.getTimestamp("last_blocked_dt")));
+        card.setLastUnblockedDt(toOffsetDateTime(rs.getTimestamp("last_unblocked_dt")));
+        card.setLastMovementDt(toOffsetDateTime(rs.getTimestamp("last_movement_dt")));
+        return card;
+    }
+    static String join(Collection<Long> cardIds) {
+        return cardIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+    private static Timestamp timestamp(OffsetDateTime value) {
+        return Timestamp.from(value.toInstant());
+    }
+    private static OffsetDateTime toOffsetDateTime(Timestamp value) {
+        return value != null ? value.toLocalDateTime().atZone(ZoneId.systemDefault()).toOffsetDateTime() : null;
+    }
+    /**
+     * Column and block state of a card read before a bulk update.
+     */
+    public record CardState(long cardId, long columnId, boolean blocked) {
+    }
+}
@@ -1,9 +1,12 @@
 package com.gag.board.repository;
 
+import com.gag.board.dto.CardSummary;
 import com.gag.board.entity.Card;
 import com.gag.board.entity.audit.AuditBoardColumns;
 import com.gag.board.entity.audit.AuditCard;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,6 +15,45 @@ public interface CardRepository extends JpaRepository<Card, Long> {
 
     List<Card> findByBoardColumn_Board_Id(Long id);
 
+    /**
+     * Lists the cards of a board without loading any entity, ordered by column and card id.
+     */
+    @Query("""
+        SELECT new com.gag.board.dto.CardSummary(c.id, c.title, c.description, c.isBlocked, bc.id, bc.name)
+        FROM Card c
+        JOIN c.boardColumn bc
+        WHERE bc.board.id = :boardId
+        ORDER BY bc.board_order, c.id
+    """)
+    List<CardSummary> findSummariesByBoardId(@Param("boardId") Long boardId);
+
+    /**
+     * Finds a card of a board that is not deleted, with its column loaded.
+     */
+    @Query("""
+        SELECT c
+        FROM Card c
+        JOIN FETCH c.boardColumn bc
+        JOIN bc.board b
+        WHERE c.id = :cardId AND b.id = :boardId
+    """)
+    Optional<Card> findOnBoard(@Param("boardId") Long boardId, @Param("cardId") Long cardId);
+
+    /**
+     * Lists the ids of the cards of a board that is not deleted, optionally narrowed to a column and a block state.
+     */
+    @Query("""
+        SELECT c.id
+        FROM Card c
+        JOIN c.boardColumn bc
+        JOIN bc.board b
+        WHERE b.id = :boardId
+          AND (:columnId IS NULL OR bc.id = :columnId)
+          AND (:blocked IS NULL OR c.isBlocked = :blocked)
+        ORDER BY c.id
+    """)
+    List<Long> findIdsOnBoard(@Param("boardId") Long boardId, @Param("columnId") Long columnId, @Param("blocked") Boolean blocked);
+
     List<AuditCard> findAuditCardByBoardColumn_Board_Id(Long id);
 
     AuditCard findAuditCardById(Long id);
@@ -3,60 +3,159 @@ package com.gag.board.repository.audit;
 import com.gag.board.dto.BlockUnblockReport;
 import com.gag.board.dto.MovementReport;
 import com.gag.board.entity.audit.AuditCard;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface AuditCardRepository extends JpaRepository<AuditCard, Long> {
 
-    @Query("""
+    /**
+     * Movement history of the cards of one board, one row per visit of a card to a column, read from the visits kept by
+     * the card audit path in {@code a_card_column_dwell}. Rows are restricted to the board through the live column table,
+     * so the cost depends on the board's own history, and to the visits that entered a column inside [from, to).
+     * Closed visits carry their precomputed duration; only open visits are measured against the current time.
+     * Minutes are fractional, so a visit shorter than a minute is not reported as zero.
+     */
+    String MOVEMENT_REPORT_QUERY = """
         SELECT
-            cm.id, cm.title, cm.description, CAST(bc.type AS string), bc.board.id, cm.columnBoard.id,
-            COALESCE(
-                LEAD(cm.lastMovementDt) OVER (PARTITION BY cm.id ORDER BY cm.lastMovementDt),
-                NULL) AS exitTime,
-            DATEDIFF(
-                SECOND, COALESCE(cm.lastMovementDt, cm.createDt),
-                COALESCE( LEAD(cm.lastMovementDt) OVER (PARTITION BY cm.id ORDER BY cm.lastMovementDt), GETDATE() ) ) / 60 AS minutesSpent
-        
-        FROM AuditCard cm
-        LEFT JOIN AuditBoardColumns bc ON cm.columnBoard.id = bc.id AND bc.board.id = :boardId
+            dw.cardId, dw.title, dw.description, CAST(bc.type AS string), bc.board.id, dw.columnBoardId,
+            dw.exitedDt AS exitTime,
+            COALESCE(dw.secondsSpent, DATEDIFF(SECOND, dw.enteredDt, GETDATE())) / 60.0 AS minutesSpent
+        FROM AuditCardColumnDwell dw
+        JOIN BoardColumn bc ON bc.id = dw.columnBoardId
         WHERE
-            cm.lastMovementDt IS NOT NULL
-            OR cm.createDt IS NOT NULL
-        ORDER BY cm.id, cm.updateDt
-    """)
-    List<Object[]> getCardMovementReport(@Param("boardId")long boardId);
+            bc.board.id = :boardId
+            AND dw.enteredDt >= :from
+            AND dw.enteredDt < :to
+        """;
 
-    @Query("""
+    String MOVEMENT_REPORT_ORDER = """
+        ORDER BY dw.cardId, dw.enteredDt
+    """;
+
+    /**
+     * Earliest and latest values of a SQL Server DATETIME, used when the report has no time bounds.
+     */
+    OffsetDateTime REPORT_MIN_DATE = OffsetDateTime.of(1753, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    OffsetDateTime REPORT_MAX_DATE = OffsetDateTime.of(9999, 12, 31, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    /**
+     * Finished block episodes of the cards of one board, read from {@code a_card_block_interval} and restricted to the
+     * board through the live column table, with their precomputed duration.
+     */
+    String BLOCKED_REPORT_QUERY = """
         SELECT
-            cm.id,
-            cm.title,
-            cm.description,
+            bi.cardId,
+            bi.title,
+            bi.description,
             CAST(bc.type AS string),
             bc.board.id,
-            cm.columnBoard.id,
-            cm.isBlocked,
-            cm.blockedReason,
-            cm.unblockedReason,
-            cm.lastBlockedDt,
-            cm.lastUnblockedDt,
-            CASE
-                WHEN cm.lastUnblockedDt IS NULL
-                THEN
-                null
-                ELSE
-                DATEDIFF(
-                SECOND, cm.lastBlockedDt,
-                COALESCE(cm.lastUnblockedDt, GETDATE())
-            ) END AS secondsSpent
-        FROM AuditCard cm
-        LEFT JOIN AuditBoardColumns bc
-            ON cm.columnBoard.id = bc.id AND bc.board.id = :boardId
-        WHERE cm.lastBlockedDt IS NOT NULL AND cm.lastUnblockedDt IS NOT NULL
-        ORDER BY cm.id, cm.lastBlockedDt
+            bi.columnBoardId,
+            false,
+            bi.blockedReason,
+            bi.unblockedReason,
+            bi.blockedDt,
+            bi.unblockedDt,
+            bi.secondsBlocked AS secondsSpent
+        FROM AuditCardBlockInterval bi
+        JOIN BoardColumn bc ON bc.id = bi.columnBoardId
+        WHERE bc.board.id = :boardId AND bi.unblockedDt IS NOT NULL
+        ORDER BY bi.cardId, bi.blockedDt
+    """;
+
+    /**
+     * Rows fetched per round trip by the streaming report queries.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    @Query(MOVEMENT_REPORT_QUERY + MOVEMENT_REPORT_ORDER)
+    List<Object[]> getCardMovementReport(@Param("boardId")long boardId, @Param("from")OffsetDateTime from, @Param("to")OffsetDateTime to);
+
+    default List<Object[]> getCardMovementReport(long boardId) {
+        return getCardMovementReport(boardId, REPORT_MIN_DATE, REPORT_MAX_DATE);
+    }
+
+    /**
+     * Same rows as {@link #getCardMovementReport(long, OffsetDateTime, OffsetDateTime)}, read through a forward-only cursor.
+     * The stream must be consumed and closed inside an active transaction.
+     */
+    @Query(MOVEMENT_REPORT_QUERY + MOVEMENT_REPORT_ORDER)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<Object[]> streamCardMovementReport(@Param("boardId")long boardId, @Param("from")OffsetDateTime from, @Param("to")OffsetDateTime to);
+
+    /**
+     * Keyset page of the cards having movements on the board inside [from, to), after the given card id.
+     */
+    @Query("""
+        SELECT DISTINCT dw.cardId
+        FROM AuditCardColumnDwell dw
+        JOIN BoardColumn bc ON bc.id = dw.columnBoardId
+        WHERE
+            bc.board.id = :boardId
+            AND dw.cardId > :afterCardId
+            AND dw.enteredDt >= :from
+            AND dw.enteredDt < :to
+        ORDER BY dw.cardId
     """)
+    List<Long> findMovementReportCardIds(@Param("boardId")long boardId, @Param("from")OffsetDateTime from, @Param("to")OffsetDateTime to,
+                                         @Param("afterCardId")long afterCardId, Limit limit);
+
+    /**
+     * Movement report rows of the given cards only, used with {@link #findMovementReportCardIds} to page the report.
+     */
+    @Query(MOVEMENT_REPORT_QUERY + " AND dw.cardId IN :cardIds " + MOVEMENT_REPORT_ORDER)
+    List<Object[]> getCardMovementReportPage(@Param("boardId")long boardId, @Param("from")OffsetDateTime from, @Param("to")OffsetDateTime to,
+                                             @Param("cardIds")Collection<Long> cardIds);
+
+    @Query(BLOCKED_REPORT_QUERY)
     List<Object[]> getCardBlockedReport(@Param("boardId")long boardId);
-}
\ No newline at end of file
+
+    /**
+     * Same rows as {@link #getCardBlockedReport(long)}, read through a forward-only cursor.
+     * The stream must be consumed and closed inside an active transaction.
+     */
+    @Query(BLOCKED_REPORT_QUERY)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<Object[]> streamCardBlockedReport(@Param("boardId")long boardId);
+
+    /**
+     * Cards of a board that are blocked right now, oldest block first, with the seconds they have been blocked.
+     * Only the open episodes of the board columns are read, through a filtered index.
+     */
+    @Query("""
+        SELECT bi.cardId, bi.title, bc.id, bc.name, bi.blockedReason, bi.blockedDt,
+               DATEDIFF(SECOND, bi.blockedDt, GETDATE())
+        FROM AuditCardBlockInterval bi
+        JOIN BoardColumn bc ON bc.id = bi.columnBoardId
+        WHERE bc.board.id = :boardId AND bi.unblockedDt IS NULL
+        ORDER BY bi.blockedDt
+    """)
+    List<Object[]> findCurrentlyBlocked(@Param("boardId")long boardId);
+
+    /**
+     * Number of block episodes and total seconds blocked of each card of a board that was ever blocked,
+     * counting an open episode up to now.
+     */
+    @Query("""
+        SELECT bi.cardId, MAX(bi.title), COUNT(bi.id),
+               SUM(COALESCE(bi.secondsBlocked, DATEDIFF(SECOND, bi.blockedDt, GETDATE())))
+        FROM AuditCardBlockInterval bi
+        JOIN BoardColumn bc ON bc.id = bi.columnBoardId
+        WHERE bc.board.id = :boardId
+        GROUP BY bi.cardId
+        ORDER BY bi.cardId
+    """)
+    List<Object[]> getBlockedTimeTotals(@Param("boardId")long boardId);
+}
@@ -1,10 +1,13 @@
 package com.gag.board.service;
 
+import com.gag.board.config.CacheConfig;
+import com.gag.board.dto.ColumnSummary;
 import com.gag.board.entity.Board;
 import com.gag.board.entity.BoardColumn;
 import com.gag.board.entity.Card;
 import com.gag.board.entity.audit.AuditBoardColumns;
 import com.gag.board.repository.BoardColumnRepository;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
 import java.time.OffsetDateTime;
@@ -16,22 +19,57 @@ import java.util.List;
 @Service
 public class BoardColumnService {
     private final BoardColumnRepository boardColumnRepository;
+    private final CacheManager cacheManager;
     /**
      * Constructs a BoardColumnService with the specified repository.
      *
      * @param boardColumnRepository repository for board column persistence
+     * @param cacheManager          cache manager holding the column layouts
      */
-    public BoardColumnService(BoardColumnRepository boardColumnRepository) {
+    public BoardColumnService(BoardColumnRepository boardColumnRepository, CacheManager cacheManager) {
         this.boardColumnRepository = boardColumnRepository;
+        this.cacheManager = cacheManager;
     }
     /**
-     * Finds all board columns associated with a specific board ID.
+     * Finds the column layout of a board with its transition table.
+     * The layout is built once from column definitions, never entities, and cached per board until the board is deleted.
      *
-     * @param id the ID of the board
-     * @return a list of board columns belonging to the board
+     * @param boardId the ID of the board
+     * @return the column definitions of the board in board order and their transition table
      */
-    public List<BoardColumn> findByBoard_Id(long id) {
-        return boardColumnRepository.findByBoard_Id(id);
+    public ColumnLayout findLayout(long boardId) {
+        return cacheManager.getCache(CacheConfig.BOARD_COLUMNS)
+                .get(boardId, () -> ColumnLayout.of(boardColumnRepository.findDefinitionsByBoardId(boardId)));
+    }
+    /**
+     * Returns a reference to a column without reading it, for cards that must point to it.
+     *
+     * @param columnId the ID of the column
+     * @return an uninitialized reference to the column
+     */
+    public BoardColumn getReference(long columnId) {
+        return boardColumnRepository.getReferenceById(columnId);
+    }
+    /**
+     * Lists the columns of a board with their card counts, for display only.
+     *
+     * @param boardId the ID of the board
+     * @return the column summaries in board order
+     */
+    public List<ColumnSummary> listColumns(long boardId) {
+        return boardColumnRepository.findSummariesByBoardId(boardId);
+    }
+    /**
+     * Loads the ordered columns of a board together with their cards in a single query and indexes them by ID.
+     * The cards point back to the same column instances held by the working set.
+     * The transition table comes from the cached column layout of the board.
+     *
+     * @param boardId the ID of the board
+     * @return the working set of the board
+     */
+    public BoardWorkingSet findWorkingSet(long boardId) {
+        List<BoardColumn> columns = boardColumnRepository.findWorkingSetByBoardId(boardId);
+        return BoardWorkingSet.of(columns, findLayout(boardId).transitions());
     }
     /**
      * Generates a list of board columns for a given board, based on the specified quantity.
@@ -0,0 +1,153 @@
+package com.gag.board.service;
+
+import com.gag.board.service.audit.AuditLogWriter;
+import com.gag.board.service.audit.AuditOperation;
+import com.gag.board.service.audit.AuditRecord;
+import com.gag.board.service.audit.AuditRecord.BoardRecord;
+import com.gag.board.service.audit.AuditRecord.CardRecord;
+import com.gag.board.service.audit.AuditRecord.ColumnRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+/**
+ * Service responsible for purging boards that were marked as deleted.
+ * <p>
+ * Cards, then columns, then the board row are removed with {@code DELETE TOP (n)} statements, each chunk in its
+ * own short transaction, so the tables are never locked for the whole board. The audit triggers fire once per
+ * chunk; when auditing is asynchronous the deleted rows are read back through {@code OUTPUT} and queued instead.
+ */
+@Service
+public class BoardPurgeService {
+    private static final Logger log = LoggerFactory.getLogger(BoardPurgeService.class);
+
+    static final String FIND_DELETED_BOARDS = """
+        SELECT TOP (?) board_id FROM boards
+        WHERE deleted_dt IS NOT NULL
+        ORDER BY deleted_dt
+    """;
+    static final String DELETE_CARDS = """
+        DELETE TOP (?) FROM cards%s
+        WHERE column_board_id IN (SELECT column_board_id FROM board_columns WHERE board_id = ?)
+    """;
+    static final String DELETE_COLUMNS = """
+        DELETE TOP (?) FROM board_columns%s
+        WHERE board_id = ?
+    """;
+    static final String DELETE_BOARD = """
+        DELETE FROM boards%s
+        WHERE board_id = ? AND deleted_dt IS NOT NULL
+    """;
+    static final String CARD_OUTPUT = " OUTPUT deleted.card_id, deleted.title, deleted.description, deleted.is_blocked,"
+            + " deleted.blocked_reason, deleted.unblocked_reason, deleted.last_blocked_dt, deleted.last_unblocked_dt,"
+            + " deleted.last_movement_dt, deleted.column_board_id";
+    static final String COLUMN_OUTPUT = " OUTPUT deleted.column_board_id, deleted.board_id, deleted.name, deleted.board_order,"
+            + " deleted.type, deleted.create_dt";
+    static final String BOARD_OUTPUT = " OUTPUT deleted.board_id, deleted.name, deleted.create_dt";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<AuditLogWriter> auditLogWriter;
+    private final int chunkSize;
+    /**
+     * Constructs the BoardPurgeService.
+     *
+     * @param jdbcTemplate       template used to run the deletes
+     * @param transactionManager transaction manager wrapping each chunk
+     * @param auditLogWriter     asynchronous audit writer, present only when {@code board.audit.mode=async}
+     * @param chunkSize          maximum number of rows deleted per statement
+     */
+    public BoardPurgeService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             ObjectProvider<AuditLogWriter> auditLogWriter,
+                             @Value("${board.purge.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.auditLogWriter = auditLogWriter;
+        this.chunkSize = chunkSize;
+    }
+    /**
+     * Purges the boards marked as deleted, oldest first. A board that fails is retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${board.purge.interval-ms:10000}")
+    public void purgeDeletedBoards() {
+        List<Long> boardIds = jdbcTemplate.queryForList(FIND_DELETED_BOARDS, Long.class, chunkSize);
+        for (Long boardId : boardIds) {
+            try {
+                purge(boardId);
+            } catch (DataAccessException e) {
+                log.error("Could not purge deleted board {}", boardId, e);
+            }
+        }
+    }
+    /**
+     * Deletes the cards, the columns and the row of a board marked as deleted, chunk by chunk.
+     *
+     * @param boardId the ID of the board
+     */
+    public void purge(long boardId) {
+        long cards = deleteInChunks(DELETE_CARDS, CARD_OUTPUT, this::cardRecord, boardId);
+        long columns = deleteInChunks(DELETE_COLUMNS, COLUMN_OUTPUT, this::columnRecord, boardId);
+        deleteChunk(DELETE_BOARD.formatted(""), DELETE_BOARD.formatted(BOARD_OUTPUT), this::boardRecord, boardId);
+        log.info("Purged board {} with {} columns and {} cards", boardId, columns, cards);
+    }
+    private long deleteInChunks(String sql, String output, RowMapper<AuditRecord> rowMapper, long boardId) {
+        String plain = sql.formatted("");
+        String returning = sql.formatted(output);
+        long total = 0;
+        int deleted;
+        do {
+            deleted = deleteChunk(plain, returning, rowMapper, chunkSize, boardId);
+            total += deleted;
+        } while (deleted == chunkSize);
+        return total;
+    }
+    /**
+     * Runs one delete in its own transaction. Triggers and an {@code OUTPUT} clause without {@code INTO} cannot be
+     * combined, so the deleted rows are only read back when the triggers are off, i.e. in asynchronous audit mode.
+     */
+    private int deleteChunk(String plain, String returning, RowMapper<AuditRecord> rowMapper, Object... args) {
+        AuditLogWriter writer = auditLogWriter.getIfAvailable();
+        Integer deleted = transactionTemplate.execute(status -> {
+            if (writer == null) {
+                return jdbcTemplate.update(plain, args);
+            }
+            List<AuditRecord> records = jdbcTemplate.query(returning, rowMapper, args);
+            writer.enqueueAfterCommit(records);
+            return records.size();
+        });
+        return deleted != null ? deleted : 0;
+    }
+    private AuditRecord cardRecord(ResultSet rs, int rowNum) throws SQLException {
+        return new CardRecord(AuditOperation.DELETE, rs.getLong("card_id"), rs.getString("title"), rs.getString("description"),
+                rs.getLong("is_blocked") != 0, rs.getString("blocked_reason"), rs.getString("unblocked_reason"),
+                toOffsetDateTime(rs.getTimestamp("last_blocked_dt")), toOffsetDateTime(rs.getTimestamp("last_unblocked_dt")),
+                toOffsetDateTime(rs.getTimestamp("last_movement_dt")), rs.getObject("column_board_id", Long.class),
+                OffsetDateTime.now());
+    }
+    private AuditRecord columnRecord(ResultSet rs, int rowNum) throws SQLException {
+        return new ColumnRecord(AuditOperation.DELETE, rs.getLong("column_board_id"), rs.getObject("board_id", Long.class),
+                rs.getString("name"), rs.getInt("board_order"), rs.getString("type").charAt(0),
+                toOffsetDateTime(rs.getTimestamp("create_dt")), OffsetDateTime.now());
+    }
+    private AuditRecord boardRecord(ResultSet rs, int rowNum) throws SQLException {
+        return new BoardRecord(AuditOperation.DELETE, rs.getLong("board_id"), rs.getString("name"),
+                toOffsetDateTime(rs.getTimestamp("create_dt")), OffsetDateTime.now());
+    }
+    private static OffsetDateTime toOffsetDateTime(Timestamp value) {
+        return value != null ? value.toLocalDateTime().atZone(ZoneId.systemDefault()).toOffsetDateTime() : null;
+    }
+}
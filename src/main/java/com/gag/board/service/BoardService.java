@@ -1,15 +1,24 @@
 package com.gag.board.service;
 
+import com.gag.board.config.CacheConfig;
 import com.gag.board.dto.BlockUnblockReport;
 import com.gag.board.dto.MovementReport;
 import com.gag.board.entity.Board;
+import com.gag.board.repository.BoardBulkRepository;
 import com.gag.board.repository.BoardRepository;
+import com.gag.board.service.audit.AuditLogWriter;
 import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 /**
  * Service responsible for managing board operations such as creation, deletion,
@@ -19,15 +28,25 @@ import java.util.Optional;
 public class BoardService {
     private final BoardRepository boardRepository;
     private final CardService cardService;
+    private final BoardBulkRepository boardBulkRepository;
+    private final ObjectProvider<AuditLogWriter> auditLogWriter;
+    private final CacheManager cacheManager;
     /**
      * Constructs a BoardService with required dependencies.
      *
      * @param boardRepository      repository for board persistence
      * @param cardService          service for managing cards and reports
+     * @param boardBulkRepository  repository for set-based creation of whole boards
+     * @param auditLogWriter       asynchronous audit writer, present only when {@code board.audit.mode=async}
+     * @param cacheManager         cache manager holding the board name to ID cache
      */
-    public BoardService(BoardRepository boardRepository, CardService cardService) {
+    public BoardService(BoardRepository boardRepository, CardService cardService, BoardBulkRepository boardBulkRepository,
+                        ObjectProvider<AuditLogWriter> auditLogWriter, CacheManager cacheManager) {
         this.boardRepository = boardRepository;
         this.cardService = cardService;
+        this.boardBulkRepository = boardBulkRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.cacheManager = cacheManager;
     }
     /**
      * Saves the given board to the database.
@@ -38,6 +57,17 @@ public class BoardService {
     public void save(Board board){
         boardRepository.save(board);
     }
+    /**
+     * Creates a new board with its columns and cards using set-based inserts instead of one statement per row.
+     * Use {@link #save(Board)} when the board must go through the JPA persistence context.
+     *
+     * @param board the new board with its columns and cards
+     */
+    @Transactional
+    public void create(Board board){
+        boardBulkRepository.insert(board);
+        auditLogWriter.ifAvailable(writer -> writer.enqueueCreatedAfterCommit(board));
+    }
     /**
      * Creates a new Board object with the specified name and current creation date.
      *
@@ -51,32 +81,67 @@ public class BoardService {
         return board;
     }
     /**
-     * Deletes the specified board from the database.
+     * Marks the specified board as deleted, which hides it at once, and drops it and its columns from the cache.
+     * Its cards, columns and row are purged later by {@link BoardPurgeService} in short set-based chunks.
      *
      * @param board the board to be deleted
      */
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BOARD_COLUMNS, key = "#board.id"),
+            @CacheEvict(cacheNames = CacheConfig.BOARD_IDS, key = "T(com.gag.board.service.BoardService).normalizeName(#board.name)")
+    })
     public void delete(Board board){
-        boardRepository.delete(board);
+        boardRepository.markDeleted(board.getId(), OffsetDateTime.now());
     }
     /**
-     * Checks if a board exists by its ID or name (case-insensitive).
+     * Resolves the board typed by the user, either its ID or its name (case-insensitive, ignoring surrounding spaces).
+     * A name is first looked up in the name to ID cache and otherwise read through the {@code name_normalized} index;
+     * either way a single query reads the board, which is never cached itself.
      *
-     * @param id   the ID of the board
-     * @param name the name of the board
-     * @return true if the board exists, false otherwise
+     * @param idOrName the ID or the name of the board
+     * @return an Optional containing the board if found, or empty otherwise
      */
-    public boolean existsByIdOrNameIgnoreCase(Long id, String name){
-        return boardRepository.existsByIdOrNameIgnoreCase(id,name);
+    public Optional<Board> resolveBoard(String idOrName){
+        String name = normalizeName(idOrName);
+        try {
+            return boardRepository.findById(Long.parseLong(name));
+        } catch (NumberFormatException e) {
+            // not an ID, resolve it as a name
+        }
+        Cache boardIds = cacheManager.getCache(CacheConfig.BOARD_IDS);
+        Long cachedId = boardIds.get(name, Long.class);
+        if (cachedId != null) {
+            Optional<Board> board = boardRepository.findById(cachedId);
+            if (board.isPresent() && name.equals(board.get().getNameNormalized())) {
+                return board;
+            }
+            boardIds.evict(name);
+        }
+        Optional<Board> board = boardRepository.findFirstByNameNormalizedOrderByIdAsc(name);
+        board.ifPresent(found -> boardIds.put(name, found.getId()));
+        return board;
     }
     /**
-     * Finds a board by its ID or name (case-insensitive).
+     * Normalizes a board name the same way as the {@code boards.name_normalized} column, {@code lower(trim(name))}.
+     * Like SQL {@code TRIM}, only surrounding spaces are removed: a name with a leading tab keeps it in the column too.
      *
-     * @param id   the ID of the board
-     * @param name the name of the board
-     * @return an Optional containing the board if found, or empty otherwise
+     * @param name the board name, may be null
+     * @return the lower-case name without surrounding spaces
      */
-    public Optional<Board> findByIdOrNameIgnoreCase(Long id, String name){
-        return boardRepository.findByIdOrNameIgnoreCase(id,name);
+    public static String normalizeName(String name){
+        if (name == null) {
+            return "";
+        }
+        int start = 0;
+        int end = name.length();
+        while (start < end && name.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && name.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return name.substring(start, end).toLowerCase(Locale.ROOT);
     }
     /**
      * Retrieves a report of card movements for the specified board.
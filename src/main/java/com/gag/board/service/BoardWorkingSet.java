@@ -0,0 +1,105 @@
+package com.gag.board.service;
+
+import com.gag.board.dto.ColumnDefinition;
+import com.gag.board.entity.BoardColumn;
+import com.gag.board.entity.Card;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+/**
+ * The columns and cards of one board loaded for editing, indexed by ID so that a card or column
+ * picked by the user is found in constant time instead of by scanning the lists.
+ */
+public final class BoardWorkingSet {
+    private final List<BoardColumn> columns;
+    private final List<Card> cards;
+    private final Map<Long, BoardColumn> columnsById;
+    private final Map<Long, Card> cardsById;
+    private final ColumnTransitions transitions;
+
+    private BoardWorkingSet(List<BoardColumn> columns, List<Card> cards, Map<Long, BoardColumn> columnsById, Map<Long, Card> cardsById,
+                            ColumnTransitions transitions) {
+        this.columns = columns;
+        this.cards = cards;
+        this.columnsById = columnsById;
+        this.cardsById = cardsById;
+        this.transitions = transitions;
+    }
+    /**
+     * Builds the working set from columns whose cards are already loaded, with a new transition table.
+     *
+     * @param columns the columns of the board in board order
+     * @return the indexed working set
+     */
+    public static BoardWorkingSet of(List<BoardColumn> columns) {
+        return of(columns, ColumnTransitions.of(columns.stream()
+                .map(column -> new ColumnDefinition(column.getId(), column.getName(), column.getBoard_order(), column.getType()))
+                .toList()));
+    }
+    /**
+     * Builds the working set from columns whose cards are already loaded.
+     *
+     * @param columns     the columns of the board in board order
+     * @param transitions the transition table built for these columns
+     * @return the indexed working set
+     */
+    public static BoardWorkingSet of(List<BoardColumn> columns, ColumnTransitions transitions) {
+        int cardCount = 0;
+        for (BoardColumn column : columns) {
+            cardCount += column.getCardList() == null ? 0 : column.getCardList().size();
+        }
+        Map<Long, BoardColumn> columnsById = HashMap.newHashMap(columns.size());
+        Map<Long, Card> cardsById = HashMap.newHashMap(cardCount);
+        List<Card> cards = new ArrayList<>(cardCount);
+        for (BoardColumn column : columns) {
+            columnsById.put(column.getId(), column);
+            if (column.getCardList() == null) {
+                continue;
+            }
+            for (Card card : column.getCardList()) {
+                cardsById.put(card.getId(), card);
+                cards.add(card);
+            }
+        }
+        return new BoardWorkingSet(List.copyOf(columns), Collections.unmodifiableList(cards), columnsById, cardsById, transitions);
+    }
+    /**
+     * @return the columns of the board in board order
+     */
+    public List<BoardColumn> getColumns() {
+        return columns;
+    }
+    /**
+     * @return every card of the board, grouped by column in board order
+     */
+    public List<Card> getCards() {
+        return cards;
+    }
+    /**
+     * @return the transition table of the board's columns
+     */
+    public ColumnTransitions getTransitions() {
+        return transitions;
+    }
+    /**
+     * Finds a card of the board by its ID.
+     *
+     * @param cardId the ID of the card
+     * @return the card, or null if it does not belong to this board
+     */
+    public Card findCard(long cardId) {
+        return cardsById.get(cardId);
+    }
+    /**
+     * Finds a column of the board by its ID.
+     *
+     * @param columnId the ID of the column
+     * @return the column, or null if it does not belong to this board
+     */
+    public BoardColumn findColumn(long columnId) {
+        return columnsById.get(columnId);
+    }
+}
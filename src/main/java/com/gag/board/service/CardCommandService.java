@@ -0,0 +1,222 @@
+package com.gag.board.service;
+
+import com.gag.board.dto.CardCommandResult;
+import com.gag.board.entity.Card;
+import com.gag.board.repository.BoardColumnRepository;
+import com.gag.board.repository.CardRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+/**
+ * Service that applies the card operations of the board (move, cancel, block, unblock) without user interaction.
+ * Each operation reads one card with its column, resolves the target column through the cached column layout
+ * and transition table of the board, and reports its outcome instead of printing it.
+ * <p>
+ * Cards are versioned, so an operation that raced with another change of the same card fails at flush instead of
+ * overwriting it. The whole read-modify-write is then retried from a fresh read, a bounded number of times.
+ */
+@Service
+public class CardCommandService {
+    private static final Logger log = LoggerFactory.getLogger(CardCommandService.class);
+    private static final int MAX_BACKOFF_SHIFT = 10;
+
+    private final CardRepository cardRepository;
+    private final BoardColumnRepository boardColumnRepository;
+    private final BoardColumnService boardColumnService;
+    private final CardService cardService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    /**
+     * Constructs a CardCommandService with the required dependencies.
+     *
+     * @param cardRepository        repository used to read the card being changed
+     * @param boardColumnRepository repository used to reference the target column without reading it
+     * @param boardColumnService    service providing the cached column layout and transitions of a board
+     * @param cardService           service used to save the card
+     * @param transactionManager    transaction manager wrapping each attempt
+     * @param maxAttempts           number of attempts before a conflicting operation gives up
+     * @param backoffMillis         base delay before the second attempt, doubled for each further attempt
+     */
+    public CardCommandService(CardRepository cardRepository, BoardColumnRepository boardColumnRepository,
+                              BoardColumnService boardColumnService, CardService cardService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${board.command.max-attempts:5}") int maxAttempts,
+                              @Value("${board.command.backoff-ms:10}") long backoffMillis) {
+        this.cardRepository = cardRepository;
+        this.boardColumnRepository = boardColumnRepository;
+        this.boardColumnService = boardColumnService;
+        this.cardService = cardService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+    }
+    /**
+     * Moves a card to the next column of its board, unless it is blocked or already in the last active column.
+     *
+     * @param boardId the ID of the board
+     * @param cardId  the ID of the card
+     * @return the outcome of the move
+     */
+    public CardCommandResult move(long boardId, long cardId) {
+        return execute(() -> applyMove(boardId, cardId));
+    }
+    private CardCommandResult applyMove(long boardId, long cardId) {
+        Optional<Card> found = cardRepository.findOnBoard(boardId, cardId);
+        if (found.isEmpty()) {
+            return CardCommandResult.CARD_NOT_FOUND;
+        }
+        Card card = found.get();
+        if (Boolean.TRUE.equals(card.getIsBlocked())) {
+            return CardCommandResult.CARD_IS_BLOCKED;
+        }
+        Long nextColumnId = transitions(boardId).nextColumnId(card.getBoardColumn());
+        if (nextColumnId == null) {
+            return CardCommandResult.LAST_ACTIVE_COLUMN;
+        }
+        card.setBoardColumn(boardColumnRepository.getReferenceById(nextColumnId));
+        card.setLastMovementDt(OffsetDateTime.now());
+        cardService.save(card);
+        return CardCommandResult.MOVED;
+    }
+    /**
+     * Cancels a card by moving it to the cancel column of its board, unblocking it if needed.
+     *
+     * @param boardId the ID of the board
+     * @param cardId  the ID of the card
+     * @return the outcome of the cancellation
+     */
+    public CardCommandResult cancel(long boardId, long cardId) {
+        return execute(() -> applyCancel(boardId, cardId));
+    }
+    private CardCommandResult applyCancel(long boardId, long cardId) {
+        Optional<Card> found = cardRepository.findOnBoard(boardId, cardId);
+        if (found.isEmpty()) {
+            return CardCommandResult.CARD_NOT_FOUND;
+        }
+        Card card = found.get();
+        ColumnTransitions transitions = transitions(boardId);
+        if (transitions.isCancelColumn(card.getBoardColumn())) {
+            return CardCommandResult.ALREADY_CANCELLED;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        card.setBoardColumn(boardColumnRepository.getReferenceById(transitions.cancelColumnId()));
+        if (Boolean.TRUE.equals(card.getIsBlocked())) {
+            card.setLastUnblockedDt(now);
+            card.setUnblockedReason(null);
+            card.setBlockedReason(null);
+            card.setIsBlocked(false);
+        }
+        card.setLastMovementDt(now);
+        cardService.save(card);
+        return CardCommandResult.CANCELLED;
+    }
+    /**
+     * Blocks a card with the given reason.
+     *
+     * @param boardId the ID of the board
+     * @param cardId  the ID of the card
+     * @param reason  the block reason
+     * @return the outcome of the block
+     */
+    public CardCommandResult block(long boardId, long cardId, String reason) {
+        return execute(() -> applyBlock(boardId, cardId, reason));
+    }
+    private CardCommandResult applyBlock(long boardId, long cardId, String reason) {
+        Optional<Card> found = cardRepository.findOnBoard(boardId, cardId);
+        if (found.isEmpty()) {
+            return CardCommandResult.CARD_NOT_FOUND;
+        }
+        Card card = found.get();
+        if (Boolean.TRUE.equals(card.getIsBlocked())) {
+            return CardCommandResult.ALREADY_BLOCKED;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        card.setLastBlockedDt(now);
+        card.setIsBlocked(true);
+        card.setBlockedReason(reason);
+        card.setUpdateDt(now);
+        card.setUnblockedReason(null);
+        card.setLastUnblockedDt(null);
+        cardService.save(card);
+        return CardCommandResult.BLOCKED;
+    }
+    /**
+     * Unblocks a card with the given reason.
+     *
+     * @param boardId the ID of the board
+     * @param cardId  the ID of the card
+     * @param reason  the unblock reason
+     * @return the outcome of the unblock
+     */
+    public CardCommandResult unblock(long boardId, long cardId, String reason) {
+        return execute(() -> applyUnblock(boardId, cardId, reason));
+    }
+    private CardCommandResult applyUnblock(long boardId, long cardId, String reason) {
+        Optional<Card> found = cardRepository.findOnBoard(boardId, cardId);
+        if (found.isEmpty()) {
+            return CardCommandResult.CARD_NOT_FOUND;
+        }
+        Card card = found.get();
+        if (!Boolean.TRUE.equals(card.getIsBlocked())) {
+            return CardCommandResult.NOT_BLOCKED;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        card.setIsBlocked(false);
+        card.setBlockedReason(null);
+        card.setLastBlockedDt(null);
+        card.setLastUnblockedDt(now);
+        card.setUpdateDt(now);
+        card.setUnblockedReason(reason);
+        cardService.save(card);
+        return CardCommandResult.UNBLOCKED;
+    }
+    /**
+     * Runs a read-modify-write of a card in its own transaction, flushing before commit so a version conflict
+     * surfaces here. On conflict the command is retried after a jittered, exponentially growing delay.
+     *
+     * @param command the read-modify-write to run
+     * @return the outcome of the command, or CONFLICT if every attempt raced with another change
+     */
+    CardCommandResult execute(Supplier<CardCommandResult> command) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    CardCommandResult result = command.get();
+                    cardRepository.flush();
+                    return result;
+                });
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("Card command gave up after {} conflicting attempts", attempt, e);
+                    return CardCommandResult.CONFLICT;
+                }
+                if (!backoff(attempt)) {
+                    return CardCommandResult.CONFLICT;
+                }
+            }
+        }
+    }
+    private boolean backoff(int attempt) {
+        long ceiling = backoffMillis << Math.min(attempt - 1, MAX_BACKOFF_SHIFT);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    private ColumnTransitions transitions(long boardId) {
+        return boardColumnService.findLayout(boardId).transitions();
+    }
+}
@@ -0,0 +1,183 @@
+package com.gag.board.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gag.board.dto.CardSpec;
+import com.gag.board.dto.ImportProgress;
+import com.gag.board.entity.BoardColumn;
+import com.gag.board.exception.CardImportException;
+import com.gag.board.util.importer.CardFileReader;
+import com.gag.board.util.importer.CardImportFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Consumer;
+/**
+ * Service responsible for importing cards from CSV or NDJSON files into a board column.
+ * <p>
+ * The file is read row by row and cards are created in chunks, each chunk in its own transaction together with
+ * a checkpoint of the lines it covers. Memory use is bounded by the chunk size, and an import that failed
+ * resumes after its last committed chunk when it is run again for the same file and column.
+ */
+@Service
+public class CardImportService {
+    private static final Logger log = LoggerFactory.getLogger(CardImportService.class);
+
+    static final String FIND_CHECKPOINT = """
+        SELECT file_size, lines_committed, cards_imported, cards_rejected
+        FROM card_import_checkpoints
+        WHERE import_key = ?
+    """;
+    static final String INSERT_CHECKPOINT = """
+        INSERT INTO card_import_checkpoints (import_key, column_board_id, file_size, lines_committed, cards_imported, cards_rejected, update_dt)
+        VALUES (?, ?, ?, ?, ?, ?, ?)
+    """;
+    static final String UPDATE_CHECKPOINT = """
+        UPDATE card_import_checkpoints
+        SET lines_committed = ?, cards_imported = ?, cards_rejected = ?, update_dt = ?
+        WHERE import_key = ?
+    """;
+    static final String DELETE_CHECKPOINT = """
+        DELETE FROM card_import_checkpoints WHERE import_key = ?
+    """;
+
+    private final CardService cardService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    private record Checkpoint(long fileSize, long linesCommitted, long imported, long rejected) {
+    }
+    /**
+     * Constructs the CardImportService.
+     *
+     * @param cardService        service creating the cards
+     * @param jdbcTemplate       template used to keep the import checkpoints
+     * @param transactionManager transaction manager wrapping each chunk
+     * @param objectMapper       mapper used to parse NDJSON rows
+     * @param chunkSize          number of cards committed per transaction
+     */
+    public CardImportService(CardService cardService, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper, @Value("${board.import.chunk-size:1000}") int chunkSize) {
+        this.cardService = cardService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+    /**
+     * Imports the cards of a file into a column, resuming after the last committed chunk of an earlier run.
+     *
+     * @param file     the file to import
+     * @param format   the format of the file
+     * @param column   the persisted column receiving the cards
+     * @param progress notified after every committed chunk
+     * @return the final progress of the import
+     * @throws CardImportException if the file can't be read or a chunk can't be committed
+     */
+    public ImportProgress importCards(Path file, CardImportFormat format, BoardColumn column, Consumer<ImportProgress> progress) {
+        String importKey = importKey(file, column);
+        long fileSize;
+        try {
+            fileSize = Files.size(file);
+        } catch (IOException e) {
+            throw new CardImportException("Could not read " + file, e);
+        }
+        Checkpoint checkpoint = findCheckpoint(importKey);
+        if (checkpoint != null && checkpoint.fileSize() != fileSize) {
+            log.warn("{} changed since its last import attempt, starting over", file);
+            jdbcTemplate.update(DELETE_CHECKPOINT, importKey);
+            checkpoint = null;
+        }
+
+        try (CardFileReader reader = new CardFileReader(file, format, objectMapper)) {
+            long resumedAtLine = checkpoint != null ? reader.skip(checkpoint.linesCommitted()) : 0;
+            long imported = checkpoint != null ? checkpoint.imported() : 0;
+            long rejected = checkpoint != null ? checkpoint.rejected() : 0;
+            boolean checkpointSaved = checkpoint != null;
+            List<CardSpec> chunk = new ArrayList<>(chunkSize);
+
+            CardFileReader.Row row;
+            while ((row = reader.next()) != null) {
+                if (row.isValid()) {
+                    chunk.add(row.spec());
+                } else {
+                    rejected++;
+                    log.warn("Line {} of {} rejected: {}", row.lineNumber(), file, row.error());
+                }
+                if (chunk.size() == chunkSize) {
+                    imported += chunk.size();
+                    commit(chunk, column, importKey, fileSize, reader.getLineNumber(), imported, rejected, checkpointSaved, false);
+                    checkpointSaved = true;
+                    chunk.clear();
+                    progress.accept(new ImportProgress(reader.getLineNumber(), imported, rejected, resumedAtLine));
+                }
+            }
+            imported += chunk.size();
+            commit(chunk, column, importKey, fileSize, reader.getLineNumber(), imported, rejected, checkpointSaved, true);
+            ImportProgress result = new ImportProgress(reader.getLineNumber(), imported, rejected, resumedAtLine);
+            progress.accept(result);
+            return result;
+        } catch (IOException e) {
+            throw new CardImportException("Could not read " + file, e);
+        }
+    }
+    /**
+     * Creates the cards of a chunk and moves the checkpoint past it in one transaction.
+     * The last chunk removes the checkpoint instead, as there is nothing left to resume.
+     */
+    private void commit(List<CardSpec> chunk, BoardColumn column, String importKey, long fileSize, long lines,
+                        long imported, long rejected, boolean checkpointSaved, boolean last) {
+        Timestamp now = Timestamp.from(Instant.now());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!chunk.isEmpty()) {
+                    cardService.seedCards(chunk, column);
+                }
+                if (last) {
+                    jdbcTemplate.update(DELETE_CHECKPOINT, importKey);
+                } else if (checkpointSaved) {
+                    jdbcTemplate.update(UPDATE_CHECKPOINT, lines, imported, rejected, now, importKey);
+                } else {
+                    jdbcTemplate.update(INSERT_CHECKPOINT, importKey, column.getId(), fileSize, lines, imported, rejected, now);
+                }
+            });
+        } catch (DataAccessException e) {
+            throw new CardImportException("Could not import the cards up to line " + lines, e);
+        }
+    }
+    private Checkpoint findCheckpoint(String importKey) {
+        return jdbcTemplate.query(FIND_CHECKPOINT, rs -> rs.next()
+                ? new Checkpoint(rs.getLong("file_size"), rs.getLong("lines_committed"), rs.getLong("cards_imported"), rs.getLong("cards_rejected"))
+                : null, importKey);
+    }
+    /**
+     * Identifies an import by the absolute path of its file and the target column.
+     */
+    static String importKey(Path file, BoardColumn column) {
+        String source = file.toAbsolutePath().normalize() + "#" + column.getId();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
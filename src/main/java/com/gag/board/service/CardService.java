@@ -1,18 +1,36 @@
 package com.gag.board.service;
 
 import com.gag.board.dto.BlockUnblockReport;
+import com.gag.board.dto.BlockedCard;
+import com.gag.board.dto.BlockedTime;
+import com.gag.board.dto.CardCommandResult;
+import com.gag.board.dto.CardSpec;
+import com.gag.board.dto.CardSummary;
+import com.gag.board.dto.ColumnDefinition;
 import com.gag.board.dto.MovementReport;
+import com.gag.board.dto.ReportPage;
 import com.gag.board.entity.BoardColumn;
 import com.gag.board.entity.Card;
+import com.gag.board.repository.BoardBulkRepository;
+import com.gag.board.repository.CardBulkRepository;
+import com.gag.board.repository.CardBulkRepository.CardState;
 import com.gag.board.repository.CardRepository;
 import com.gag.board.repository.audit.AuditCardRepository;
+import com.gag.board.service.audit.AuditLogWriter;
 import org.springframework.cglib.core.Block;
 import org.springframework.cglib.core.Local;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 /**
  * Service responsible for managing cards and generating related reports.
  */
@@ -20,15 +38,29 @@ import java.util.*;
 public class CardService {
     private final CardRepository cardRepository;
     private final AuditCardRepository auditCardRepository;
+    private final BoardBulkRepository boardBulkRepository;
+    private final ObjectProvider<AuditLogWriter> auditLogWriter;
+    private final CardBulkRepository cardBulkRepository;
+    private final BoardColumnService boardColumnService;
     /**
      * Constructs a CardService with the provided repositories.
      *
      * @param cardRepository        repository for managing card persistence
      * @param auditCardRepository   repository for retrieving card audit data
+     * @param boardBulkRepository   repository for set-based card inserts
+     * @param auditLogWriter        asynchronous audit writer, present only when {@code board.audit.mode=async}
+     * @param cardBulkRepository    repository for set-based card updates
+     * @param boardColumnService    service providing the cached column layout and transitions of a board
      */
-    public CardService(CardRepository cardRepository, AuditCardRepository auditCardRepository) {
+    public CardService(CardRepository cardRepository, AuditCardRepository auditCardRepository, BoardBulkRepository boardBulkRepository,
+                       ObjectProvider<AuditLogWriter> auditLogWriter, CardBulkRepository cardBulkRepository,
+                       BoardColumnService boardColumnService) {
         this.cardRepository = cardRepository;
         this.auditCardRepository = auditCardRepository;
+        this.boardBulkRepository = boardBulkRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.cardBulkRepository = cardBulkRepository;
+        this.boardColumnService = boardColumnService;
     }
     /**
      * Saves a given card to the database.
@@ -48,28 +80,154 @@ public class CardService {
         return cardRepository.findByBoardColumn_Board_Id(id);
     }
     /**
-     * Generates a list of new cards from given titles and descriptions,
-     * assigning them to the specified board column.
+     * Generates new cards in the order of the given specs, in a single pass,
+     * assigning them to the specified board column. Cards with the same title are all kept.
      *
-     * @param titlesAndDescriptions a map where the key is the title and the value is the description
+     * @param specs       titles and descriptions of the cards
      * @param boardColumn the column to which the cards will be assigned
      * @return a list of generated cards
      */
-    public List<Card> generateCards(Map<String,String> titlesAndDescriptions, BoardColumn boardColumn) {
-
-        List<Card> cardList = new ArrayList<>();
-        for (int i = 0; i < titlesAndDescriptions.size(); i++) {
+    public List<Card> generateCards(List<CardSpec> specs, BoardColumn boardColumn) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<Card> cardList = new ArrayList<>(specs.size());
+        for (CardSpec spec : specs) {
             Card card = new Card();
-            card.setDescription(titlesAndDescriptions.values().stream().toList().get(i));
+            card.setTitle(spec.title());
+            card.setDescription(spec.description());
             card.setBoardColumn(boardColumn);
             card.setIsBlocked(false);
-            card.setCreateDt(OffsetDateTime.now());
+            card.setCreateDt(now);
             card.setUpdateDt(null);
-            card.setTitle(titlesAndDescriptions.keySet().stream().toList().get(i));
             cardList.add(card);
-    }
+        }
         return cardList;
     }
+    /**
+     * Creates cards in an existing column, written in batches of {@code board.seed.batch-size} rows per statement.
+     *
+     * @param specs       titles and descriptions of the cards
+     * @param boardColumn the persisted column receiving the cards
+     * @return the created cards, with their ids
+     */
+    @Transactional
+    public List<Card> seedCards(List<CardSpec> specs, BoardColumn boardColumn) {
+        List<Card> cards = generateCards(specs, boardColumn);
+        boardBulkRepository.insertCards(cards);
+        auditLogWriter.ifAvailable(writer -> writer.enqueueCreatedAfterCommit(cards));
+        return cards;
+    }
+    /**
+     * Lists the ids of the cards of a board, optionally narrowed to a column and a block state,
+     * to select the cards of a bulk operation by filter.
+     *
+     * @param boardId  the ID of the board
+     * @param columnId the ID of the column, or null for every column
+     * @param blocked  the block state, or null for both
+     * @return the ids of the matching cards
+     */
+    public List<Long> findCardIds(long boardId, Long columnId, Boolean blocked) {
+        return cardRepository.findIdsOnBoard(boardId, columnId, blocked);
+    }
+    /**
+     * Moves many cards of a board to their next column, with one update per target column in a single transaction.
+     *
+     * @param boardId the ID of the board
+     * @param cardIds the IDs of the cards
+     * @return the outcome of each card, in the order of the given ids
+     */
+    @Transactional
+    public Map<Long, CardCommandResult> moveCards(long boardId, Collection<Long> cardIds) {
+        Map<Long, CardCommandResult> outcomes = outcomes(cardIds);
+        if (outcomes.isEmpty()) {
+            return outcomes;
+        }
+        ColumnLayout layout = boardColumnService.findLayout(boardId);
+        List<ColumnDefinition> columns = layout.columns();
+        ColumnTransitions transitions = layout.transitions();
+        Map<Long, ColumnDefinition> columnsById = HashMap.newHashMap(columns.size());
+        columns.forEach(column -> columnsById.put(column.id(), column));
+        Map<Long, List<Long>> cardIdsByColumn = new HashMap<>();
+        for (CardState card : cardBulkRepository.lockCards(boardId, outcomes.keySet())) {
+            if (card.blocked()) {
+                outcomes.put(card.cardId(), CardCommandResult.CARD_IS_BLOCKED);
+            } else if (transitions.nextColumnId(columnsById.get(card.columnId())) == null) {
+                outcomes.put(card.cardId(), CardCommandResult.LAST_ACTIVE_COLUMN);
+            } else {
+                outcomes.put(card.cardId(), CardCommandResult.CONFLICT);
+                cardIdsByColumn.computeIfAbsent(card.columnId(), columnId -> new ArrayList<>()).add(card.cardId());
+            }
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        List<Card> moved = new ArrayList<>();
+        cardIdsByColumn.forEach((columnId, ids) -> moved.addAll(cardBulkRepository.moveCards(
+                ids, columnId, transitions.nextColumnId(columnsById.get(columnId)), now)));
+        return applied(outcomes, moved, CardCommandResult.MOVED);
+    }
+    /**
+     * Cancels many cards of a board, unblocking the blocked ones, with a single update in a single transaction.
+     *
+     * @param boardId the ID of the board
+     * @param cardIds the IDs of the cards
+     * @return the outcome of each card, in the order of the given ids
+     */
+    @Transactional
+    public Map<Long, CardCommandResult> cancelCards(long boardId, Collection<Long> cardIds) {
+        Map<Long, CardCommandResult> outcomes = outcomes(cardIds);
+        if (outcomes.isEmpty()) {
+            return outcomes;
+        }
+        Long cancelColumnId = boardColumnService.findLayout(boardId).transitions().cancelColumnId();
+        List<Long> toCancel = new ArrayList<>();
+        for (CardState card : cardBulkRepository.lockCards(boardId, outcomes.keySet())) {
+            if (card.columnId() == cancelColumnId) {
+                outcomes.put(card.cardId(), CardCommandResult.ALREADY_CANCELLED);
+            } else {
+                outcomes.put(card.cardId(), CardCommandResult.CONFLICT);
+                toCancel.add(card.cardId());
+            }
+        }
+        List<Card> cancelled = toCancel.isEmpty() ? List.of()
+                : cardBulkRepository.cancelCards(toCancel, cancelColumnId, OffsetDateTime.now());
+        return applied(outcomes, cancelled, CardCommandResult.CANCELLED);
+    }
+    /**
+     * Blocks many cards of a board with the same reason, with a single update in a single transaction.
+     *
+     * @param boardId the ID of the board
+     * @param cardIds the IDs of the cards
+     * @param reason  the block reason
+     * @return the outcome of each card, in the order of the given ids
+     */
+    @Transactional
+    public Map<Long, CardCommandResult> blockCards(long boardId, Collection<Long> cardIds, String reason) {
+        Map<Long, CardCommandResult> outcomes = outcomes(cardIds);
+        if (outcomes.isEmpty()) {
+            return outcomes;
+        }
+        List<Long> toBlock = select(boardId, outcomes, false, CardCommandResult.ALREADY_BLOCKED);
+        List<Card> blocked = toBlock.isEmpty() ? List.of()
+                : cardBulkRepository.blockCards(toBlock, reason, OffsetDateTime.now());
+        return applied(outcomes, blocked, CardCommandResult.BLOCKED);
+    }
+    /**
+     * Unblocks many cards of a board with the same reason, with a single update in a single transaction.
+     *
+     * @param boardId the ID of the board
+     * @param cardIds the IDs of the cards
+     * @param reason  the unblock reason
+     * @return the outcome of each card, in the order of the given ids
+     */
+    @Transactional
+    public Map<Long, CardCommandResult> unblockCards(long boardId, Collection<Long> cardIds, String reason) {
+        Map<Long, CardCommandResult> outcomes = outcomes(cardIds);
+        if (outcomes.isEmpty()) {
+            return outcomes;
+        }
+        List<Long> toUnblock = select(boardId, outcomes, true, CardCommandResult.NOT_BLOCKED);
+        List<Card> unblocked = toUnblock.isEmpty() ? List.of()
+                : cardBulkRepository.unblockCards(toUnblock, reason, OffsetDateTime.now());
+        return applied(outcomes, unblocked, CardCommandResult.UNBLOCKED);
+    }
     /**
      * Retrieves the movement report for cards in a given board.
      *
@@ -77,8 +235,192 @@ public class CardService {
      * @return a list of movement report entries
      */
     public List<MovementReport> getMovementReport(long boardId){
-        List<Object[]> results = auditCardRepository.getCardMovementReport(boardId);
-        return results.stream().map(row -> new MovementReport(
+        return getMovementReport(boardId, null, null);
+    }
+    /**
+     * Retrieves the movement report for cards in a given board, limited to the movements
+     * that entered a column inside [from, to). A null bound leaves that side of the window open.
+     *
+     * @param boardId the ID of the board
+     * @param from    inclusive lower bound, or null
+     * @param to      exclusive upper bound, or null
+     * @return a list of movement report entries
+     */
+    public List<MovementReport> getMovementReport(long boardId, OffsetDateTime from, OffsetDateTime to){
+        List<Object[]> results = auditCardRepository.getCardMovementReport(boardId, lowerBound(from), upperBound(to));
+        return results.stream().map(CardService::toMovementReport).toList();
+    }
+    /**
+     * Retrieves one page of the movement report, holding the whole history of at most {@code cardsPerPage} cards.
+     * Pages are addressed by the last card id of the previous page, so every page costs the same regardless of its position.
+     *
+     * @param boardId      the ID of the board
+     * @param from         inclusive lower bound, or null
+     * @param to           exclusive upper bound, or null
+     * @param afterCardId  cursor returned by the previous page, or 0 for the first page
+     * @param cardsPerPage maximum number of cards in the page
+     * @return the page of movement report entries
+     */
+    @Transactional(readOnly = true)
+    public ReportPage<MovementReport> getMovementReportPage(long boardId, OffsetDateTime from, OffsetDateTime to, long afterCardId, int cardsPerPage){
+        List<Long> cardIds = auditCardRepository.findMovementReportCardIds(
+                boardId, lowerBound(from), upperBound(to), afterCardId, Limit.of(cardsPerPage));
+        if (cardIds.isEmpty()) {
+            return new ReportPage<>(List.of(), null);
+        }
+        List<MovementReport> rows = auditCardRepository.getCardMovementReportPage(boardId, lowerBound(from), upperBound(to), cardIds)
+                .stream().map(CardService::toMovementReport).toList();
+        Long nextAfterCardId = cardIds.size() < cardsPerPage ? null : cardIds.get(cardIds.size() - 1);
+        return new ReportPage<>(rows, nextAfterCardId);
+    }
+    /**
+     * Streams the movement report for cards in a given board straight from a database cursor,
+     * so that the caller never holds the whole report in memory.
+     * The stream is only valid inside the consumer and is closed when it returns.
+     *
+     * @param boardId  the ID of the board
+     * @param consumer receives the stream of movement report entries
+     */
+    @Transactional(readOnly = true)
+    public void streamMovementReport(long boardId, Consumer<Stream<MovementReport>> consumer){
+        try (Stream<MovementReport> reports = openMovementReport(boardId)) {
+            consumer.accept(reports);
+        }
+    }
+    /**
+     * Retrieves the block/unblock report for cards in a given board.
+     *
+     * @param boardId the ID of the board
+     * @return a list of block/unblock report entries
+     */
+    public List<BlockUnblockReport> getBlockedReport(long boardId){
+        List<Object[]> results = auditCardRepository.getCardBlockedReport(boardId);
+        return results.stream().map(CardService::toBlockUnblockReport).toList();
+    }
+    /**
+     * Lists the cards of a board that are blocked right now, oldest block first.
+     *
+     * @param boardId the ID of the board
+     * @return the blocked cards with how long they have been blocked
+     */
+    public List<BlockedCard> getCurrentlyBlocked(long boardId){
+        return auditCardRepository.findCurrentlyBlocked(boardId).stream().map(CardService::toBlockedCard).toList();
+    }
+    /**
+     * Retrieves the total blocked time of each card of a board that was ever blocked.
+     *
+     * @param boardId the ID of the board
+     * @return the blocked time per card, ordered by card id
+     */
+    public List<BlockedTime> getBlockedTimeTotals(long boardId){
+        return auditCardRepository.getBlockedTimeTotals(boardId).stream().map(CardService::toBlockedTime).toList();
+    }
+    /**
+     * Streams the block/unblock report for cards in a given board straight from a database cursor,
+     * so that the caller never holds the whole report in memory.
+     * The stream is only valid inside the consumer and is closed when it returns.
+     *
+     * @param boardId  the ID of the board
+     * @param consumer receives the stream of block/unblock report entries
+     */
+    @Transactional(readOnly = true)
+    public void streamBlockedReport(long boardId, Consumer<Stream<BlockUnblockReport>> consumer){
+        try (Stream<BlockUnblockReport> reports = auditCardRepository.streamCardBlockedReport(boardId).map(CardService::toBlockUnblockReport)) {
+            consumer.accept(reports);
+        }
+    }
+    /**
+     * Hands both report sources of a board to a consumer inside a single read-only transaction.
+     * Each supplier opens its database cursor only when invoked, so the consumer can read the movement
+     * report and then the block/unblock report without keeping two cursors open at the same time.
+     *
+     * @param boardId  the ID of the board
+     * @param consumer receives the movement and the block/unblock report sources
+     */
+    @Transactional(readOnly = true)
+    public void streamBoardDossier(long boardId, BiConsumer<Supplier<Stream<MovementReport>>, Supplier<Stream<BlockUnblockReport>>> consumer){
+        consumer.accept(
+                () -> openMovementReport(boardId),
+                () -> auditCardRepository.streamCardBlockedReport(boardId).map(CardService::toBlockUnblockReport));
+    }
+    /**
+     * Lists the cards of a board for display only, without loading managed entities.
+     *
+     * @param boardId the ID of the board
+     * @return the card summaries ordered by column and card id
+     */
+    public List<CardSummary> listCards(long boardId){
+        return cardRepository.findSummariesByBoardId(boardId);
+    }
+    /**
+     * Retrieves all cards associated with a given board ID.
+     *
+     * @param boardId the ID of the board
+     * @return a list of cards
+     */
+    public List<Card> getCards(long boardId){
+        return cardRepository.findByBoardColumn_Board_Id(boardId);
+    }
+    /**
+     * Opens a cursor over the whole movement history of a board.
+     *
+     * @param boardId the ID of the board
+     * @return the stream of movement report entries
+     */
+    private Stream<MovementReport> openMovementReport(long boardId){
+        return auditCardRepository.streamCardMovementReport(boardId, AuditCardRepository.REPORT_MIN_DATE, AuditCardRepository.REPORT_MAX_DATE)
+                .map(CardService::toMovementReport);
+    }
+    /**
+     * Starts the outcomes of a bulk operation with every card not found; duplicated ids are kept once.
+     */
+    private static Map<Long, CardCommandResult> outcomes(Collection<Long> cardIds) {
+        Map<Long, CardCommandResult> outcomes = LinkedHashMap.newLinkedHashMap(cardIds.size());
+        cardIds.forEach(cardId -> outcomes.put(cardId, CardCommandResult.CARD_NOT_FOUND));
+        return outcomes;
+    }
+    /**
+     * Locks the cards of a bulk block or unblock and keeps those in the expected block state,
+     * marking the others with the given outcome.
+     */
+    private List<Long> select(long boardId, Map<Long, CardCommandResult> outcomes, boolean blocked, CardCommandResult skipped) {
+        List<Long> selected = new ArrayList<>();
+        for (CardState card : cardBulkRepository.lockCards(boardId, outcomes.keySet())) {
+            if (card.blocked() != blocked) {
+                outcomes.put(card.cardId(), skipped);
+            } else {
+                outcomes.put(card.cardId(), CardCommandResult.CONFLICT);
+                selected.add(card.cardId());
+            }
+        }
+        return selected;
+    }
+    /**
+     * Marks the cards changed by a bulk update with the applied outcome and, when auditing is asynchronous,
+     * queues their audit records, since the update bypassed Hibernate. Cards that were selected but not
+     * changed keep the CONFLICT outcome.
+     */
+    private Map<Long, CardCommandResult> applied(Map<Long, CardCommandResult> outcomes, List<Card> changed, CardCommandResult result) {
+        changed.forEach(card -> outcomes.put(card.getId(), result));
+        if (!changed.isEmpty()) {
+            auditLogWriter.ifAvailable(writer -> writer.enqueueUpdatedAfterCommit(changed));
+        }
+        return outcomes;
+    }
+    private static OffsetDateTime lowerBound(OffsetDateTime from){
+        return from != null ? from : AuditCardRepository.REPORT_MIN_DATE;
+    }
+    private static OffsetDateTime upperBound(OffsetDateTime to){
+        return to != null ? to : AuditCardRepository.REPORT_MAX_DATE;
+    }
+    /**
+     * Maps a row of the movement report query into a MovementReport.
+     *
+     * @param row the raw query row
+     * @return the movement report entry
+     */
+    private static MovementReport toMovementReport(Object[] row){
+        return new MovementReport(
                 (Long) row[0],
                 (String) row[1],
                 (String) row[2],
@@ -86,18 +428,17 @@ public class CardService {
                 (Long) row[4],
                 (Long) row[5],
                 row[6] != null ? ((OffsetDateTime) row[6]).toLocalDateTime() : null,
-                (Double) row[7]
-        )).toList();
+                row[7] != null ? ((Number) row[7]).doubleValue() : null
+        );
     }
     /**
-     * Retrieves the block/unblock report for cards in a given board.
+     * Maps a row of the block/unblock report query into a BlockUnblockReport.
      *
-     * @param boardId the ID of the board
-     * @return a list of block/unblock report entries
+     * @param row the raw query row
+     * @return the block/unblock report entry
      */
-    public List<BlockUnblockReport> getBlockedReport(long boardId){
-        List<Object[]> results = auditCardRepository.getCardBlockedReport(boardId);
-        return results.stream().map(row -> new BlockUnblockReport(
+    private static BlockUnblockReport toBlockUnblockReport(Object[] row){
+        return new BlockUnblockReport(
                 (Long) row[0],
                 (String) row[1],
                 (String) row[2],
@@ -110,15 +451,37 @@ public class CardService {
                 row[9] != null ? ((OffsetDateTime) row[9]).toLocalDateTime() : null,  // cm.lastBlockedDt
                 row[10] != null ? ((OffsetDateTime) row[10]).toLocalDateTime() : null, // cm.lastUnblockedDt
                 row[11] != null ? ((Number) row[11]).longValue() : null  // secondsSpent (evita erro se for Double)
-        )).toList();
+        );
     }
     /**
-     * Retrieves all cards associated with a given board ID.
+     * Maps a row of the currently blocked cards query into a BlockedCard.
      *
-     * @param boardId the ID of the board
-     * @return a list of cards
+     * @param row the raw query row
+     * @return the blocked card
      */
-    public List<Card> getCards(long boardId){
-        return cardRepository.findByBoardColumn_Board_Id(boardId);
+    private static BlockedCard toBlockedCard(Object[] row){
+        return new BlockedCard(
+                (Long) row[0],
+                (String) row[1],
+                (Long) row[2],
+                (String) row[3],
+                (String) row[4],
+                row[5] != null ? ((OffsetDateTime) row[5]).toLocalDateTime() : null,
+                row[6] != null ? ((Number) row[6]).longValue() : null
+        );
+    }
+    /**
+     * Maps a row of the blocked time query into a BlockedTime.
+     *
+     * @param row the raw query row
+     * @return the blocked time of the card
+     */
+    private static BlockedTime toBlockedTime(Object[] row){
+        return new BlockedTime(
+                (Long) row[0],
+                (String) row[1],
+                ((Number) row[2]).longValue(),
+                row[3] != null ? ((Number) row[3]).longValue() : null
+        );
     }
 }
@@ -0,0 +1,24 @@
+package com.gag.board.service;
+
+import com.gag.board.dto.ColumnDefinition;
+
+import java.util.List;
+/**
+ * The column definitions of one board together with the transition table built from them.
+ * Both are immutable, built once and cached together, so the table is evicted whenever the layout is.
+ * Columns that a card must point to are referenced by ID through {@link BoardColumnService#getReference(long)}.
+ *
+ * @param columns     the column definitions of the board in board order
+ * @param transitions the transition table of the columns
+ */
+public record ColumnLayout(List<ColumnDefinition> columns, ColumnTransitions transitions) {
+    /**
+     * Builds the layout of a board and its transition table.
+     *
+     * @param columns the column definitions of the board in board order
+     * @return the layout of the board
+     */
+    public static ColumnLayout of(List<ColumnDefinition> columns) {
+        return new ColumnLayout(List.copyOf(columns), ColumnTransitions.of(columns));
+    }
+}
@@ -0,0 +1,76 @@
+package com.gag.board.service;
+
+import com.gag.board.dto.ColumnDefinition;
+import com.gag.board.entity.BoardColumn;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+/**
+ * Transition table of a board's columns, keyed by {@code board_order}.
+ * A card moves to the column with the next order until it reaches the last active column,
+ * and is cancelled by moving it to the column with the highest order.
+ */
+public final class ColumnTransitions {
+    private final Map<Integer, Long> nextColumnIdByOrder;
+    private final Long cancelColumnId;
+
+    private ColumnTransitions(Map<Integer, Long> nextColumnIdByOrder, Long cancelColumnId) {
+        this.nextColumnIdByOrder = nextColumnIdByOrder;
+        this.cancelColumnId = cancelColumnId;
+    }
+    /**
+     * Builds the transition table from the column definitions of one board, in any order.
+     *
+     * @param columns the column definitions of the board
+     * @return the transition table of the board
+     */
+    public static ColumnTransitions of(List<ColumnDefinition> columns) {
+        List<ColumnDefinition> ordered = columns.stream().sorted(Comparator.comparing(ColumnDefinition::boardOrder)).toList();
+        long[] columnIds = new long[ordered.size()];
+        for (int i = 0; i < ordered.size(); i++) {
+            columnIds[i] = ordered.get(i).id();
+        }
+        // the last column is the cancel column, so the one before it is the last a card can be moved to
+        Map<Integer, Long> nextColumnIdByOrder = HashMap.newHashMap(ordered.size());
+        for (int i = 0; i + 1 < ordered.size() - 1; i++) {
+            nextColumnIdByOrder.put(ordered.get(i).boardOrder(), columnIds[i + 1]);
+        }
+        Long cancelColumnId = ordered.isEmpty() ? null : columnIds[columnIds.length - 1];
+        return new ColumnTransitions(nextColumnIdByOrder, cancelColumnId);
+    }
+    /**
+     * Finds the column a card in the given column moves to.
+     *
+     * @param column the current column of the card
+     * @return the ID of the next column, or null if the column is the last active column or the cancel column
+     */
+    public Long nextColumnId(BoardColumn column) {
+        return nextColumnIdByOrder.get(column.getBoard_order());
+    }
+    /**
+     * Finds the column a card in the given column moves to.
+     *
+     * @param column the definition of the current column of the card
+     * @return the ID of the next column, or null if the column is the last active column or the cancel column
+     */
+    public Long nextColumnId(ColumnDefinition column) {
+        return nextColumnIdByOrder.get(column.boardOrder());
+    }
+    /**
+     * @return the ID of the column cancelled cards are moved to, or null if the board has no columns
+     */
+    public Long cancelColumnId() {
+        return cancelColumnId;
+    }
+    /**
+     * Checks whether the given column is the cancel column of the board.
+     *
+     * @param column the column to check
+     * @return true if cards in the column are cancelled
+     */
+    public boolean isCancelColumn(BoardColumn column) {
+        return cancelColumnId != null && cancelColumnId.equals(column.getId());
+    }
+}
@@ -1,14 +1,23 @@
 package com.gag.board.service;
 
+import com.gag.board.dto.CardCommandResult;
+import com.gag.board.dto.CardSpec;
+import com.gag.board.dto.CardSummary;
+import com.gag.board.dto.ColumnSummary;
+import com.gag.board.dto.ImportProgress;
+import com.gag.board.dto.ReportFormat;
+import com.gag.board.dto.ReportType;
 import com.gag.board.entity.Board;
 import com.gag.board.entity.BoardColumn;
 import com.gag.board.entity.Card;
+import com.gag.board.exception.CardImportException;
 import com.gag.board.exception.ExitApplicationException;
-import com.gag.board.util.exporter.ExcelExporter;
-import com.gag.board.util.exporter.PDFExporter;
+import com.gag.board.exception.ReportJobRejectedException;
+import com.gag.board.util.importer.CardImportFormat;
 import org.hibernate.LazyInitializationException;
 import org.springframework.stereotype.Service;
 
+import java.nio.file.Path;
 import java.time.OffsetDateTime;
 import java.util.*;
 
@@ -23,8 +32,9 @@ public class ConsoleService {
     private final CardService cardService;
     private final MessageService messageService;
     private final ConsoleInterface consoleInterface;
-    private final ExcelExporter excelExporter;
-    private final PDFExporter pdfExporter;
+    private final ReportJobService reportJobService;
+    private final CardImportService cardImportService;
+    private final CardCommandService cardCommandService;
 
     /**
      * Constructs a new ConsoleService with the required dependencies.
@@ -34,17 +44,19 @@ public class ConsoleService {
      * @param cardService service for card operations
      * @param messageService service for retrieving localized messages
      * @param consoleInterface interface for console interactions
-     * @param excelExporter utility for exporting reports to Excel
-     * @param pdfExporter utility for exporting reports to PDF
+     * @param reportJobService service running report exports in the background
+     * @param cardImportService service importing cards from files
+     * @param cardCommandService service applying card operations with conflict retry
      */
-    public ConsoleService(BoardService boardService, BoardColumnService boardColumnService, CardService cardService, MessageService messageService, ConsoleInterface consoleInterface, ExcelExporter excelExporter, PDFExporter pdfExporter) {
+    public ConsoleService(BoardService boardService, BoardColumnService boardColumnService, CardService cardService, MessageService messageService, ConsoleInterface consoleInterface, ReportJobService reportJobService, CardImportService cardImportService, CardCommandService cardCommandService) {
         this.boardService = boardService;
         this.boardColumnService = boardColumnService;
         this.cardService = cardService;
         this.messageService = messageService;
         this.consoleInterface = consoleInterface;
-        this.excelExporter = excelExporter;
-        this.pdfExporter = pdfExporter;
+        this.reportJobService = reportJobService;
+        this.cardImportService = cardImportService;
+        this.cardCommandService = cardCommandService;
     }
     /**
      * Displays the main menu and handles user input to perform actions.
@@ -71,6 +83,18 @@ public class ConsoleService {
                     case "5":
                         printBlockedReport();
                         break;
+                    case "6":
+                        printBoardDossier();
+                        break;
+                    case "7":
+                        listReportJobs();
+                        break;
+                    case "8":
+                        cancelReportJob();
+                        break;
+                    case "9":
+                        importCards();
+                        break;
                     default:
                         consoleInterface.printMessage(messageService.getMessage("msg.error.chosen.option.not.allowed"));
                         break;
@@ -87,7 +111,7 @@ public class ConsoleService {
      * Creates a new board along with its columns and cards.
      */
     void createNewBoard() {
-        Map<String,String> titlesAndDescriptions = new HashMap<>();
+        List<CardSpec> cardSpecs = new ArrayList<>();
         String boardName;
         String title;
         String description;
@@ -110,24 +134,24 @@ public class ConsoleService {
             title = consoleInterface.prompt(messageService.getMessage("type.card.title"));
             description = consoleInterface.prompt(messageService.getMessage("type.card.description"));
 
-            titlesAndDescriptions.put(title,description);
+            cardSpecs.add(new CardSpec(title,description));
         }
         Board board = this.boardService.addBoard(boardName);
         List<BoardColumn> boardColumnList = this.boardColumnService.generateBoardColumns(columnQty, board);
-        boardColumnList.getFirst().setCardList(cardService.generateCards(titlesAndDescriptions, boardColumnList.getFirst()));
+        boardColumnList.getFirst().setCardList(cardService.generateCards(cardSpecs, boardColumnList.getFirst()));
         board.setBoardColumns(boardColumnList);
-        this.boardService.save(board);
+        this.boardService.create(board);
     }
     /**
      * Creates a new card and assigns it to the first column of the board.
      *
-     * @param boardColumnList the list of columns in the board
+     * @param initialColumn the first column of the board
      */
-    private void createNewCard(List<BoardColumn> boardColumnList) {
+    private void createNewCard(BoardColumn initialColumn) {
 
         String title = consoleInterface.prompt(messageService.getMessage("type.card.title"));
         String description = consoleInterface.prompt(messageService.getMessage("type.card.description"));
-        cardService.save(new Card(title,description, OffsetDateTime.now(),null,false, boardColumnList.getFirst()));
+        cardService.save(new Card(title,description, OffsetDateTime.now(),null,false, initialColumn));
         consoleInterface.printMessage(messageService.getMessage("msg.card.added"));
     }
     /**
@@ -139,16 +163,15 @@ public class ConsoleService {
             consoleInterface.printMessage(messageService.getMessage("msg.error.board.not.exist"));
         }
         else{
-            List<Card> cardList = cardService.findByBoardColumn_Board_Id(board.get().getId());
-            List<BoardColumn> boardColumnList = boardColumnService.findByBoard_Id(board.get().getId());
+            printBoardOverview(board.get().getId());
             int operation = Integer.parseInt(consoleInterface.prompt(messageService.getMessage("type.choose.option.inside.board")));
             while(true){
                 switch (operation){
                     case 1,2,4,5:
-                        updateCard(cardList, boardColumnList, operation);
+                        updateCard(board.get().getId(), boardColumnService.findWorkingSet(board.get().getId()), operation);
                         return;
                     case 3:
-                        createNewCard(boardColumnList);
+                        createNewCard(initialColumn(board.get().getId()));
                         return;
                     case 6:
                         return;
@@ -159,6 +182,24 @@ public class ConsoleService {
             }
         }
     }
+    /**
+     * Prints the columns of a board with their cards, read through projections only.
+     *
+     * @param boardId the ID of the board
+     */
+    void printBoardOverview(long boardId) {
+        List<CardSummary> cards = cardService.listCards(boardId);
+        for (ColumnSummary column : boardColumnService.listColumns(boardId)) {
+            consoleInterface.printMessage(messageService.getMessage("msg.board.column.summary",
+                    column.name(), String.valueOf(column.cardCount())));
+            for (CardSummary card : cards) {
+                if (card.columnId().equals(column.id())) {
+                    consoleInterface.printMessage(messageService.getMessage(Boolean.TRUE.equals(card.blocked()) ? "msg.board.card.summary.blocked" : "msg.board.card.summary",
+                            String.valueOf(card.id()), card.title()));
+                }
+            }
+        }
+    }
     /**
      * Deletes an existing board by its name or ID.
      */
@@ -168,28 +209,111 @@ public class ConsoleService {
         board.ifPresent(boardService::delete);
     }
     /**
-     * Generates and exports a movement report for the selected board in Excel or PDF format.
+     * Submits the export of a movement report for the selected board in Excel or PDF format.
      */
     void printMovementReport() {
         Optional<Board> board = getBoard();
         if (board == null) return;
-        if(consoleInterface.prompt(messageService.getMessage("type.report.type")).equals("1")) {
-            excelExporter.exportMovementToExcel(cardService.getMovementReport(board.get().getId()), "C:\\Users\\GabrielAlves\\Desktop\\MovementReport.xlsx", "MovementReport");
-        }else{
-            pdfExporter.exportMovementReportToPDF(cardService.getMovementReport(board.get().getId()), "C:\\Users\\GabrielAlves\\Desktop\\MovementReport.pdf", "MovementReport");
-
-        }
+        submitReportJob(board.get().getId(), ReportType.MOVEMENT, promptReportFormat());
     }
     /**
-     * Generates and exports a blocked/unblocked cards report for the selected board in Excel or PDF format.
+     * Submits the export of a blocked/unblocked cards report for the selected board in Excel or PDF format.
      */
     void printBlockedReport() {
         Optional<Board> board = getBoard();
         if (board == null) return;
-        if(consoleInterface.prompt(messageService.getMessage("type.report.type")).equals("1")) {
-            excelExporter.exportBlockedUnblockedToExcel(cardService.getBlockedReport(board.get().getId()), "C:\\Users\\GabrielAlves\\Desktop\\blockReport.xlsx", "blockReport");
-        }else{
-            pdfExporter.exportBlockedUnblockedReportToPDF(cardService.getBlockedReport(board.get().getId()), "C:\\Users\\GabrielAlves\\Desktop\\blockReport.pdf", "blockReport");
+        submitReportJob(board.get().getId(), ReportType.BLOCKED, promptReportFormat());
+    }
+    /**
+     * Submits the export of the selected board dossier, both reports in a single Excel workbook.
+     */
+    void printBoardDossier() {
+        Optional<Board> board = getBoard();
+        if (board == null) return;
+        submitReportJob(board.get().getId(), ReportType.DOSSIER, ReportFormat.EXCEL);
+    }
+    /**
+     * Prints the status and progress of every report job.
+     */
+    void listReportJobs() {
+        if (reportJobService.findAll().isEmpty()) {
+            consoleInterface.printMessage(messageService.getMessage("msg.report.job.none"));
+            return;
+        }
+        for (ReportJob job : reportJobService.findAll()) {
+            consoleInterface.printMessage(messageService.getMessage("msg.report.job.status",
+                    String.valueOf(job.getId()), String.valueOf(job.getBoardId()), job.getType(), job.getFormat(),
+                    job.getStatus(), String.valueOf(job.getRowsWritten()), job.getOutputFile()));
+        }
+    }
+    /**
+     * Prompts for a report job id and cancels it.
+     */
+    void cancelReportJob() {
+        long jobId = Long.parseLong(consoleInterface.prompt(messageService.getMessage("type.report.job.id")));
+        if (reportJobService.cancel(jobId)) {
+            consoleInterface.printMessage(messageService.getMessage("msg.report.job.cancelled", String.valueOf(jobId)));
+        } else {
+            consoleInterface.printMessage(messageService.getMessage("msg.error.report.job.not.found"));
+        }
+    }
+    /**
+     * Imports cards from a CSV or NDJSON file into the first column of the selected board,
+     * printing the progress after every committed chunk.
+     */
+    void importCards() {
+        Optional<Board> board = getBoard();
+        if (board == null) return;
+        Path file = Path.of(consoleInterface.prompt(messageService.getMessage("type.import.file.path")));
+        Optional<CardImportFormat> format = CardImportFormat.fromFileName(file);
+        if (format.isEmpty()) {
+            consoleInterface.printMessage(messageService.getMessage("msg.error.import.format"));
+            return;
+        }
+        BoardColumn initialColumn = initialColumn(board.get().getId());
+        try {
+            ImportProgress result = cardImportService.importCards(file, format.get(), initialColumn, progress ->
+                    consoleInterface.printMessage(messageService.getMessage("msg.import.progress",
+                            String.valueOf(progress.linesRead()), String.valueOf(progress.imported()), String.valueOf(progress.rejected()))));
+            if (result.resumedAtLine() > 0) {
+                consoleInterface.printMessage(messageService.getMessage("msg.import.resumed", String.valueOf(result.resumedAtLine())));
+            }
+            consoleInterface.printMessage(messageService.getMessage("msg.import.done",
+                    String.valueOf(result.imported()), String.valueOf(result.rejected())));
+        } catch (CardImportException e) {
+            consoleInterface.printMessage(messageService.getMessage("msg.error.import.failed", e.getMessage()));
+        }
+    }
+    /**
+     * References the first column of a board, taken from its cached column layout, without reading it.
+     *
+     * @param boardId the ID of the board
+     * @return a reference to the first column of the board
+     */
+    private BoardColumn initialColumn(long boardId) {
+        return boardColumnService.getReference(boardColumnService.findLayout(boardId).columns().getFirst().id());
+    }
+    /**
+     * Prompts the user for the report format.
+     *
+     * @return EXCEL for option 1, PDF otherwise
+     */
+    private ReportFormat promptReportFormat() {
+        return consoleInterface.prompt(messageService.getMessage("type.report.type")).equals("1") ? ReportFormat.EXCEL : ReportFormat.PDF;
+    }
+    /**
+     * Submits a report job and tells the user where the file will be written, or why it was rejected.
+     *
+     * @param boardId the ID of the board
+     * @param type    the kind of report
+     * @param format  the output format
+     */
+    private void submitReportJob(long boardId, ReportType type, ReportFormat format) {
+        try {
+            ReportJob job = reportJobService.submit(boardId, type, format);
+            consoleInterface.printMessage(messageService.getMessage("msg.report.job.submitted", String.valueOf(job.getId()), job.getOutputFile()));
+        } catch (ReportJobRejectedException e) {
+            consoleInterface.printMessage(messageService.getMessage("msg.report.job.rejected", e.getMessage()));
         }
     }
     /**
@@ -199,30 +323,24 @@ public class ConsoleService {
      */
     Optional<Board> getBoard() {
         String userInput = consoleInterface.prompt(messageService.getMessage("type.board.id.or.name"));
-        String boardName = "";
-        long boardId = -1;
-        try {
-            boardId = Long.parseLong(userInput);
-            if(boardId == -1){
-                return null;
-            }
-        } catch (NumberFormatException e) {
-            boardName = userInput;
+        if ("-1".equals(userInput == null ? null : userInput.strip())) {
+            return null;
         }
-        if(!boardService.existsByIdOrNameIgnoreCase(boardId,boardName)){
+        Optional<Board> board = boardService.resolveBoard(userInput);
+        if(board.isEmpty()){
             consoleInterface.printMessage(messageService.getMessage("msg.error.board.not.exist"));
             return null;
         }
-        return boardService.findByIdOrNameIgnoreCase(boardId,boardName);
+        return board;
     }
     /**
      * Updates the selected card according to the chosen operation (move, cancel, block, or unblock).
      *
-     * @param cardList list of cards in the board
-     * @param boardColumnList list of columns in the board
+     * @param boardId the ID of the board
+     * @param workingSet the columns and cards of the board, indexed by ID
      * @param operation the operation to perform (by numeric code)
      */
-    void updateCard(List<Card> cardList, List<BoardColumn> boardColumnList, int operation) {
+    void updateCard(long boardId, BoardWorkingSet workingSet, int operation) {
         String userInput = consoleInterface.prompt(messageService.getMessage("type.card.id"));;
         long cardId = 0;
         Card selectedCard;
@@ -233,112 +351,82 @@ public class ConsoleService {
                 consoleInterface.printMessage(messageService.getMessage("msg.error.NumberFormatException"));
                 break;
             }
-            try{
-                long finalCardId = cardId;
-                selectedCard = cardList.stream().filter(card -> card.getId().equals(finalCardId)).toList().getFirst();
-                switch (operation){
-                    case 1:
-                        moveCardToNextColumn(boardColumnList, selectedCard);
-                        return;
-                    case 2:
-                        cancelCard(boardColumnList, selectedCard);
-                        return;
-                    case 4:
-                        blockCard(selectedCard);
-                        return;
-                    case 5:
-                        unblockCard(selectedCard);
-                        return;
-                    default:
-                        consoleInterface.printMessage(messageService.getMessage("msg.error.invalid.option"));
-                        return;
-                }
-            }catch (NoSuchElementException exception){
+            selectedCard = workingSet.findCard(cardId);
+            if(selectedCard == null){
                 consoleInterface.printMessage(messageService.getMessage("msg.error.card.id.not.found"));
                 break;
             }
+            switch (operation){
+                case 1:
+                    moveCardToNextColumn(boardId, selectedCard);
+                    return;
+                case 2:
+                    cancelCard(boardId, selectedCard);
+                    return;
+                case 4:
+                    blockCard(boardId, selectedCard);
+                    return;
+                case 5:
+                    unblockCard(boardId, selectedCard);
+                    return;
+                default:
+                    consoleInterface.printMessage(messageService.getMessage("msg.error.invalid.option"));
+                    return;
+            }
         }
     }
     /**
-     * Moves the selected card to the next column, if allowed.
+     * Moves the selected card to the next column by board order, if allowed.
      *
-     * @param boardColumnList list of columns in the board
+     * @param boardId the ID of the board
      * @param selectedCard the card to move
      */
-    void moveCardToNextColumn(List<BoardColumn> boardColumnList, Card selectedCard) {
-        long currentBoardColumn = selectedCard.getBoardColumn().getId();
-
-        if(selectedCard.getIsBlocked()){
-            consoleInterface.printMessage(messageService.getMessage("msg.error.card.cant.be.moved"));
-            editBoard();
-        }
-        if(currentBoardColumn+1 > (Integer.parseInt(String.valueOf(boardColumnList.getLast().getId()))-1)){
-            consoleInterface.printMessage(messageService.getMessage("msg.error.card.is.on.board.last.active.column"));
-            return;
-        }
-        selectedCard.setBoardColumn(boardColumnList.stream().filter(boardColumn -> boardColumn.getId().equals(currentBoardColumn+1)).toList().getFirst());
-        selectedCard.setLastMovementDt(OffsetDateTime.now());
-        cardService.save(selectedCard);
-        consoleInterface.printMessage(messageService.getMessage("msg.card.moved.to.next.column"));
+    void moveCardToNextColumn(long boardId, Card selectedCard) {
+        printResult(cardCommandService.move(boardId, selectedCard.getId()));
     }
     /**
      * Cancels the selected card by moving it to the last column (Cancelled).
      *
-     * @param boardColumnList list of columns in the board
+     * @param boardId the ID of the board
      * @param selectedCard the card to cancel
      */
-    void cancelCard(List<BoardColumn> boardColumnList, Card selectedCard) {
-        if (selectedCard.getBoardColumn().getName().equalsIgnoreCase("Cancelled")){
-            consoleInterface.printMessage(messageService.getMessage("msg.error.card.already.cancelled"));
-            return;
-        }
-        selectedCard.setBoardColumn(boardColumnList.getLast());
-        if(selectedCard.getIsBlocked()){
-            selectedCard.setLastUnblockedDt(OffsetDateTime.now());
-            selectedCard.setUnblockedReason(null);
-            selectedCard.setBlockedReason(null);
-            selectedCard.setIsBlocked(false);
-        }
-        selectedCard.setLastMovementDt(OffsetDateTime.now());
-        cardService.save(selectedCard);
-        consoleInterface.printMessage(messageService.getMessage("msg.card.cancelled"));
+    void cancelCard(long boardId, Card selectedCard) {
+        printResult(cardCommandService.cancel(boardId, selectedCard.getId()));
     }
     /**
      * Unblocks the selected card and sets the unblock reason and date.
      *
+     * @param boardId the ID of the board
      * @param selectedCard the card to unblock
      */
-    void unblockCard(Card selectedCard) {
+    void unblockCard(long boardId, Card selectedCard) {
         if(!selectedCard.getIsBlocked()){
             consoleInterface.printMessage(messageService.getMessage("msg.error.impossible.do.unblock"));
             return;
         }
         String unblockReason = consoleInterface.prompt(messageService.getMessage("type.unblock.reason"));
-        selectedCard.setIsBlocked(false);
-        selectedCard.setBlockedReason(null);
-        selectedCard.setLastBlockedDt(null);
-        selectedCard.setLastUnblockedDt(OffsetDateTime.now());
-        selectedCard.setUpdateDt(OffsetDateTime.now());
-        selectedCard.setUnblockedReason(unblockReason);
-        cardService.save(selectedCard);
+        printResult(cardCommandService.unblock(boardId, selectedCard.getId(), unblockReason));
     }
     /**
      * Blocks the selected card and sets the block reason and date.
      *
+     * @param boardId the ID of the board
      * @param selectedCard the card to block
      */
-    void blockCard(Card selectedCard) {
+    void blockCard(long boardId, Card selectedCard) {
         if(selectedCard.getIsBlocked()){
             consoleInterface.printMessage(messageService.getMessage("msg.error.card.already.blocked"));
             return;
         }
         String blockReason = consoleInterface.prompt(messageService.getMessage("type.block.reason"));
-        selectedCard.setLastBlockedDt(OffsetDateTime.now());
-        selectedCard.setIsBlocked(true);
-        selectedCard.setBlockedReason(blockReason);
-        selectedCard.setUpdateDt(OffsetDateTime.now());
-        selectedCard.setUnblockedReason(null);
-        selectedCard.setLastUnblockedDt(null);
-        cardService.save(selectedCard);
+        printResult(cardCommandService.block(boardId, selectedCard.getId(), blockReason));
+    }
+    /**
+     * Prints the message describing the outcome of a card operation.
+     *
+     * @param result the outcome of the operation
+     */
+    private void printResult(CardCommandResult result) {
+        consoleInterface.printMessage(messageService.getMessage(result.getMessageKey()));
     }
 }
@@ -0,0 +1,139 @@
+package com.gag.board.service;
+
+import com.gag.board.dto.ReportFormat;
+import com.gag.board.dto.ReportType;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+/**
+ * State of a report export submitted to the {@link ReportJobService}.
+ * Progress and status are updated by the worker thread and can be read from any thread.
+ */
+public class ReportJob {
+    /**
+     * Lifecycle of a report job.
+     */
+    public enum Status { QUEUED, RUNNING, DONE, FAILED, CANCELLED }
+
+    private final long id;
+    private final long boardId;
+    private final ReportType type;
+    private final ReportFormat format;
+    private final Path outputFile;
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.QUEUED);
+    private volatile boolean cancelRequested;
+    private volatile Future<?> future;
+    private volatile Instant finishedAt;
+    /**
+     * Creates a queued report job.
+     *
+     * @param id         the job id
+     * @param boardId    the board being reported
+     * @param type       the kind of report
+     * @param format     the output format
+     * @param outputFile the file the report is written to
+     */
+    ReportJob(long id, long boardId, ReportType type, ReportFormat format, Path outputFile) {
+        this.id = id;
+        this.boardId = boardId;
+        this.type = type;
+        this.format = format;
+        this.outputFile = outputFile;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getBoardId() {
+        return boardId;
+    }
+
+    public ReportType getType() {
+        return type;
+    }
+
+    public ReportFormat getFormat() {
+        return format;
+    }
+
+    public Path getOutputFile() {
+        return outputFile;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    public Status getStatus() {
+        return status.get();
+    }
+    /**
+     * Called by the exporter for every row it consumes. Aborts the export once cancellation was requested.
+     *
+     * @throws CancellationException if the job was cancelled
+     */
+    void rowWritten() {
+        if (cancelRequested) {
+            throw new CancellationException("report job " + id + " cancelled");
+        }
+        rowsWritten.incrementAndGet();
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+    /**
+     * @param cutoff the instant to compare with
+     * @return true if the job reached a final status at or before the given instant
+     */
+    boolean isFinishedBy(Instant cutoff) {
+        Instant finished = finishedAt;
+        return finished != null && !finished.isAfter(cutoff);
+    }
+    /**
+     * Moves the job from QUEUED to RUNNING.
+     *
+     * @return false if the job was cancelled before it started
+     */
+    boolean start() {
+        return status.compareAndSet(Status.QUEUED, Status.RUNNING);
+    }
+    /**
+     * Records the final status of a job that was running.
+     *
+     * @param finalStatus DONE, FAILED or CANCELLED
+     */
+    void finish(Status finalStatus) {
+        if (status.compareAndSet(Status.RUNNING, finalStatus)) {
+            finishedAt = Instant.now();
+        }
+    }
+    /**
+     * Requests the job to stop. A running job is never interrupted, since an interrupt surfaces from the
+     * database driver or the file channel as a failure; it stops at the next row through {@link #rowWritten()}.
+     *
+     * @return true if the job was still queued and will never run
+     */
+    boolean cancel() {
+        cancelRequested = true;
+        boolean dequeued = status.compareAndSet(Status.QUEUED, Status.CANCELLED);
+        if (dequeued) {
+            finishedAt = Instant.now();
+            Future<?> queued = future;
+            if (queued != null) {
+                queued.cancel(false);
+            }
+        }
+        return dequeued;
+    }
+}
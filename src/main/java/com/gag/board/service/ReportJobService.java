@@ -0,0 +1,252 @@
+package com.gag.board.service;
+
+import com.gag.board.dto.ReportFormat;
+import com.gag.board.dto.ReportType;
+import com.gag.board.exception.ReportJobRejectedException;
+import com.gag.board.util.exporter.ExcelExporter;
+import com.gag.board.util.exporter.PDFExporter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+/**
+ * Service responsible for running report exports in the background.
+ * <p>
+ * Jobs run on a bounded executor, so several operators can request exports without waiting for each other.
+ * Each board is limited to a configurable number of concurrent jobs, every job exposes the number of rows
+ * written so far and can be cancelled, and finished reports are written to the configured output directory.
+ * A job that fails or is cancelled leaves no partial file behind, and jobs are forgotten once they have been
+ * finished for longer than the configured retention.
+ */
+@Service
+public class ReportJobService {
+    private static final Logger log = LoggerFactory.getLogger(ReportJobService.class);
+
+    private final CardService cardService;
+    private final ExcelExporter excelExporter;
+    private final PDFExporter pdfExporter;
+    private final Path outputDirectory;
+    private final int maxJobsPerBoard;
+    private final Duration retention;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong jobIds = new AtomicLong();
+    private final Map<Long, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> boardJobsInFlight = new ConcurrentHashMap<>();
+    /**
+     * Constructs the ReportJobService.
+     *
+     * @param cardService      service providing the report data
+     * @param excelExporter    utility for exporting reports to Excel
+     * @param pdfExporter      utility for exporting reports to PDF
+     * @param outputDirectory  directory where finished reports are written
+     * @param threads          number of exports running at the same time
+     * @param queueCapacity    number of exports waiting for a thread before new ones are rejected
+     * @param maxJobsPerBoard  number of exports a single board may have queued or running
+     * @param retentionMs      time a finished job stays available before it is forgotten
+     */
+    public ReportJobService(CardService cardService, ExcelExporter excelExporter, PDFExporter pdfExporter,
+                            @Value("${board.report.output-dir}") String outputDirectory,
+                            @Value("${board.report.threads:2}") int threads,
+                            @Value("${board.report.queue-capacity:16}") int queueCapacity,
+                            @Value("${board.report.max-jobs-per-board:1}") int maxJobsPerBoard,
+                            @Value("${board.report.retention-ms:3600000}") long retentionMs) {
+        this.cardService = cardService;
+        this.excelExporter = excelExporter;
+        this.pdfExporter = pdfExporter;
+        this.outputDirectory = Paths.get(outputDirectory);
+        this.maxJobsPerBoard = maxJobsPerBoard;
+        this.retention = Duration.ofMillis(retentionMs);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "report-job");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+    /**
+     * Submits a report export for a board.
+     *
+     * @param boardId the ID of the board
+     * @param type    the kind of report
+     * @param format  the output format; board dossiers are always exported to Excel
+     * @return the queued job
+     * @throws ReportJobRejectedException if the board reached its job limit or the queue is full
+     */
+    public ReportJob submit(long boardId, ReportType type, ReportFormat format) {
+        ReportFormat effectiveFormat = type == ReportType.DOSSIER ? ReportFormat.EXCEL : format;
+        acquireBoard(boardId);
+        long jobId = jobIds.incrementAndGet();
+        Path outputFile = outputDirectory.resolve(type.getFileName() + "-board" + boardId + "-job" + jobId + effectiveFormat.getExtension());
+        ReportJob job = new ReportJob(jobId, boardId, type, effectiveFormat, outputFile);
+        try {
+            jobs.put(jobId, job);
+            job.setFuture(executor.submit(() -> run(job)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(jobId);
+            releaseBoard(boardId);
+            throw new ReportJobRejectedException("report queue is full");
+        }
+        return job;
+    }
+    /**
+     * Finds a job by its id.
+     *
+     * @param jobId the job id
+     * @return the job, or empty if unknown
+     */
+    public Optional<ReportJob> find(long jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+    /**
+     * @return the jobs queued, running, or finished within the retention period
+     */
+    public Collection<ReportJob> findAll() {
+        return jobs.values();
+    }
+    /**
+     * Cancels a job. Queued jobs never start; running jobs stop at the next row and their partial file is removed.
+     *
+     * @param jobId the job id
+     * @return true if the job exists
+     */
+    public boolean cancel(long jobId) {
+        ReportJob job = jobs.get(jobId);
+        if (job == null) {
+            return false;
+        }
+        if (job.cancel()) {
+            releaseBoard(job.getBoardId());
+        }
+        return true;
+    }
+    /**
+     * Forgets the jobs that have been finished for longer than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${board.report.prune-interval-ms:60000}")
+    public void pruneFinishedJobs() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.isFinishedBy(cutoff));
+    }
+    /**
+     * Stops accepting jobs and interrupts the running ones when the application shuts down.
+     */
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+    /**
+     * Counts a new job against its board's limit.
+     *
+     * @param boardId the ID of the board
+     * @throws ReportJobRejectedException if the board already has the maximum number of jobs queued or running
+     */
+    private void acquireBoard(long boardId) {
+        boardJobsInFlight.compute(boardId, (id, inFlight) -> {
+            int current = inFlight == null ? 0 : inFlight;
+            if (current >= maxJobsPerBoard) {
+                throw new ReportJobRejectedException("board " + boardId + " already has " + maxJobsPerBoard + " report job(s) in progress");
+            }
+            return current + 1;
+        });
+    }
+    /**
+     * Releases a job's slot of its board, forgetting the board once it has no job queued or running.
+     *
+     * @param boardId the ID of the board
+     */
+    private void releaseBoard(long boardId) {
+        boardJobsInFlight.computeIfPresent(boardId, (id, inFlight) -> inFlight > 1 ? inFlight - 1 : null);
+    }
+    /**
+     * Runs a job on a worker thread and records its outcome.
+     *
+     * @param job the job to run; its board slot is released before its outcome is recorded
+     */
+    private void run(ReportJob job) {
+        if (!job.start()) {
+            return;
+        }
+        ReportJob.Status outcome;
+        try {
+            Files.createDirectories(outputDirectory);
+            export(job);
+            if (job.isCancelRequested()) {
+                Files.deleteIfExists(job.getOutputFile());
+                outcome = ReportJob.Status.CANCELLED;
+            } else {
+                outcome = ReportJob.Status.DONE;
+            }
+        } catch (CancellationException e) {
+            deleteQuietly(job.getOutputFile());
+            outcome = ReportJob.Status.CANCELLED;
+        } catch (IOException | RuntimeException e) {
+            if (job.isCancelRequested()) {
+                outcome = ReportJob.Status.CANCELLED;
+            } else {
+                log.error("report job {} failed", job.getId(), e);
+                outcome = ReportJob.Status.FAILED;
+            }
+            deleteQuietly(job.getOutputFile());
+        } finally {
+            releaseBoard(job.getBoardId());
+        }
+        job.finish(outcome);
+    }
+    /**
+     * Streams the report data of the job's board into the matching exporter.
+     *
+     * @param job the job being run
+     */
+    private void export(ReportJob job) {
+        String filePath = job.getOutputFile().toString();
+        String title = job.getType().getFileName();
+        switch (job.getType()) {
+            case MOVEMENT -> cardService.streamMovementReport(job.getBoardId(), reports -> {
+                if (job.getFormat() == ReportFormat.EXCEL) {
+                    excelExporter.streamMovementToExcel(tracked(reports, job), filePath, title);
+                } else {
+                    pdfExporter.streamMovementReportToPDF(tracked(reports, job), filePath, title);
+                }
+            });
+            case BLOCKED -> cardService.streamBlockedReport(job.getBoardId(), reports -> {
+                if (job.getFormat() == ReportFormat.EXCEL) {
+                    excelExporter.streamBlockedUnblockedToExcel(tracked(reports, job), filePath, title);
+                } else {
+                    pdfExporter.streamBlockedUnblockedReportToPDF(tracked(reports, job), filePath, title);
+                }
+            });
+            case DOSSIER -> cardService.streamBoardDossier(job.getBoardId(), (movements, blocks) ->
+                    excelExporter.exportBoardDossierToExcel(() -> tracked(movements.get(), job), () -> tracked(blocks.get(), job), filePath));
+        }
+    }
+    /**
+     * Wraps a report stream so that every row consumed by the exporter advances the job progress
+     * and a cancellation request aborts the export.
+     */
+    private static <T> Stream<T> tracked(Stream<T> reports, ReportJob job) {
+        return reports.peek(report -> job.rowWritten());
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("could not delete partial report {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.gag.board.service.audit;
+
+import com.gag.board.entity.Board;
+import com.gag.board.entity.BoardColumn;
+import com.gag.board.entity.Card;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+/**
+ * Captures committed inserts, updates and deletes of boards, columns and cards and hands them to the {@link AuditLogWriter}.
+ * <p>
+ * The listener runs after the transaction commits, so rolled back changes are never audited and the user's
+ * transaction does not pay for the audit. Changes made through bulk JPQL or native statements bypass Hibernate
+ * events and are not captured in this mode.
+ */
+@Component
+@ConditionalOnProperty(name = "board.audit.mode", havingValue = "async")
+public class AuditEventListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+    private final EntityManagerFactory entityManagerFactory;
+    private final AuditLogWriter auditLogWriter;
+    /**
+     * Constructs the AuditEventListener.
+     *
+     * @param entityManagerFactory factory whose Hibernate event registry receives the listener
+     * @param auditLogWriter       writer receiving the captured changes
+     */
+    public AuditEventListener(EntityManagerFactory entityManagerFactory, AuditLogWriter auditLogWriter) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.auditLogWriter = auditLogWriter;
+    }
+    /**
+     * Registers the listener for the post-commit insert, update and delete events.
+     */
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        capture(AuditOperation.INSERT, event.getEntity());
+    }
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        capture(AuditOperation.UPDATE, event.getEntity());
+    }
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        capture(AuditOperation.DELETE, event.getEntity());
+    }
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return type == Board.class || type == BoardColumn.class || type == Card.class;
+    }
+    private void capture(AuditOperation operation, Object entity) {
+        OffsetDateTime now = OffsetDateTime.now();
+        switch (entity) {
+            case Card card -> auditLogWriter.enqueue(AuditRecord.CardRecord.of(operation, card, now));
+            case BoardColumn column -> auditLogWriter.enqueue(AuditRecord.ColumnRecord.of(operation, column, now));
+            case Board board -> auditLogWriter.enqueue(AuditRecord.BoardRecord.of(operation, board, now));
+            default -> {
+            }
+        }
+    }
+}
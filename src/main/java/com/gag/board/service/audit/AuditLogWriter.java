@@ -0,0 +1,583 @@
+package com.gag.board.service.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gag.board.entity.Board;
+import com.gag.board.entity.BoardColumn;
+import com.gag.board.entity.Card;
+import com.gag.board.service.audit.AuditRecord.BoardRecord;
+import com.gag.board.service.audit.AuditRecord.CardRecord;
+import com.gag.board.service.audit.AuditRecord.ColumnRecord;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+/**
+ * Write-behind writer of the audit tables, used when {@code board.audit.mode=async}.
+ * <p>
+ * Captured changes are buffered in a bounded queue and written by a single background thread in JDBC batches,
+ * one transaction per flush. When the queue is full the caller waits, so a burst of changes slows writers down
+ * instead of losing history. Records are written in the order they were captured; consecutive records of the same
+ * kind are batched together, and a batch never holds two records of the same entity so that the card snapshot
+ * in {@code a_cards_latest} is read after the previous change of that card was applied, as in the triggers.
+ * Card changes also keep the column visits of {@code a_card_column_dwell} and the block episodes of
+ * {@code a_card_block_interval}, which their own triggers keep in trigger mode.
+ * <p>
+ * A flush that fails is retried with exponential backoff while the records behind it wait in the queue, so a
+ * deadlock or a timeout delays history instead of dropping it. A batch still failing after the configured number
+ * of attempts is written to {@code a_audit_dead_letter} as JSON, so a record that can never be written doesn't
+ * hold back the ones captured after it. Shutting down waits until every queued record was written.
+ */
+@Component
+@ConditionalOnProperty(name = "board.audit.mode", havingValue = "async")
+public class AuditLogWriter {
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    static final String INSERT_BOARD = """
+        INSERT INTO a_boards (board_id, name, create_dt, update_dt)
+        VALUES (?, ?, ?, ?)
+    """;
+
+    static final String INSERT_COLUMN = """
+        INSERT INTO a_board_columns (column_board_id, board_id, name, board_order, type, create_dt, update_dt)
+        VALUES (?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    static final String INSERT_CARD = """
+        INSERT INTO a_cards (card_id, title, description, create_dt, update_dt, is_blocked, blocked_reason, unblocked_reason, last_blocked_dt, last_unblocked_dt, last_movement_dt, column_board_id)
+        VALUES (?, ?, ?, ?, NULL, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    static final String INSERT_CARD_SNAPSHOT = """
+        INSERT INTO a_cards_latest (card_id, create_dt, blocked_reason, last_blocked_dt)
+        VALUES (?, ?, ?, ?)
+    """;
+
+    static final String UPDATE_CARD = """
+        INSERT INTO a_cards (card_id, title, description, create_dt, update_dt, is_blocked, blocked_reason, unblocked_reason, last_blocked_dt, last_unblocked_dt, last_movement_dt, column_board_id)
+        SELECT v.card_id, v.title, v.description,
+               l.create_dt,
+               v.update_dt, v.is_blocked,
+               CASE
+                   WHEN v.is_blocked = 0 AND v.unblocked_reason IS NOT NULL
+                   THEN l.blocked_reason
+                   ELSE v.blocked_reason
+               END,
+               v.unblocked_reason,
+               CASE
+                   WHEN v.is_blocked = 0 AND v.unblocked_reason IS NOT NULL
+                   THEN l.last_blocked_dt
+                   ELSE v.last_blocked_dt
+               END,
+               v.last_unblocked_dt, v.last_movement_dt, v.column_board_id
+        FROM (VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?))
+            AS v (card_id, title, description, update_dt, is_blocked, blocked_reason, unblocked_reason, last_blocked_dt, last_unblocked_dt, last_movement_dt, column_board_id)
+        LEFT JOIN a_cards_latest l ON l.card_id = v.card_id
+    """;
+
+    static final String UPDATE_CARD_SNAPSHOT = """
+        UPDATE a_cards_latest
+        SET blocked_reason = ?, last_blocked_dt = ?
+        WHERE card_id = ?
+          AND (last_blocked_dt IS NULL OR last_blocked_dt <= ?)
+    """;
+
+    static final String DELETE_CARD = """
+        INSERT INTO a_cards (card_id, title, description, create_dt, update_dt, is_blocked, blocked_reason, unblocked_reason, last_blocked_dt, last_unblocked_dt, last_movement_dt, column_board_id)
+        SELECT v.card_id, v.title, v.description, l.create_dt, v.update_dt, v.is_blocked, v.blocked_reason, v.unblocked_reason,
+               v.last_blocked_dt, v.last_unblocked_dt, v.last_movement_dt, v.column_board_id
+        FROM (VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?))
+            AS v (card_id, title, description, update_dt, is_blocked, blocked_reason, unblocked_reason, last_blocked_dt, last_unblocked_dt, last_movement_dt, column_board_id)
+        LEFT JOIN a_cards_latest l ON l.card_id = v.card_id
+    """;
+
+    static final String DELETE_CARD_SNAPSHOT = """
+        DELETE FROM a_cards_latest WHERE card_id = ?
+    """;
+
+    static final String CLOSE_DWELL = """
+        UPDATE a_card_column_dwell
+        SET exited_dt = ?
+        WHERE card_id = ? AND exited_dt IS NULL
+          AND (? IS NULL OR column_board_id <> ?)
+    """;
+
+    static final String OPEN_DWELL = """
+        INSERT INTO a_card_column_dwell (card_id, column_board_id, title, description, entered_dt)
+        SELECT ?, ?, ?, ?, ?
+        WHERE NOT EXISTS (SELECT 1 FROM a_card_column_dwell WHERE card_id = ? AND exited_dt IS NULL)
+    """;
+
+    static final String CLOSE_BLOCK = """
+        UPDATE a_card_block_interval
+        SET unblocked_dt = ?, unblocked_reason = ?
+        WHERE card_id = ? AND unblocked_dt IS NULL
+    """;
+
+    static final String OPEN_BLOCK = """
+        INSERT INTO a_card_block_interval (card_id, column_board_id, title, description, blocked_reason, blocked_dt)
+        SELECT ?, ?, ?, ?, ?, ?
+        WHERE NOT EXISTS (SELECT 1 FROM a_card_block_interval WHERE card_id = ? AND unblocked_dt IS NULL)
+    """;
+
+    static final String INSERT_DEAD_LETTER = """
+        INSERT INTO a_audit_dead_letter (record_type, operation, entity_id, payload, error, create_dt)
+        VALUES (?, ?, ?, ?, ?, ?)
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<AuditRecord> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final long maxRetryBackoffMillis;
+    private volatile boolean running;
+    private Thread worker;
+    /**
+     * Constructs the AuditLogWriter.
+     *
+     * @param jdbcTemplate        template used to write the audit tables
+     * @param transactionManager    transaction manager wrapping each flush
+     * @param objectMapper          mapper writing the dead-lettered records as JSON
+     * @param queueCapacity         number of records buffered before callers have to wait
+     * @param batchSize             maximum number of records written per flush
+     * @param flushIntervalMillis   how long the writer waits for a first record before checking for shutdown
+     * @param maxAttempts           number of failed flushes of a batch before it is dead-lettered
+     * @param retryBackoffMillis    wait before retrying a failed flush, doubled after every failure
+     * @param maxRetryBackoffMillis upper bound of the wait between retries
+     */
+    public AuditLogWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                          @Value("${board.audit.queue-capacity:10000}") int queueCapacity,
+                          @Value("${board.audit.batch-size:500}") int batchSize,
+                          @Value("${board.audit.flush-interval-ms:200}") long flushIntervalMillis,
+                          @Value("${board.audit.max-attempts:10}") int maxAttempts,
+                          @Value("${board.audit.retry-backoff-ms:100}") long retryBackoffMillis,
+                          @Value("${board.audit.max-retry-backoff-ms:30000}") long maxRetryBackoffMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.maxRetryBackoffMillis = maxRetryBackoffMillis;
+    }
+    /**
+     * Starts the background thread that drains the queue.
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::drain, "audit-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    /**
+     * Queues a committed change. Waits while the queue is full.
+     *
+     * @param record the change to write
+     */
+    public void enqueue(AuditRecord record) {
+        if (queue.offer(record)) {
+            return;
+        }
+        log.warn("Audit queue is full, waiting for the writer to catch up");
+        try {
+            queue.put(record);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!writeWithRetry(List.of(record))) {
+                log.error("Audit record {} not written, the caller was interrupted", record);
+            }
+        }
+    }
+    /**
+     * Queues the inserts of a board created outside of Hibernate, once the current transaction commits.
+     *
+     * @param board the new board with its columns and cards
+     */
+    public void enqueueCreatedAfterCommit(Board board) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<AuditRecord> records = new ArrayList<>();
+        records.add(BoardRecord.of(AuditOperation.INSERT, board, now));
+        List<BoardColumn> columns = board.getBoardColumns() != null ? board.getBoardColumns() : List.of();
+        for (BoardColumn column : columns) {
+            records.add(ColumnRecord.of(AuditOperation.INSERT, column, now));
+        }
+        for (BoardColumn column : columns) {
+            if (column.getCardList() != null) {
+                column.getCardList().forEach(card -> records.add(CardRecord.of(AuditOperation.INSERT, card, now)));
+            }
+        }
+        enqueueAfterCommit(records);
+    }
+    /**
+     * Queues the inserts of cards created outside of Hibernate, once the current transaction commits.
+     *
+     * @param cards the new cards
+     */
+    public void enqueueCreatedAfterCommit(List<Card> cards) {
+        OffsetDateTime now = OffsetDateTime.now();
+        enqueueAfterCommit(cards.stream().<AuditRecord>map(card -> CardRecord.of(AuditOperation.INSERT, card, now)).toList());
+    }
+    /**
+     * Queues the updates of cards changed outside of Hibernate, once the current transaction commits.
+     *
+     * @param cards the changed cards, as they are after the update
+     */
+    public void enqueueUpdatedAfterCommit(List<Card> cards) {
+        OffsetDateTime now = OffsetDateTime.now();
+        enqueueAfterCommit(cards.stream().<AuditRecord>map(card -> CardRecord.of(AuditOperation.UPDATE, card, now)).toList());
+    }
+    /**
+     * Queues changes made outside of Hibernate, once the current transaction commits.
+     *
+     * @param records the changes, in the order they were made
+     */
+    public void enqueueAfterCommit(List<? extends AuditRecord> records) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            records.forEach(this::enqueue);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                records.forEach(AuditLogWriter.this::enqueue);
+            }
+        });
+    }
+    /**
+     * Number of records waiting to be written.
+     *
+     * @return the queue size
+     */
+    public int pending() {
+        return queue.size();
+    }
+    /**
+     * Stops accepting new work and waits until the writer has written everything left in the queue.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (worker == null) {
+            return;
+        }
+        try {
+            while (worker.isAlive()) {
+                worker.join(TimeUnit.SECONDS.toMillis(30));
+                if (worker.isAlive()) {
+                    log.warn("Waiting for the audit writer to write {} queued records", queue.size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while the audit writer still had {} records queued", queue.size());
+        }
+    }
+    private void drain() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditRecord first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!writeWithRetry(batch)) {
+                log.error("Audit writer interrupted with {} records not written", batch.size() + queue.size());
+                return;
+            }
+            batch.clear();
+        }
+    }
+    /**
+     * Writes a batch, retrying with exponential backoff until it is written. Once {@code maxAttempts} flushes
+     * failed, every further failure also tries to move the batch to the dead-letter table.
+     *
+     * @param records the records to write, in capture order
+     * @return false if the thread was interrupted before the batch could be written
+     */
+    boolean writeWithRetry(List<AuditRecord> records) {
+        long backoff = retryBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                flush(records);
+                return true;
+            } catch (RuntimeException e) {
+                log.warn("Could not write {} audit records, attempt {}", records.size(), attempt, e);
+                if (attempt >= maxAttempts && deadLetter(records, e)) {
+                    return true;
+                }
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            backoff = Math.min(backoff * 2, maxRetryBackoffMillis);
+        }
+    }
+    /**
+     * Writes a list of records in capture order, in a single transaction.
+     *
+     * @param records the records to write
+     */
+    void flush(List<AuditRecord> records) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (List<AuditRecord> run : splitIntoRuns(records)) {
+                write(run);
+            }
+        });
+    }
+    /**
+     * Moves a batch that keeps failing to the dead-letter table, in a single transaction.
+     *
+     * @param records the records to set aside
+     * @param cause   the last failure of the batch
+     * @return true if the batch was written to the dead-letter table
+     */
+    private boolean deadLetter(List<AuditRecord> records, RuntimeException cause) {
+        try {
+            OffsetDateTime now = OffsetDateTime.now();
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_DEAD_LETTER, records, batchSize, (ps, record) -> {
+                        ps.setString(1, record.getClass().getSimpleName());
+                        ps.setString(2, record.operation().name());
+                        ps.setObject(3, record.entityId(), Types.BIGINT);
+                        ps.setString(4, toJson(record));
+                        ps.setString(5, String.valueOf(cause.getMessage()));
+                        setTimestamp(ps, 6, now);
+                    }));
+            log.error("Moved {} audit records to a_audit_dead_letter", records.size(), cause);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Could not move {} audit records to a_audit_dead_letter", records.size(), e);
+            return false;
+        }
+    }
+    private String toJson(AuditRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            return record.toString();
+        }
+    }
+    /**
+     * Splits records into consecutive runs of the same kind, without repeating an entity inside a run.
+     *
+     * @param records the records in capture order
+     * @return the runs in capture order
+     */
+    static List<List<AuditRecord>> splitIntoRuns(List<AuditRecord> records) {
+        List<List<AuditRecord>> runs = new ArrayList<>();
+        List<AuditRecord> run = new ArrayList<>();
+        Set<Long> entityIds = new HashSet<>();
+        for (AuditRecord record : records) {
+            boolean sameKind = !run.isEmpty()
+                    && run.getFirst().getClass() == record.getClass()
+                    && run.getFirst().operation() == record.operation();
+            if (!sameKind || !entityIds.add(record.entityId())) {
+                if (!run.isEmpty()) {
+                    runs.add(run);
+                }
+                run = new ArrayList<>();
+                entityIds.clear();
+                entityIds.add(record.entityId());
+            }
+            run.add(record);
+        }
+        if (!run.isEmpty()) {
+            runs.add(run);
+        }
+        return runs;
+    }
+    private void write(List<AuditRecord> run) {
+        AuditRecord first = run.getFirst();
+        switch (first) {
+            case BoardRecord ignored -> jdbcTemplate.batchUpdate(INSERT_BOARD, cast(run, BoardRecord.class), batchSize, this::setBoard);
+            case ColumnRecord ignored -> jdbcTemplate.batchUpdate(INSERT_COLUMN, cast(run, ColumnRecord.class), batchSize, this::setColumn);
+            case CardRecord ignored -> writeCards(first.operation(), cast(run, CardRecord.class));
+        }
+    }
+    private void writeCards(AuditOperation operation, List<CardRecord> cards) {
+        switch (operation) {
+            case INSERT -> {
+                jdbcTemplate.batchUpdate(INSERT_CARD, cards, batchSize, (ps, card) -> {
+                    ps.setObject(1, card.entityId());
+                    ps.setString(2, card.title());
+                    ps.setString(3, card.description());
+                    setTimestamp(ps, 4, card.changedAt());
+                    setCardState(ps, 5, card);
+                });
+                jdbcTemplate.batchUpdate(INSERT_CARD_SNAPSHOT, cards, batchSize, (ps, card) -> {
+                    ps.setObject(1, card.entityId());
+                    setTimestamp(ps, 2, card.changedAt());
+                    ps.setString(3, card.blockedReason());
+                    setTimestamp(ps, 4, card.lastBlockedDt());
+                });
+                openDwell(cards);
+                openBlocks(cards);
+            }
+            case UPDATE -> {
+                jdbcTemplate.batchUpdate(UPDATE_CARD, cards, batchSize, this::setCardValues);
+                List<CardRecord> blocks = cards.stream()
+                        .filter(card -> (card.blocked() || card.unblockedReason() == null) && card.lastBlockedDt() != null)
+                        .toList();
+                jdbcTemplate.batchUpdate(UPDATE_CARD_SNAPSHOT, blocks, batchSize, (ps, card) -> {
+                    ps.setString(1, card.blockedReason());
+                    setTimestamp(ps, 2, card.lastBlockedDt());
+                    ps.setObject(3, card.entityId());
+                    setTimestamp(ps, 4, card.lastBlockedDt());
+                });
+                closeDwell(cards);
+                openDwell(cards);
+                closeBlocks(cards);
+                openBlocks(cards);
+            }
+            case DELETE -> {
+                jdbcTemplate.batchUpdate(DELETE_CARD, cards, batchSize, this::setCardValues);
+                jdbcTemplate.batchUpdate(DELETE_CARD_SNAPSHOT, cards, batchSize, (ps, card) -> ps.setObject(1, card.entityId()));
+                closeDwell(cards);
+                closeBlocks(cards);
+            }
+        }
+    }
+    /**
+     * Closes the open column visit of each card that left its column, as {@code trg_dwell_update_cards} does.
+     * A deleted card carries no target column here, so its visit is always closed.
+     */
+    private void closeDwell(List<CardRecord> cards) {
+        jdbcTemplate.batchUpdate(CLOSE_DWELL, cards, batchSize, (ps, card) -> {
+            boolean deleted = card.operation() == AuditOperation.DELETE;
+            setTimestamp(ps, 1, !deleted && card.lastMovementDt() != null ? card.lastMovementDt() : card.changedAt());
+            ps.setObject(2, card.entityId());
+            ps.setObject(3, deleted ? null : card.columnBoardId(), Types.BIGINT);
+            ps.setObject(4, deleted ? null : card.columnBoardId(), Types.BIGINT);
+        });
+    }
+    /**
+     * Opens a column visit for each card in a column that has no open visit, i.e. new or just moved.
+     */
+    private void openDwell(List<CardRecord> cards) {
+        List<CardRecord> placed = cards.stream().filter(card -> card.columnBoardId() != null).toList();
+        jdbcTemplate.batchUpdate(OPEN_DWELL, placed, batchSize, (ps, card) -> {
+            ps.setObject(1, card.entityId());
+            ps.setObject(2, card.columnBoardId());
+            ps.setString(3, card.title());
+            ps.setString(4, card.description());
+            setTimestamp(ps, 5, card.lastMovementDt() != null ? card.lastMovementDt() : card.changedAt());
+            ps.setObject(6, card.entityId());
+        });
+    }
+    /**
+     * Closes the open block episode of each card that is no longer blocked or was deleted,
+     * as {@code trg_block_update_cards} and {@code trg_block_delete_cards} do.
+     */
+    private void closeBlocks(List<CardRecord> cards) {
+        List<CardRecord> unblocked = cards.stream()
+                .filter(card -> card.operation() == AuditOperation.DELETE || !card.blocked())
+                .toList();
+        jdbcTemplate.batchUpdate(CLOSE_BLOCK, unblocked, batchSize, (ps, card) -> {
+            boolean deleted = card.operation() == AuditOperation.DELETE;
+            setTimestamp(ps, 1, !deleted && card.lastUnblockedDt() != null ? card.lastUnblockedDt() : card.changedAt());
+            ps.setString(2, deleted ? null : card.unblockedReason());
+            ps.setObject(3, card.entityId());
+        });
+    }
+    /**
+     * Opens a block episode for each blocked card that has no open episode, i.e. new blocked or just blocked.
+     */
+    private void openBlocks(List<CardRecord> cards) {
+        List<CardRecord> blocked = cards.stream().filter(CardRecord::blocked).toList();
+        jdbcTemplate.batchUpdate(OPEN_BLOCK, blocked, batchSize, (ps, card) -> {
+            ps.setObject(1, card.entityId());
+            ps.setObject(2, card.columnBoardId());
+            ps.setString(3, card.title());
+            ps.setString(4, card.description());
+            ps.setString(5, card.blockedReason());
+            setTimestamp(ps, 6, card.lastBlockedDt() != null ? card.lastBlockedDt() : card.changedAt());
+            ps.setObject(7, card.entityId());
+        });
+    }
+    private void setBoard(PreparedStatement ps, BoardRecord board) throws SQLException {
+        ps.setObject(1, board.entityId());
+        ps.setString(2, board.name());
+        setTimestamp(ps, 3, createDt(board.changedAt(), board.createDt()));
+        setTimestamp(ps, 4, board.operation() == AuditOperation.INSERT ? null : board.changedAt());
+    }
+    private void setColumn(PreparedStatement ps, ColumnRecord column) throws SQLException {
+        ps.setObject(1, column.entityId());
+        ps.setObject(2, column.boardId());
+        ps.setString(3, column.name());
+        ps.setObject(4, column.boardOrder());
+        ps.setString(5, String.valueOf(column.type()));
+        setTimestamp(ps, 6, createDt(column.changedAt(), column.createDt()));
+        setTimestamp(ps, 7, column.operation() == AuditOperation.INSERT ? null : column.changedAt());
+    }
+    private void setCardValues(PreparedStatement ps, CardRecord card) throws SQLException {
+        ps.setObject(1, card.entityId());
+        ps.setString(2, card.title());
+        ps.setString(3, card.description());
+        setTimestamp(ps, 4, card.changedAt());
+        setCardState(ps, 5, card);
+    }
+    /**
+     * Sets is_blocked, blocked_reason, unblocked_reason, last_blocked_dt, last_unblocked_dt, last_movement_dt
+     * and column_board_id starting at the given parameter index.
+     */
+    private static void setCardState(PreparedStatement ps, int index, CardRecord card) throws SQLException {
+        ps.setLong(index, card.blocked() ? 1 : 0);
+        ps.setString(index + 1, card.blockedReason());
+        ps.setString(index + 2, card.unblockedReason());
+        setTimestamp(ps, index + 3, card.lastBlockedDt());
+        setTimestamp(ps, index + 4, card.lastUnblockedDt());
+        setTimestamp(ps, index + 5, card.lastMovementDt());
+        ps.setObject(index + 6, card.columnBoardId());
+    }
+    /**
+     * History rows keep the creation date of the entity; the capture time is used when the entity has none.
+     */
+    private static OffsetDateTime createDt(OffsetDateTime changedAt, OffsetDateTime createDt) {
+        return createDt != null ? createDt : changedAt;
+    }
+    private static void setTimestamp(PreparedStatement ps, int index, OffsetDateTime value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.TIMESTAMP);
+        } else {
+            ps.setTimestamp(index, Timestamp.from(value.toInstant()));
+        }
+    }
+    @SuppressWarnings("unchecked")
+    private static <T extends AuditRecord> List<T> cast(List<AuditRecord> run, Class<T> type) {
+        return (List<T>) (List<?>) run;
+    }
+}
@@ -0,0 +1,14 @@
+package com.gag.board.service.audit;
+/**
+ * Where the history of boards, columns and cards is captured, selected by {@code board.audit.mode}.
+ */
+public enum AuditMode {
+    /**
+     * The T-SQL triggers write the audit tables inside the user's transaction.
+     */
+    TRIGGER,
+    /**
+     * The triggers are disabled and committed changes are written by {@link AuditLogWriter} on a background thread.
+     */
+    ASYNC
+}
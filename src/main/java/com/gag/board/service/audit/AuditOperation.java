@@ -0,0 +1,9 @@
+package com.gag.board.service.audit;
+/**
+ * Kind of change captured by an audit record.
+ */
+public enum AuditOperation {
+    INSERT,
+    UPDATE,
+    DELETE
+}
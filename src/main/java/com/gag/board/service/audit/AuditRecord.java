@@ -0,0 +1,70 @@
+package com.gag.board.service.audit;
+
+import com.gag.board.entity.Board;
+import com.gag.board.entity.BoardColumn;
+import com.gag.board.entity.Card;
+
+import java.time.OffsetDateTime;
+/**
+ * Snapshot of a committed change, taken when the change is captured and written to the audit tables later.
+ * Each record carries the same values the audit triggers read from the {@code inserted}/{@code deleted} rows.
+ */
+public sealed interface AuditRecord {
+
+    AuditOperation operation();
+
+    Long entityId();
+
+    OffsetDateTime changedAt();
+
+    record BoardRecord(
+            AuditOperation operation,
+            Long entityId,
+            String name,
+            OffsetDateTime createDt,
+            OffsetDateTime changedAt) implements AuditRecord {
+
+        static BoardRecord of(AuditOperation operation, Board board, OffsetDateTime changedAt) {
+            return new BoardRecord(operation, board.getId(), board.getName(), board.getCreateDt(), changedAt);
+        }
+    }
+
+    record ColumnRecord(
+            AuditOperation operation,
+            Long entityId,
+            Long boardId,
+            String name,
+            Integer boardOrder,
+            char type,
+            OffsetDateTime createDt,
+            OffsetDateTime changedAt) implements AuditRecord {
+
+        static ColumnRecord of(AuditOperation operation, BoardColumn column, OffsetDateTime changedAt) {
+            Long boardId = column.getBoard() != null ? column.getBoard().getId() : null;
+            return new ColumnRecord(operation, column.getId(), boardId, column.getName(), column.getBoard_order(),
+                    column.getType(), column.getCreateDt(), changedAt);
+        }
+    }
+
+    record CardRecord(
+            AuditOperation operation,
+            Long entityId,
+            String title,
+            String description,
+            boolean blocked,
+            String blockedReason,
+            String unblockedReason,
+            OffsetDateTime lastBlockedDt,
+            OffsetDateTime lastUnblockedDt,
+            OffsetDateTime lastMovementDt,
+            Long columnBoardId,
+            OffsetDateTime changedAt) implements AuditRecord {
+
+        static CardRecord of(AuditOperation operation, Card card, OffsetDateTime changedAt) {
+            Long columnBoardId = card.getBoardColumn() != null ? card.getBoardColumn().getId() : null;
+            return new CardRecord(operation, card.getId(), card.getTitle(), card.getDescription(),
+                    Boolean.TRUE.equals(card.getIsBlocked()), card.getBlockedReason(), card.getUnblockedReason(),
+                    card.getLastBlockedDt(), card.getLastUnblockedDt(), card.getLastMovementDt(), columnBoardId, changedAt);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.gag.board.service.audit;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+/**
+ * Checks at startup that the audit triggers of {@code V3__create_audit_triggers.sql}, the column visit triggers of
+ * {@code V10__create_card_column_dwell.sql} and the block episode triggers of {@code V11__create_card_block_interval.sql}
+ * match {@code board.audit.mode}, so that exactly one of the triggers and the {@link AuditLogWriter} records the history.
+ * <p>
+ * The triggers are switched by the {@code R__apply_audit_mode.sql} migration, never by the application, so an
+ * instance started with another mode fails instead of turning history capture off or doubling it for the others.
+ */
+@Component
+public class AuditTriggerVerifier {
+    private static final Logger log = LoggerFactory.getLogger(AuditTriggerVerifier.class);
+
+    static final List<String> AUDIT_TRIGGERS = List.of(
+            "trg_audit_insert_boards", "trg_audit_update_boards", "trg_audit_delete_boards",
+            "trg_audit_insert_board_columns", "trg_audit_update_board_columns", "trg_audit_delete_board_columns",
+            "trg_audit_insert_cards", "trg_audit_update_cards", "trg_audit_delete_cards",
+            "trg_dwell_insert_cards", "trg_dwell_update_cards", "trg_dwell_delete_cards",
+            "trg_block_insert_cards", "trg_block_update_cards", "trg_block_delete_cards");
+
+    static final String FIND_TRIGGER_STATE = """
+        SELECT name, is_disabled
+        FROM sys.triggers
+        WHERE parent_class = 1 AND name IN (%s)
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditMode mode;
+    /**
+     * Constructs the AuditTriggerVerifier.
+     *
+     * @param jdbcTemplate template used to read the trigger state
+     * @param mode         the configured audit mode
+     */
+    public AuditTriggerVerifier(JdbcTemplate jdbcTemplate, @Value("${board.audit.mode:trigger}") AuditMode mode) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mode = mode;
+    }
+    /**
+     * Compares the state of every audit trigger with the configured mode.
+     *
+     * @throws IllegalStateException if a trigger is missing or enabled when it should be disabled, or the reverse
+     */
+    @PostConstruct
+    public void verify() {
+        boolean expectDisabled = mode == AuditMode.ASYNC;
+        String names = AUDIT_TRIGGERS.stream().map(name -> "'" + name + "'").collect(Collectors.joining(", "));
+        Map<String, Boolean> disabled = jdbcTemplate.query(FIND_TRIGGER_STATE.formatted(names), rs -> {
+            Map<String, Boolean> state = new HashMap<>();
+            while (rs.next()) {
+                state.put(rs.getString("name"), rs.getBoolean("is_disabled"));
+            }
+            return state;
+        });
+        List<String> mismatched = new ArrayList<>();
+        for (String trigger : AUDIT_TRIGGERS) {
+            Boolean isDisabled = disabled.get(trigger);
+            if (isDisabled == null || isDisabled != expectDisabled) {
+                mismatched.add(trigger + (isDisabled == null ? " (missing)" : isDisabled ? " (disabled)" : " (enabled)"));
+            }
+        }
+        if (!mismatched.isEmpty()) {
+            throw new IllegalStateException("Audit triggers do not match board.audit.mode=" + mode.name().toLowerCase()
+                    + ", run the Flyway migrations with the same mode: " + String.join(", ", mismatched));
+        }
+        log.info("Audit mode: {}", mode);
+    }
+}
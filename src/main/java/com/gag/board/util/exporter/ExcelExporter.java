@@ -2,35 +2,48 @@ package com.gag.board.util.exporter;
 
 import com.gag.board.dto.BlockUnblockReport;
 import com.gag.board.dto.MovementReport;
-import com.gag.board.service.ConsoleInterface;
+import com.gag.board.exception.ReportExportException;
 import com.gag.board.service.MessageService;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Component;
 
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 /**
  * Service responsible for exporting report data to Excel files.
  * Handles the creation of spreadsheets for both movement and block/unblock reports,
  * including headers, styling, and writing data to the file system.
+ * <p>
+ * Besides the in-memory {@link XSSFWorkbook} exports, a streaming mode backed by {@link SXSSFWorkbook}
+ * is available for large audit histories: rows are pulled from a {@link Stream} and only a bounded
+ * window of them is kept in memory, the rest being flushed to a temporary file.
+ * <p>
+ * A report that can't be written fails with a {@link ReportExportException}, leaving the caller to discard the file.
  */
 @Component
 public class ExcelExporter {
+    /**
+     * Number of rows kept in memory by the streaming exports before they are flushed to disk.
+     */
+    static final int STREAMING_WINDOW_SIZE = 100;
+
     private final MessageService messageService;
-    private final ConsoleInterface consoleInterface;
     /**
-     * Constructs the ExcelExporter with dependencies for messaging and console interaction.
+     * Constructs the ExcelExporter with the service resolving the localized column headers.
      *
      * @param messageService     service for retrieving localized messages
-     * @param consoleInterface   interface for console input/output
      */
-    public ExcelExporter(MessageService messageService, ConsoleInterface consoleInterface) {
+    public ExcelExporter(MessageService messageService) {
         this.messageService = messageService;
-        this.consoleInterface = consoleInterface;
     }
     /**
      * Exports a list of BlockUnblockReport objects to an Excel file with proper headers and formatting.
@@ -38,32 +51,14 @@ public class ExcelExporter {
      * @param reports  the list of block/unblock reports
      * @param filePath the path to the Excel file to be created
      * @param title    the sheet title
+     * @throws ReportExportException if the file cannot be written
      */
     public void exportBlockedUnblockedToExcel(List<BlockUnblockReport> reports, String filePath, String title) {
-        String[] columns = null;
         try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet(title);
-            Row headerRow = sheet.createRow(0);
-            columns = createBlockUnblockReportHeader();
-            CellStyle cellStyle = createDateCellStyle(workbook);
-            insertDataRowsBlockUnblockReport(reports, sheet,cellStyle);
-            createHeaderStyle(columns, headerRow, workbook);
-            for (int i = 0; i < columns.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
-            Path path = Paths.get(filePath);
-            Files.createDirectories(path.getParent());
-
-            try (FileOutputStream fileOut = new FileOutputStream(path.toFile())) {
-                workbook.write(fileOut);
-                fileOut.flush();
-            }
-
-            consoleInterface.printMessage(messageService.getMessage("export.success"));
-        } catch (Exception e) {
-            e.printStackTrace();
-            consoleInterface.printMessage(messageService.getMessage("export.fail"));
-            consoleInterface.printMessage(e.getMessage());
+            writeBlockUnblockSheet(workbook, new ExcelStyleRegistry(workbook), reports.iterator(), title);
+            writeWorkbook(workbook, filePath);
+        } catch (IOException e) {
+            throw new ReportExportException("could not write report " + filePath, e);
         }
     }
     /**
@@ -72,50 +67,156 @@ public class ExcelExporter {
      * @param reports  the list of movement reports
      * @param filePath the path to the Excel file to be created
      * @param title    the sheet title
+     * @throws ReportExportException if the file cannot be written
      */
     public void exportMovementToExcel(List<MovementReport> reports, String filePath, String title) {
-        String[] columns = null;
         try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet(title);
-            Row headerRow = sheet.createRow(0);
-            columns = createMovementReportHeader();
-            CellStyle cellStyle = createDateCellStyle(workbook);
-            insertDataRowsMovementReport(reports, sheet,cellStyle);
-            createHeaderStyle(columns, headerRow, workbook);
-            for (int i = 0; i < columns.length; i++) {
-                sheet.autoSizeColumn(i);
+            writeMovementSheet(workbook, new ExcelStyleRegistry(workbook), reports.iterator(), title);
+            writeWorkbook(workbook, filePath);
+        } catch (IOException e) {
+            throw new ReportExportException("could not write report " + filePath, e);
+        }
+    }
+    /**
+     * Streams BlockUnblockReport rows into an Excel file keeping only {@link #STREAMING_WINDOW_SIZE} rows in memory.
+     * The stream is consumed once and closed when the export finishes.
+     *
+     * @param reports  the stream of block/unblock reports, usually backed by a database cursor
+     * @param filePath the path to the Excel file to be created
+     * @param title    the sheet title
+     * @throws ReportExportException if the file cannot be written
+     */
+    public void streamBlockedUnblockedToExcel(Stream<BlockUnblockReport> reports, String filePath, String title) {
+        SXSSFWorkbook workbook = createStreamingWorkbook();
+        try (workbook; reports) {
+            writeBlockUnblockSheet(workbook, new ExcelStyleRegistry(workbook), reports.iterator(), title);
+            writeWorkbook(workbook, filePath);
+        } catch (IOException e) {
+            throw new ReportExportException("could not write report " + filePath, e);
+        } finally {
+            workbook.dispose();
+        }
+    }
+    /**
+     * Streams MovementReport rows into an Excel file keeping only {@link #STREAMING_WINDOW_SIZE} rows in memory.
+     * The stream is consumed once and closed when the export finishes.
+     *
+     * @param reports  the stream of movement reports, usually backed by a database cursor
+     * @param filePath the path to the Excel file to be created
+     * @param title    the sheet title
+     * @throws ReportExportException if the file cannot be written
+     */
+    public void streamMovementToExcel(Stream<MovementReport> reports, String filePath, String title) {
+        SXSSFWorkbook workbook = createStreamingWorkbook();
+        try (workbook; reports) {
+            writeMovementSheet(workbook, new ExcelStyleRegistry(workbook), reports.iterator(), title);
+            writeWorkbook(workbook, filePath);
+        } catch (IOException e) {
+            throw new ReportExportException("could not write report " + filePath, e);
+        } finally {
+            workbook.dispose();
+        }
+    }
+    /**
+     * Exports a board dossier: the movement and the block/unblock reports of a board as two sheets of a single
+     * streaming workbook sharing the same styles. Each source is opened only when its sheet is written and closed
+     * right after, so only one database cursor is open at a time and every row is read exactly once.
+     *
+     * @param movementReports opens the stream of movement reports
+     * @param blockedReports  opens the stream of block/unblock reports
+     * @param filePath        the path to the Excel file to be created
+     * @throws ReportExportException if the file cannot be written
+     */
+    public void exportBoardDossierToExcel(Supplier<Stream<MovementReport>> movementReports,
+                                          Supplier<Stream<BlockUnblockReport>> blockedReports, String filePath) {
+        SXSSFWorkbook workbook = createStreamingWorkbook();
+        try (workbook) {
+            ExcelStyleRegistry styles = new ExcelStyleRegistry(workbook);
+            try (Stream<MovementReport> reports = movementReports.get()) {
+                writeMovementSheet(workbook, styles, reports.iterator(), messageService.getMessage("export.sheet.movement"));
             }
-            FileOutputStream fileOut = new FileOutputStream(filePath);
-            workbook.write(fileOut);
-            fileOut.close();
-            consoleInterface.printMessage(messageService.getMessage("export.success"));
-        } catch (Exception e) {
-            consoleInterface.printMessage(messageService.getMessage("export.fail"));
-            consoleInterface.printMessage(e.getMessage());
+            try (Stream<BlockUnblockReport> reports = blockedReports.get()) {
+                writeBlockUnblockSheet(workbook, styles, reports.iterator(), messageService.getMessage("export.sheet.blocked"));
+            }
+            writeWorkbook(workbook, filePath);
+        } catch (IOException e) {
+            throw new ReportExportException("could not write report " + filePath, e);
+        } finally {
+            workbook.dispose();
         }
     }
     /**
-     * Creates a cell style for date-time values in the Excel sheet.
+     * Creates a streaming workbook that keeps {@link #STREAMING_WINDOW_SIZE} rows in memory
+     * and compresses the rows flushed to its temporary files.
      *
-     * @param workbook the Excel workbook
-     * @return a cell style with a date-time format
-     */
-    private CellStyle createDateCellStyle(Workbook workbook) {
-        CellStyle dateCellStyle = workbook.createCellStyle();
-        DataFormat format = workbook.createDataFormat();
-        dateCellStyle.setDataFormat(format.getFormat("[$-en-US]m/d/yy h:mm:ss AM/PM;@"));
-        return dateCellStyle;
+     * @return a new streaming workbook
+     */
+    private static SXSSFWorkbook createStreamingWorkbook() {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(STREAMING_WINDOW_SIZE);
+        workbook.setCompressTempFiles(true);
+        return workbook;
+    }
+    /**
+     * Writes a movement report sheet: header, data rows and estimated column widths.
+     *
+     * @param workbook the workbook receiving the sheet
+     * @param styles   the style registry of the workbook
+     * @param reports  the movement reports to be written, in order
+     * @param title    the sheet title
+     */
+    private void writeMovementSheet(Workbook workbook, ExcelStyleRegistry styles, Iterator<MovementReport> reports, String title) {
+        Sheet sheet = workbook.createSheet(title);
+        String[] columns = createMovementReportHeader();
+        createHeaderStyle(columns, sheet.createRow(0), styles);
+        ColumnWidthEstimator widths = new ColumnWidthEstimator(columns);
+        insertDataRowsMovementReport(reports, sheet, styles, widths);
+        widths.applyTo(sheet);
+    }
+    /**
+     * Writes a block/unblock report sheet: header, data rows and estimated column widths.
+     *
+     * @param workbook the workbook receiving the sheet
+     * @param styles   the style registry of the workbook
+     * @param reports  the block/unblock reports to be written, in order
+     * @param title    the sheet title
+     */
+    private void writeBlockUnblockSheet(Workbook workbook, ExcelStyleRegistry styles, Iterator<BlockUnblockReport> reports, String title) {
+        Sheet sheet = workbook.createSheet(title);
+        String[] columns = createBlockUnblockReportHeader();
+        createHeaderStyle(columns, sheet.createRow(0), styles);
+        ColumnWidthEstimator widths = new ColumnWidthEstimator(columns);
+        insertDataRowsBlockUnblockReport(reports, sheet, styles, widths);
+        widths.applyTo(sheet);
+    }
+    /**
+     * Writes the workbook to the given path, creating the parent directories when needed.
+     *
+     * @param workbook the workbook to be written
+     * @param filePath the path to the Excel file to be created
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeWorkbook(Workbook workbook, String filePath) throws IOException {
+        Path path = Paths.get(filePath);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (FileOutputStream fileOut = new FileOutputStream(path.toFile())) {
+            workbook.write(fileOut);
+            fileOut.flush();
+        }
     }
     /**
      * Inserts movement report data rows into the Excel sheet.
      *
-     * @param reports           the list of movement reports
-     * @param sheet             the Excel sheet to insert data into
-     * @param dateTimeCellStyle the style to apply to date-time cells
+     * @param reports the movement reports to be written, in order
+     * @param sheet   the Excel sheet to insert data into
+     * @param styles  the style registry of the workbook
+     * @param widths  the estimator fed with every value written
      */
-    private static void insertDataRowsMovementReport(List<MovementReport> reports, Sheet sheet, CellStyle dateTimeCellStyle) {
+    private static void insertDataRowsMovementReport(Iterator<MovementReport> reports, Sheet sheet, ExcelStyleRegistry styles, ColumnWidthEstimator widths) {
         int rowNum = 1;
-        for (MovementReport report : reports) {
+        while (reports.hasNext()) {
+            MovementReport report = reports.next();
             Row row = sheet.createRow(rowNum++);
             row.createCell(0).setCellValue(report.id());
             row.createCell(1).setCellValue(report.title());
@@ -123,21 +224,33 @@ public class ExcelExporter {
             row.createCell(3).setCellValue(report.type());
             row.createCell(4).setCellValue(report.boardId());
             row.createCell(5).setCellValue(report.columnBoardId());
-            row.createCell(6).setCellStyle(dateTimeCellStyle);
+            row.createCell(6).setCellStyle(styles.dateTime());
             row.getCell(6).setCellValue(report.exitTime());
-            row.createCell(7).setCellValue(report.minutesSpent());
+            row.createCell(7).setCellStyle(styles.numeric());
+            row.getCell(7).setCellValue(report.minutesSpent());
+            widths.record(0, report.id());
+            widths.record(1, report.title());
+            widths.record(2, report.description());
+            widths.record(3, report.type());
+            widths.record(4, report.boardId());
+            widths.record(5, report.columnBoardId());
+            widths.recordLength(6, ColumnWidthEstimator.DATE_TIME_CHARACTERS);
+            widths.record(7, report.minutesSpent());
         }
     }
     /**
      * Inserts block/unblock report data rows into the Excel sheet.
+     * Cards that are still blocked get their "is blocked" cell highlighted.
      *
-     * @param reports           the list of block/unblock reports
-     * @param sheet             the Excel sheet to insert data into
-     * @param dateTimeCellStyle the style to apply to date-time cells
+     * @param reports the block/unblock reports to be written, in order
+     * @param sheet   the Excel sheet to insert data into
+     * @param styles  the style registry of the workbook
+     * @param widths  the estimator fed with every value written
      */
-    private static void insertDataRowsBlockUnblockReport(List<BlockUnblockReport> reports, Sheet sheet, CellStyle dateTimeCellStyle) {
+    private static void insertDataRowsBlockUnblockReport(Iterator<BlockUnblockReport> reports, Sheet sheet, ExcelStyleRegistry styles, ColumnWidthEstimator widths) {
         int rowNum = 1;
-        for (BlockUnblockReport report : reports) {
+        while (reports.hasNext()) {
+            BlockUnblockReport report = reports.next();
             Row row = sheet.createRow(rowNum++);
             row.createCell(0).setCellValue(report.id());
             row.createCell(1).setCellValue(report.title());
@@ -146,30 +259,43 @@ public class ExcelExporter {
             row.createCell(4).setCellValue(report.boardId());
             row.createCell(5).setCellValue(report.columnBoardId());
             row.createCell(6).setCellValue((report.isBlocked() ? 1:0));
+            if (report.isBlocked()) {
+                row.getCell(6).setCellStyle(styles.blockedHighlight());
+            }
             row.createCell(7).setCellValue(report.blockedReason());
             row.createCell(8).setCellValue(report.unblockedReason());
-            row.createCell(9).setCellStyle(dateTimeCellStyle);
+            row.createCell(9).setCellStyle(styles.dateTime());
             row.getCell(9).setCellValue(report.lastBlockedDt());
-            row.createCell(10).setCellStyle(dateTimeCellStyle);
+            row.createCell(10).setCellStyle(styles.dateTime());
             row.getCell(10).setCellValue(report.lastUnblockedDt());
             row.createCell(11).setCellValue(report.secondsSpent() != null ? report.secondsSpent() : 0);
+            widths.record(0, report.id());
+            widths.record(1, report.title());
+            widths.record(2, report.description());
+            widths.record(3, report.type());
+            widths.record(4, report.boardId());
+            widths.record(5, report.columnBoardId());
+            widths.recordLength(6, 1);
+            widths.record(7, report.blockedReason());
+            widths.record(8, report.unblockedReason());
+            widths.recordLength(9, ColumnWidthEstimator.DATE_TIME_CHARACTERS);
+            widths.recordLength(10, ColumnWidthEstimator.DATE_TIME_CHARACTERS);
+            widths.record(11, report.secondsSpent());
         }
     }
     /**
      * Creates the header row with styled column titles for the Excel sheet.
+     * Every header cell shares the registry's single header style.
      *
      * @param columns    the array of column titles
      * @param headerRow  the row object representing the header
-     * @param workbook   the Excel workbook
+     * @param styles     the style registry of the workbook
      */
-    private static void createHeaderStyle(String[] columns, Row headerRow, Workbook workbook) {
+    private static void createHeaderStyle(String[] columns, Row headerRow, ExcelStyleRegistry styles) {
+        CellStyle style = styles.header();
         for (int i = 0; i < columns.length; i++) {
             Cell cell = headerRow.createCell(i);
             cell.setCellValue(columns[i]);
-            CellStyle style = workbook.createCellStyle();
-            Font font = workbook.createFont();
-            font.setBold(true);
-            style.setFont(font);
             cell.setCellStyle(style);
         }
     }
@@ -0,0 +1,80 @@
+package com.gag.board.util.exporter;
+
+import org.apache.poi.ss.usermodel.*;
+
+/**
+ * Per-workbook registry of the cell styles used by the Excel exports.
+ * <p>
+ * Each distinct style (header, date-time, numeric and blocked highlight) is created once, on first use,
+ * and then shared by every cell and sheet of the workbook, keeping the workbook style table small
+ * even when several reports are written into the same file.
+ */
+final class ExcelStyleRegistry {
+    private static final String DATE_TIME_FORMAT = "[$-en-US]m/d/yy h:mm:ss AM/PM;@";
+    private static final String NUMERIC_FORMAT = "0.00";
+
+    private final Workbook workbook;
+    private CellStyle headerStyle;
+    private CellStyle dateTimeStyle;
+    private CellStyle numericStyle;
+    private CellStyle blockedStyle;
+    /**
+     * Creates a registry bound to the given workbook.
+     *
+     * @param workbook the workbook that owns the styles
+     */
+    ExcelStyleRegistry(Workbook workbook) {
+        this.workbook = workbook;
+    }
+    /**
+     * Returns the bold style used by header cells.
+     *
+     * @return the shared header style
+     */
+    CellStyle header() {
+        if (headerStyle == null) {
+            Font font = workbook.createFont();
+            font.setBold(true);
+            headerStyle = workbook.createCellStyle();
+            headerStyle.setFont(font);
+        }
+        return headerStyle;
+    }
+    /**
+     * Returns the style used by date-time cells.
+     *
+     * @return the shared date-time style
+     */
+    CellStyle dateTime() {
+        if (dateTimeStyle == null) {
+            dateTimeStyle = workbook.createCellStyle();
+            dateTimeStyle.setDataFormat(workbook.createDataFormat().getFormat(DATE_TIME_FORMAT));
+        }
+        return dateTimeStyle;
+    }
+    /**
+     * Returns the style used by decimal cells.
+     *
+     * @return the shared numeric style
+     */
+    CellStyle numeric() {
+        if (numericStyle == null) {
+            numericStyle = workbook.createCellStyle();
+            numericStyle.setDataFormat(workbook.createDataFormat().getFormat(NUMERIC_FORMAT));
+        }
+        return numericStyle;
+    }
+    /**
+     * Returns the style used to highlight cards that are still blocked.
+     *
+     * @return the shared blocked highlight style
+     */
+    CellStyle blockedHighlight() {
+        if (blockedStyle == null) {
+            blockedStyle = workbook.createCellStyle();
+            blockedStyle.setFillForegroundColor(IndexedColors.LIGHT_ORANGE.getIndex());
+            blockedStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        }
+        return blockedStyle;
+    }
+}
@@ -2,29 +2,50 @@ package com.gag.board.util.exporter;
 
 import com.gag.board.dto.BlockUnblockReport;
 import com.gag.board.dto.MovementReport;
-import com.gag.board.service.ConsoleInterface;
+import com.gag.board.exception.ReportExportException;
 import com.gag.board.service.MessageService;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDStream;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
-import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
-import java.util.function.Function;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 /**
  * Component responsible for exporting different types of reports into PDF format.
  * Uses Apache PDFBox to generate the documents.
+ * <p>
+ * Localized labels, the date formatter and the fonts are resolved once per export. PDFBox objects are not
+ * thread-safe, so the fonts belong to a single document and concurrent exports never share them.
+ * Documents are backed by a PDFBox scratch file, so the content of every completed page leaves the heap
+ * as soon as the page is closed and large reports don't keep the whole document in memory.
+ * A report that can't be written fails with a {@link ReportExportException}, leaving the caller to discard the file.
+ * <p>
+ * The parallel exports split the reports into page-sized chunks and build the compressed content stream of each
+ * page on a fork-join pool, each in a throwaway document of its own. The calling thread only appends the finished
+ * streams in page order. A page depends on nothing but its chunk, its fonts are bound to fixed resource names and
+ * the document id is derived from the title, so the file is byte-for-byte identical whatever the number of threads.
  */
 @Component
 public class PDFExporter {
@@ -33,18 +54,27 @@ public class PDFExporter {
     private static final float X_START = 50;
     private static final float Y_MARGIN = 50;
     private static final float ROW_HEIGHT = 20;
+    /**
+     * Heap used by a document before its streams spill over to the scratch file.
+     */
+    private static final long MAX_MAIN_MEMORY_BYTES = 8L * 1024 * 1024;
+    private static final int MOVEMENT_REPORT_LINES = 8;
+    private static final int BLOCK_UNBLOCK_REPORT_LINES = 12;
+    /**
+     * Pages composed ahead of the one being appended, per thread, which bounds the heap held by finished pages.
+     */
+    private static final int PAGES_AHEAD_PER_THREAD = 4;
+    private static final COSName TITLE_FONT = COSName.getPDFName("F1");
+    private static final COSName TEXT_FONT = COSName.getPDFName("F2");
 
     private final MessageService messageService;
-    private final ConsoleInterface consoleInterface;
     /**
-     * Constructs a PDFExporter with the given message service and console interface.
+     * Constructs a PDFExporter with the given message service.
      *
      * @param messageService the service used to retrieve localized messages
-     * @param consoleInterface the interface for displaying messages to the user
      */
-    public PDFExporter(MessageService messageService, ConsoleInterface consoleInterface) {
+    public PDFExporter(MessageService messageService) {
         this.messageService = messageService;
-        this.consoleInterface = consoleInterface;
     }
     /**
      * Exports a list of MovementReport objects to a PDF file.
@@ -52,9 +82,10 @@ public class PDFExporter {
      * @param reports the list of movement reports
      * @param filePath the path where the PDF will be saved
      * @param title the title to be shown in the PDF
+     * @throws ReportExportException if the file cannot be written
      */
     public void exportMovementReportToPDF(List<MovementReport> reports, String filePath, String title) {
-        exportToPDF(reports, filePath, title, this::insertDataRowsMovementReport);
+        exportToPDF(reports.iterator(), filePath, title, movementRowFormatter());
     }
     /**
      * Exports a list of BlockUnblockReport objects to a PDF file.
@@ -62,21 +93,73 @@ public class PDFExporter {
      * @param reports the list of block/unblock reports
      * @param filePath the path where the PDF will be saved
      * @param title the title to be shown in the PDF
+     * @throws ReportExportException if the file cannot be written
      */
     public void exportBlockedUnblockedReportToPDF(List<BlockUnblockReport> reports, String filePath, String title) {
-        exportToPDF(reports, filePath, title, this::insertDataRowsBlockUnblockReport);
+        exportToPDF(reports.iterator(), filePath, title, blockUnblockRowFormatter());
+    }
+    /**
+     * Exports a list of MovementReport objects to a PDF file, composing the pages in parallel.
+     *
+     * @param reports the list of movement reports
+     * @param filePath the path where the PDF will be saved
+     * @param title the title to be shown in the PDF
+     * @param parallelism the number of threads composing pages
+     * @throws ReportExportException if the file cannot be written
+     */
+    public void exportMovementReportToPDF(List<MovementReport> reports, String filePath, String title, int parallelism) {
+        exportToPDFInParallel(reports, filePath, title, movementRowFormatter(), MOVEMENT_REPORT_LINES, parallelism);
+    }
+    /**
+     * Exports a list of BlockUnblockReport objects to a PDF file, composing the pages in parallel.
+     *
+     * @param reports the list of block/unblock reports
+     * @param filePath the path where the PDF will be saved
+     * @param title the title to be shown in the PDF
+     * @param parallelism the number of threads composing pages
+     * @throws ReportExportException if the file cannot be written
+     */
+    public void exportBlockedUnblockedReportToPDF(List<BlockUnblockReport> reports, String filePath, String title, int parallelism) {
+        exportToPDFInParallel(reports, filePath, title, blockUnblockRowFormatter(), BLOCK_UNBLOCK_REPORT_LINES, parallelism);
+    }
+    /**
+     * Streams MovementReport rows into a PDF file. The stream is consumed once and closed when the export finishes.
+     *
+     * @param reports the stream of movement reports, usually backed by a database cursor
+     * @param filePath the path where the PDF will be saved
+     * @param title the title to be shown in the PDF
+     * @throws ReportExportException if the file cannot be written
+     */
+    public void streamMovementReportToPDF(Stream<MovementReport> reports, String filePath, String title) {
+        try (reports) {
+            exportToPDF(reports.iterator(), filePath, title, movementRowFormatter());
+        }
     }
     /**
-     * Generic method that exports a list of reports to a PDF file using a custom formatter.
+     * Streams BlockUnblockReport rows into a PDF file. The stream is consumed once and closed when the export finishes.
      *
-     * @param reports the list of reports to export
+     * @param reports the stream of block/unblock reports, usually backed by a database cursor
      * @param filePath the path where the PDF will be saved
      * @param title the title to be shown in the PDF
-     * @param rowFormatter function to format each report as a string of lines separated by semicolons
+     * @throws ReportExportException if the file cannot be written
+     */
+    public void streamBlockedUnblockedReportToPDF(Stream<BlockUnblockReport> reports, String filePath, String title) {
+        try (reports) {
+            exportToPDF(reports.iterator(), filePath, title, blockUnblockRowFormatter());
+        }
+    }
+    /**
+     * Generic method that exports reports to a PDF file using a custom formatter.
+     *
+     * @param reports the reports to export, in order
+     * @param filePath the path where the PDF will be saved
+     * @param title the title to be shown in the PDF
+     * @param rowFormatter formatter producing the lines of each report, with labels resolved for this export
      * @param <T> the type of report
      */
-    private <T> void exportToPDF(List<T> reports, String filePath, String title, Function<T, String> rowFormatter) {
-        try (PDDocument document = new PDDocument()) {
+    private <T> void exportToPDF(Iterator<T> reports, String filePath, String title, RowFormatter<T> rowFormatter) {
+        try (PDDocument document = new PDDocument(MemoryUsageSetting.setupMixed(MAX_MAIN_MEMORY_BYTES).streamCache)) {
+            Fonts fonts = Fonts.create();
             PDPage page = new PDPage();
             document.addPage(page);
             PDPageContentStream contentStream = new PDPageContentStream(document, page, PDPageContentStream.AppendMode.APPEND, true);
@@ -84,18 +167,15 @@ public class PDFExporter {
             try {
                 float yPosition = Y_START;
 
-                setDocumentTitle(contentStream, title);
+                setDocumentTitle(contentStream, fonts, title);
                 yPosition -= ROW_HEIGHT;
 
-                PDType1Font textFont = new PDType1Font(Standard14Fonts.FontName.COURIER);
-
-                for (T report : reports) {
+                while (reports.hasNext()) {
+                    T report = reports.next();
                     yPosition -= ROW_HEIGHT;
                     drawTableLines(contentStream, X_START - 10, yPosition + 10, 0);
 
-                    List<String> results = List.of(rowFormatter.apply(report).split(";"));
-
-                    for (String line : results) {
+                    for (String line : rowFormatter.format(report)) {
                         yPosition -= ROW_HEIGHT;
 
                         if (yPosition < Y_MARGIN) {
@@ -105,7 +185,7 @@ public class PDFExporter {
                         }
 
                         contentStream.beginText();
-                        contentStream.setFont(textFont, 10);
+                        contentStream.setFont(fonts.text(), 10);
                         contentStream.newLineAtOffset(X_START, yPosition);
                         contentStream.showText(line);
                         contentStream.endText();
@@ -122,17 +202,155 @@ public class PDFExporter {
 
                 contentStream.close();
                 document.save(new File(filePath));
-                consoleInterface.printMessage(messageService.getMessage("export.success"));
 
             } finally {
                 contentStream.close();
             }
 
         } catch (IOException e) {
-            consoleInterface.printMessage(messageService.getMessage("export.fail"));
-            consoleInterface.printMessage(e.getMessage());
+            throw new ReportExportException("could not write report " + filePath, e);
+        }
+    }
+    /**
+     * Exports reports to a PDF file, composing the content of page-sized chunks of reports on a fork-join pool
+     * and appending the pages in order. Every page holds whole reports only.
+     *
+     * @param reports the reports to export
+     * @param filePath the path where the PDF will be saved
+     * @param title the title to be shown in the PDF
+     * @param rowFormatter formatter producing the lines of each report, with labels resolved for this export
+     * @param linesPerReport the number of lines produced by the formatter for each report
+     * @param parallelism the number of threads composing pages
+     * @param <T> the type of report
+     */
+    private <T> void exportToPDFInParallel(List<T> reports, String filePath, String title, RowFormatter<T> rowFormatter,
+                                           int linesPerReport, int parallelism) {
+        List<List<T>> chunks = splitIntoPages(reports, linesPerReport);
+        int threads = Math.max(1, parallelism);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try (PDDocument document = new PDDocument(MemoryUsageSetting.setupMixed(MAX_MAIN_MEMORY_BYTES).streamCache)) {
+            // created before any worker runs, so the font metrics are loaded once on this thread
+            PDResources resources = fontResources(Fonts.create());
+            int window = threads * PAGES_AHEAD_PER_THREAD;
+            for (int from = 0; from < chunks.size(); from += window) {
+                List<Future<byte[]>> pages = new ArrayList<>();
+                for (int i = from; i < Math.min(chunks.size(), from + window); i++) {
+                    List<T> chunk = chunks.get(i);
+                    boolean firstPage = i == 0;
+                    pages.add(pool.submit(() -> composePage(chunk, firstPage ? title : null, rowFormatter)));
+                }
+                for (Future<byte[]> page : pages) {
+                    appendPage(document, resources, page.get());
+                }
+            }
+            document.setDocumentId((long) title.hashCode());
+            document.save(new File(filePath));
+        } catch (IOException | ExecutionException e) {
+            throw new ReportExportException("could not write report " + filePath, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReportExportException("interrupted while writing report " + filePath, e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    /**
+     * Splits the reports into chunks that fit a page each, the first page leaving room for the title.
+     *
+     * @param reports the reports to export
+     * @param linesPerReport the number of lines printed for each report
+     * @return the chunks of reports, one per page, in order
+     * @param <T> the type of report
+     */
+    private static <T> List<List<T>> splitIntoPages(List<T> reports, int linesPerReport) {
+        float reportHeight = (linesPerReport + 1) * ROW_HEIGHT;
+        int firstPageCapacity = Math.max(1, (int) ((Y_START - ROW_HEIGHT - Y_MARGIN) / reportHeight));
+        int pageCapacity = Math.max(1, (int) ((Y_START - Y_MARGIN) / reportHeight));
+        List<List<T>> chunks = new ArrayList<>();
+        int from = 0;
+        int capacity = firstPageCapacity;
+        do {
+            int to = Math.min(reports.size(), from + capacity);
+            chunks.add(reports.subList(from, to));
+            from = to;
+            capacity = pageCapacity;
+        } while (from < reports.size());
+        return chunks;
+    }
+    /**
+     * Draws the reports of a single page into a document of its own and returns the compressed content stream.
+     * Only depends on its arguments, so pages can be composed concurrently.
+     *
+     * @param reports the reports printed on the page
+     * @param title the document title for the first page, or null for the others
+     * @param rowFormatter formatter producing the lines of each report
+     * @return the raw, flate-encoded content stream of the page
+     * @param <T> the type of report
+     */
+    private <T> byte[] composePage(List<T> reports, String title, RowFormatter<T> rowFormatter) {
+        try (PDDocument pageDocument = new PDDocument()) {
+            Fonts fonts = Fonts.create();
+            PDPage page = new PDPage();
+            page.setResources(fontResources(fonts));
+            pageDocument.addPage(page);
+            try (PDPageContentStream contentStream = new PDPageContentStream(pageDocument, page)) {
+                float yPosition = Y_START;
+                if (title != null) {
+                    setDocumentTitle(contentStream, fonts, title);
+                    yPosition -= ROW_HEIGHT;
+                }
+                for (T report : reports) {
+                    yPosition -= ROW_HEIGHT;
+                    drawTableLines(contentStream, X_START - 10, yPosition + 10, 0);
+                    for (String line : rowFormatter.format(report)) {
+                        yPosition -= ROW_HEIGHT;
+                        contentStream.beginText();
+                        contentStream.setFont(fonts.text(), 10);
+                        contentStream.newLineAtOffset(X_START, yPosition);
+                        contentStream.showText(line);
+                        contentStream.endText();
+                    }
+                    drawTableLines(contentStream, X_START - 10, yPosition - 10, 0);
+                }
+            }
+            try (InputStream content = page.getCOSObject().getCOSStream(COSName.CONTENTS).createRawInputStream()) {
+                return content.readAllBytes();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
+    /**
+     * Appends a page whose content stream was composed by {@link #composePage}.
+     *
+     * @param document the PDF document
+     * @param resources the font resources shared by every page of the document
+     * @param content the raw, flate-encoded content stream of the page
+     * @throws IOException if the content cannot be written
+     */
+    private static void appendPage(PDDocument document, PDResources resources, byte[] content) throws IOException {
+        COSStream stream = document.getDocument().createCOSStream();
+        try (OutputStream out = stream.createRawOutputStream()) {
+            out.write(content);
+        }
+        stream.setItem(COSName.FILTER, COSName.FLATE_DECODE);
+        PDPage page = new PDPage();
+        page.setResources(resources);
+        page.setContents(new PDStream(stream));
+        document.addPage(page);
+    }
+    /**
+     * Binds the fonts of a document to fixed resource names, so composed pages refer to them the same way.
+     *
+     * @param fonts the fonts of the document
+     * @return the font resources
+     */
+    private static PDResources fontResources(Fonts fonts) {
+        PDResources resources = new PDResources();
+        resources.put(TITLE_FONT, fonts.title());
+        resources.put(TEXT_FONT, fonts.text());
+        return resources;
+    }
     /**
      * Creates and returns a new PDPageContentStream for a new page.
      *
@@ -168,55 +386,59 @@ public class PDFExporter {
      * Writes the title of the PDF at the top of the page.
      *
      * @param contentStream the content stream to write on
+     * @param fonts the fonts of the document
      * @param title the title text
      * @throws IOException if writing fails
      */
-    private void setDocumentTitle(PDPageContentStream contentStream, String title) throws IOException {
+    private void setDocumentTitle(PDPageContentStream contentStream, Fonts fonts, String title) throws IOException {
         drawTableLines(contentStream, 30, 780, 50);
-        PDType1Font titleFont = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
-        contentStream.setFont(titleFont, 14);
+        contentStream.setFont(fonts.title(), 14);
         contentStream.beginText();
         contentStream.newLineAtOffset(280-title.length(), 750);
         contentStream.showText(title);
         contentStream.endText();
     }
     /**
-     * Formats a MovementReport into a semicolon-separated string.
+     * Creates the formatter of MovementReport rows, resolving the localized labels once.
      *
-     * @param report the movement report
-     * @return the formatted string
+     * @return a formatter producing one line per report field
      */
-    private String insertDataRowsMovementReport(MovementReport report) {
+    private RowFormatter<MovementReport> movementRowFormatter() {
         String[] header = createMovementReportHeader();
-        return header[0] + ": " + report.id() + ";" +
-                header[1] + ": " + report.title() + ";" +
-                header[2] + ": " + report.description() + ";" +
-                header[3] + ": " + report.type() + ";" +
-                header[4] + ": " + report.boardId() + ";" +
-                header[5] + ": " + report.columnBoardId() + ";" +
-                header[6] + ": " + (report.exitTime() !=null ? formatDateTime(report.exitTime()):"") + ";" +
-                header[7] + ": " + report.minutesSpent() + ";";
+        DateTimeFormatter formatter = createDateTimeFormatter();
+        return report -> new String[]{
+                header[0] + ": " + report.id(),
+                header[1] + ": " + report.title(),
+                header[2] + ": " + report.description(),
+                header[3] + ": " + report.type(),
+                header[4] + ": " + report.boardId(),
+                header[5] + ": " + report.columnBoardId(),
+                header[6] + ": " + formatDateTime(formatter, report.exitTime()),
+                header[7] + ": " + report.minutesSpent()
+        };
     }
     /**
-     * Formats a BlockUnblockReport into a semicolon-separated string.
+     * Creates the formatter of BlockUnblockReport rows, resolving the localized labels once.
      *
-     * @param report the block/unblock report
-     * @return the formatted string
+     * @return a formatter producing one line per report field
      */
-    private String insertDataRowsBlockUnblockReport(BlockUnblockReport report) {
+    private RowFormatter<BlockUnblockReport> blockUnblockRowFormatter() {
         String[] header = createBlockUnblockReportHeader();
-        return header[0] + ": " + report.id() + ";" +
-                header[1] + ": " + report.title() + ";" +
-                header[2] + ": " + report.description() + ";" +
-                header[3] + ": " + report.type() + ";" +
-                header[4] + ": " + report.boardId() + ";" +
-                header[5] + ": " + report.columnBoardId() + ";" +
-                header[6] + ": " + report.isBlocked() + ";" +
-                header[7] + ": " + report.blockedReason() + ";" +
-                header[8] + ": " + report.unblockedReason() + ";" +
-                header[9] + ": " + formatDateTime(report.lastBlockedDt()) + ";" +
-                header[10] + ": " + formatDateTime(report.lastUnblockedDt()) + ";" +
-                header[11] + ": " + report.secondsSpent() + ";";
+        DateTimeFormatter formatter = createDateTimeFormatter();
+        return report -> new String[]{
+                header[0] + ": " + report.id(),
+                header[1] + ": " + report.title(),
+                header[2] + ": " + report.description(),
+                header[3] + ": " + report.type(),
+                header[4] + ": " + report.boardId(),
+                header[5] + ": " + report.columnBoardId(),
+                header[6] + ": " + report.isBlocked(),
+                header[7] + ": " + report.blockedReason(),
+                header[8] + ": " + report.unblockedReason(),
+                header[9] + ": " + formatDateTime(formatter, report.lastBlockedDt()),
+                header[10] + ": " + formatDateTime(formatter, report.lastUnblockedDt()),
+                header[11] + ": " + report.secondsSpent()
+        };
     }
     /**
      * Creates an array of header labels for MovementReport fields.
@@ -256,15 +478,39 @@ public class PDFExporter {
                 messageService.getMessage("export.column.secondsSpent")
         };
     }
+    /**
+     * Creates the date-time formatter for the default locale, used by a whole export.
+     *
+     * @return a medium-style localized date-time formatter
+     */
+    private static DateTimeFormatter createDateTimeFormatter() {
+        return DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM).withLocale(Locale.getDefault());
+    }
     /**
      * formats date fields to default locale format.
      *
-     * @return a String representing the data provided formatted to the default locale
+     * @return a String representing the data provided formatted to the default locale, or an empty String when absent
+     */
+    private static String formatDateTime(DateTimeFormatter formatter, LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.format(formatter).replace('\u202F', ' ') : "";
+    }
+    /**
+     * The fonts of a single document.
+     */
+    private record Fonts(PDType1Font title, PDType1Font text) {
+        static Fonts create() {
+            return new Fonts(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD),
+                    new PDType1Font(Standard14Fonts.FontName.COURIER));
+        }
+    }
+    /**
+     * Formats a report into the lines printed for it in the PDF.
+     *
+     * @param <T> the type of report
      */
-    private String formatDateTime(LocalDateTime dateTime) {
-        Locale locale = Locale.getDefault(); // supondo que você tenha isso
-        DateTimeFormatter formatter = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM).withLocale(locale);
-        return dateTime.format(formatter).replace('\u202F', ' ');
+    @FunctionalInterface
+    private interface RowFormatter<T> {
+        String[] format(T report);
     }
 
 }
@@ -0,0 +1,172 @@
+package com.gag.board.util.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gag.board.dto.CardSpec;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+/**
+ * Reads card rows one line at a time from a CSV or NDJSON file through a buffered file channel,
+ * so memory use does not depend on the size of the file. Every row is validated as it is read.
+ */
+public class CardFileReader implements Closeable {
+    static final int BUFFER_SIZE = 64 * 1024;
+    /**
+     * Length of the title and description columns of the cards table.
+     */
+    static final int MAX_LENGTH = 255;
+
+    private final BufferedReader reader;
+    private final CardImportFormat format;
+    private final ObjectMapper objectMapper;
+    private long lineNumber;
+    /**
+     * A line of the file: either a valid card spec or the reason it was rejected.
+     *
+     * @param lineNumber 1-based line number in the file
+     * @param spec       the card to create, or null when rejected
+     * @param error      the rejection reason, or null when valid
+     */
+    public record Row(long lineNumber, CardSpec spec, String error) {
+        public boolean isValid() {
+            return error == null;
+        }
+    }
+
+    public CardFileReader(Path file, CardImportFormat format, ObjectMapper objectMapper) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+    /**
+     * Skips lines already processed by an earlier run.
+     *
+     * @param lines number of lines to skip
+     * @return the number of lines actually skipped
+     */
+    public long skip(long lines) throws IOException {
+        while (lineNumber < lines && reader.readLine() != null) {
+            lineNumber++;
+        }
+        return lineNumber;
+    }
+    /**
+     * Reads the next row, skipping blank lines and the CSV header.
+     *
+     * @return the next row, or null at the end of the file
+     */
+    public Row next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                line = line.substring(1);
+            }
+            if (line.isBlank() || (lineNumber == 1 && format == CardImportFormat.CSV && isCsvHeader(line))) {
+                continue;
+            }
+            return format == CardImportFormat.CSV ? parseCsv(line) : parseJson(line);
+        }
+        return null;
+    }
+    /**
+     * Number of lines consumed so far, including skipped and rejected ones.
+     *
+     * @return the current line number
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+    private Row parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields == null) {
+            return rejected("unterminated quoted field");
+        }
+        if (fields.size() > 2) {
+            return rejected("expected 2 fields but found " + fields.size());
+        }
+        return validated(fields.getFirst(), fields.size() > 1 ? fields.get(1) : null);
+    }
+    private Row parseJson(String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            if (node == null || !node.isObject()) {
+                return rejected("not a JSON object");
+            }
+            JsonNode description = node.get("description");
+            return validated(node.path("title").asText(null),
+                    description == null || description.isNull() ? null : description.asText());
+        } catch (JsonProcessingException e) {
+            return rejected("invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+    private Row validated(String title, String description) {
+        if (title == null || title.isBlank()) {
+            return rejected("title is required");
+        }
+        if (title.length() > MAX_LENGTH) {
+            return rejected("title is longer than " + MAX_LENGTH + " characters");
+        }
+        if (description != null && description.length() > MAX_LENGTH) {
+            return rejected("description is longer than " + MAX_LENGTH + " characters");
+        }
+        return new Row(lineNumber, new CardSpec(title.strip(), description), null);
+    }
+    private Row rejected(String error) {
+        return new Row(lineNumber, null, error);
+    }
+    private static boolean isCsvHeader(String line) {
+        List<String> fields = splitCsv(line);
+        return fields != null && !fields.isEmpty() && fields.getFirst().strip().equalsIgnoreCase("title");
+    }
+    /**
+     * Splits a CSV line, honouring double-quoted fields and doubled quotes inside them.
+     *
+     * @return the fields, or null when a quoted field is not closed on the same line
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(2);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,34 @@
+package com.gag.board.util.importer;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Optional;
+/**
+ * File formats accepted by the card importer.
+ */
+public enum CardImportFormat {
+    /**
+     * Comma separated {@code title,description}, with an optional header line and RFC 4180 quoting.
+     */
+    CSV,
+    /**
+     * One JSON object per line, e.g. {@code {"title": "...", "description": "..."}}.
+     */
+    NDJSON;
+    /**
+     * Picks the format from the file extension.
+     *
+     * @param file the file to import
+     * @return the format, or empty when the extension is not supported
+     */
+    public static Optional<CardImportFormat> fromFileName(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return Optional.of(CSV);
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return Optional.of(NDJSON);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,19 @@
+-- Enables the audit, column visit and block episode triggers in trigger mode and disables them in async mode, so
+-- exactly one of the triggers and the asynchronous writer records the history. Only these named triggers are
+-- switched; any other trigger on the tables is left as it is. The audit_mode placeholder is bound to
+-- board.audit.mode, and Flyway applies this script again whenever its value changes.
+DECLARE @action NVARCHAR(16) = CASE WHEN LOWER('${audit_mode}') = 'async' THEN N'DISABLE' ELSE N'ENABLE' END;
+DECLARE @sql NVARCHAR(MAX) = N'';
+
+SELECT @sql = @sql + @action + N' TRIGGER ' + QUOTENAME(t.name) + N' ON ' + QUOTENAME(OBJECT_NAME(t.parent_id)) + N';'
+FROM sys.triggers t
+WHERE t.parent_class = 1
+  AND t.name IN (
+      'trg_audit_insert_boards', 'trg_audit_update_boards', 'trg_audit_delete_boards',
+      'trg_audit_insert_board_columns', 'trg_audit_update_board_columns', 'trg_audit_delete_board_columns',
+      'trg_audit_insert_cards', 'trg_audit_update_cards', 'trg_audit_delete_cards',
+      'trg_dwell_insert_cards', 'trg_dwell_update_cards', 'trg_dwell_delete_cards',
+      'trg_block_insert_cards', 'trg_block_update_cards', 'trg_block_delete_cards'
+  );
+
+EXEC sp_executesql @sql;
@@ -0,0 +1,102 @@
+-- Time each card spent in each column it entered, one row per visit, kept up to date by the card audit path
+CREATE TABLE a_card_column_dwell (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    card_id BIGINT NOT NULL,
+    column_board_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    entered_dt DATETIME NOT NULL,
+    exited_dt DATETIME,
+    seconds_spent AS DATEDIFF(SECOND, entered_dt, exited_dt) PERSISTED
+);
+
+-- A card is in one column at a time: the open visit is found by card when the card moves
+CREATE UNIQUE NONCLUSTERED INDEX ux_a_card_column_dwell_open
+ON a_card_column_dwell (card_id)
+INCLUDE (column_board_id)
+WHERE exited_dt IS NULL;
+
+-- Movement report: visits of the board columns, by card and entry
+CREATE NONCLUSTERED INDEX ix_a_card_column_dwell_report
+ON a_card_column_dwell (column_board_id, card_id, entered_dt)
+INCLUDE (title, description, exited_dt, seconds_spent);
+
+GO
+-- Backfill from the history: a visit starts on every history row whose column differs from the previous row's
+WITH history AS (
+    SELECT id, card_id, column_board_id, title, description,
+           COALESCE(last_movement_dt, create_dt) AS entered_dt,
+           LAG(column_board_id) OVER (PARTITION BY card_id ORDER BY id) AS previous_column_board_id
+    FROM a_cards
+    WHERE card_id IS NOT NULL AND column_board_id IS NOT NULL
+), visits AS (
+    SELECT id, card_id, column_board_id, title, description, entered_dt
+    FROM history
+    WHERE previous_column_board_id IS NULL OR previous_column_board_id <> column_board_id
+)
+INSERT INTO a_card_column_dwell (card_id, column_board_id, title, description, entered_dt, exited_dt)
+SELECT card_id, column_board_id, title, description, entered_dt,
+       LEAD(entered_dt) OVER (PARTITION BY card_id ORDER BY id)
+FROM visits;
+
+GO
+-- Cards already deleted left their column when their last history row was written
+UPDATE dw
+SET dw.exited_dt = last_row.update_dt
+FROM a_card_column_dwell dw
+CROSS APPLY (SELECT TOP 1 COALESCE(update_dt, create_dt) AS update_dt FROM a_cards WHERE card_id = dw.card_id ORDER BY id DESC) last_row
+WHERE dw.exited_dt IS NULL
+  AND NOT EXISTS (SELECT 1 FROM cards c WHERE c.card_id = dw.card_id);
+
+GO
+-- Maintenance triggers. They are switched with the audit triggers, so in asynchronous audit mode
+-- the AuditLogWriter keeps the visits instead.
+CREATE TRIGGER trg_dwell_insert_cards
+ON cards
+AFTER INSERT
+AS
+BEGIN
+    SET NOCOUNT ON;
+    INSERT INTO a_card_column_dwell (card_id, column_board_id, title, description, entered_dt)
+    SELECT i.card_id, i.column_board_id, i.title, i.description, COALESCE(i.last_movement_dt, i.create_dt)
+    FROM inserted i
+    WHERE i.column_board_id IS NOT NULL;
+END;
+
+GO
+CREATE TRIGGER trg_dwell_update_cards
+ON cards
+AFTER UPDATE
+AS
+BEGIN
+    SET NOCOUNT ON;
+    IF NOT UPDATE(column_board_id) RETURN;
+    DECLARE @now DATETIME = GETDATE();
+
+    UPDATE dw
+    SET dw.exited_dt = COALESCE(i.last_movement_dt, @now)
+    FROM a_card_column_dwell dw
+    JOIN inserted i ON i.card_id = dw.card_id
+    WHERE dw.exited_dt IS NULL
+      AND (i.column_board_id IS NULL OR i.column_board_id <> dw.column_board_id);
+
+    INSERT INTO a_card_column_dwell (card_id, column_board_id, title, description, entered_dt)
+    SELECT i.card_id, i.column_board_id, i.title, i.description, COALESCE(i.last_movement_dt, @now)
+    FROM inserted i
+    WHERE i.column_board_id IS NOT NULL
+      AND NOT EXISTS (SELECT 1 FROM a_card_column_dwell dw WHERE dw.card_id = i.card_id AND dw.exited_dt IS NULL);
+END;
+
+GO
+CREATE TRIGGER trg_dwell_delete_cards
+ON cards
+AFTER DELETE
+AS
+BEGIN
+    SET NOCOUNT ON;
+    UPDATE dw
+    SET dw.exited_dt = GETDATE()
+    FROM a_card_column_dwell dw
+    JOIN deleted d ON d.card_id = dw.card_id
+    WHERE dw.exited_dt IS NULL;
+END;
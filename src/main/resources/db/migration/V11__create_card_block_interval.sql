@@ -0,0 +1,111 @@
+-- Block episodes of each card, one row per block, kept up to date by the card audit path
+CREATE TABLE a_card_block_interval (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    card_id BIGINT NOT NULL,
+    column_board_id BIGINT,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    blocked_reason VARCHAR(255),
+    unblocked_reason VARCHAR(255),
+    blocked_dt DATETIME NOT NULL,
+    unblocked_dt DATETIME,
+    seconds_blocked AS DATEDIFF(SECOND, blocked_dt, unblocked_dt) PERSISTED
+);
+
+GO
+-- Backfill from the history: every distinct last_blocked_dt of a card is one episode, closed by the first
+-- unblocked row that followed it, or by the next episode when the history lost the unblock
+WITH episodes AS (
+    SELECT card_id, last_blocked_dt,
+           MIN(id) AS block_id,
+           MIN(CASE WHEN is_blocked = 0 AND last_unblocked_dt >= last_blocked_dt THEN id END) AS unblock_id
+    FROM a_cards
+    WHERE card_id IS NOT NULL AND last_blocked_dt IS NOT NULL
+    GROUP BY card_id, last_blocked_dt
+)
+INSERT INTO a_card_block_interval (card_id, column_board_id, title, description, blocked_reason, unblocked_reason, blocked_dt, unblocked_dt)
+SELECT e.card_id, b.column_board_id, b.title, b.description, b.blocked_reason, u.unblocked_reason, e.last_blocked_dt,
+       COALESCE(u.last_unblocked_dt, LEAD(e.last_blocked_dt) OVER (PARTITION BY e.card_id ORDER BY e.last_blocked_dt))
+FROM episodes e
+JOIN a_cards b ON b.id = e.block_id
+LEFT JOIN a_cards u ON u.id = e.unblock_id;
+
+GO
+-- Cards already deleted stopped being blocked when their last history row was written
+UPDATE bi
+SET bi.unblocked_dt = last_row.update_dt
+FROM a_card_block_interval bi
+CROSS APPLY (SELECT TOP 1 COALESCE(update_dt, create_dt) AS update_dt FROM a_cards WHERE card_id = bi.card_id ORDER BY id DESC) last_row
+WHERE bi.unblocked_dt IS NULL
+  AND NOT EXISTS (SELECT 1 FROM cards c WHERE c.card_id = bi.card_id);
+
+GO
+-- A card has at most one open episode: found by card when the card is unblocked
+CREATE UNIQUE NONCLUSTERED INDEX ux_a_card_block_interval_open
+ON a_card_block_interval (card_id)
+WHERE unblocked_dt IS NULL;
+
+-- Cards blocked right now, by column, so a board reads only its own open episodes
+CREATE NONCLUSTERED INDEX ix_a_card_block_interval_blocked
+ON a_card_block_interval (column_board_id, blocked_dt)
+INCLUDE (card_id, title, blocked_reason)
+WHERE unblocked_dt IS NULL;
+
+-- Blocked report and blocked time per card: episodes of the board columns, by card
+CREATE NONCLUSTERED INDEX ix_a_card_block_interval_report
+ON a_card_block_interval (column_board_id, card_id, blocked_dt)
+INCLUDE (title, description, blocked_reason, unblocked_reason, unblocked_dt, seconds_blocked);
+
+GO
+-- Maintenance triggers. They are switched with the audit triggers, so in asynchronous audit mode
+-- the AuditLogWriter keeps the episodes instead.
+CREATE TRIGGER trg_block_insert_cards
+ON cards
+AFTER INSERT
+AS
+BEGIN
+    SET NOCOUNT ON;
+    INSERT INTO a_card_block_interval (card_id, column_board_id, title, description, blocked_reason, blocked_dt)
+    SELECT i.card_id, i.column_board_id, i.title, i.description, i.blocked_reason, COALESCE(i.last_blocked_dt, i.create_dt)
+    FROM inserted i
+    WHERE i.is_blocked <> 0;
+END;
+
+GO
+CREATE TRIGGER trg_block_update_cards
+ON cards
+AFTER UPDATE
+AS
+BEGIN
+    SET NOCOUNT ON;
+    IF NOT UPDATE(is_blocked) RETURN;
+    DECLARE @now DATETIME = GETDATE();
+
+    UPDATE bi
+    SET bi.unblocked_dt = COALESCE(i.last_unblocked_dt, @now),
+        bi.unblocked_reason = i.unblocked_reason
+    FROM a_card_block_interval bi
+    JOIN inserted i ON i.card_id = bi.card_id
+    WHERE bi.unblocked_dt IS NULL
+      AND i.is_blocked = 0;
+
+    INSERT INTO a_card_block_interval (card_id, column_board_id, title, description, blocked_reason, blocked_dt)
+    SELECT i.card_id, i.column_board_id, i.title, i.description, i.blocked_reason, COALESCE(i.last_blocked_dt, @now)
+    FROM inserted i
+    WHERE i.is_blocked <> 0
+      AND NOT EXISTS (SELECT 1 FROM a_card_block_interval bi WHERE bi.card_id = i.card_id AND bi.unblocked_dt IS NULL);
+END;
+
+GO
+CREATE TRIGGER trg_block_delete_cards
+ON cards
+AFTER DELETE
+AS
+BEGIN
+    SET NOCOUNT ON;
+    UPDATE bi
+    SET bi.unblocked_dt = GETDATE()
+    FROM a_card_block_interval bi
+    JOIN deleted d ON d.card_id = bi.card_id
+    WHERE bi.unblocked_dt IS NULL;
+END;
@@ -0,0 +1,10 @@
+-- Audit records the asynchronous writer could not write after its retries, kept as JSON to be replayed by hand
+CREATE TABLE a_audit_dead_letter (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    record_type VARCHAR(32) NOT NULL,
+    operation VARCHAR(16) NOT NULL,
+    entity_id BIGINT,
+    payload NVARCHAR(MAX) NOT NULL,
+    error NVARCHAR(MAX),
+    create_dt DATETIME NOT NULL
+);
@@ -0,0 +1,13 @@
+-- Trigger lookups: latest history row of an entity (TOP 1 ... ORDER BY id DESC)
+CREATE NONCLUSTERED INDEX ix_a_boards_board_id
+ON a_boards (board_id, id DESC)
+INCLUDE (create_dt);
+
+CREATE NONCLUSTERED INDEX ix_a_board_columns_column_board_id
+ON a_board_columns (column_board_id, id DESC)
+INCLUDE (create_dt);
+
+-- Report joins: columns of a board
+CREATE NONCLUSTERED INDEX ix_board_columns_board_id
+ON board_columns (board_id, column_board_id)
+INCLUDE (type);
@@ -0,0 +1,99 @@
+-- Latest audit state per card, read by the card triggers instead of scanning a_cards history
+CREATE TABLE a_cards_latest (
+    card_id BIGINT PRIMARY KEY,
+    create_dt DATETIME NOT NULL,
+    blocked_reason VARCHAR(255),
+    last_blocked_dt DATETIME
+);
+
+GO
+-- One pass over the history, as a_cards has no index by card: the latest row and the latest block of every card
+WITH ranked AS (
+    SELECT card_id, create_dt, blocked_reason, last_blocked_dt,
+           ROW_NUMBER() OVER (PARTITION BY card_id ORDER BY id DESC) AS latest_rank,
+           ROW_NUMBER() OVER (PARTITION BY card_id ORDER BY last_blocked_dt DESC) AS blocked_rank
+    FROM a_cards
+    WHERE card_id IS NOT NULL
+)
+INSERT INTO a_cards_latest (card_id, create_dt, blocked_reason, last_blocked_dt)
+SELECT latest.card_id, latest.create_dt, blocked.blocked_reason, blocked.last_blocked_dt
+FROM ranked latest
+JOIN ranked blocked ON blocked.card_id = latest.card_id AND blocked.blocked_rank = 1
+WHERE latest.latest_rank = 1;
+
+GO
+ALTER TRIGGER trg_audit_insert_cards
+ON cards
+AFTER INSERT
+AS
+BEGIN
+    SET NOCOUNT ON;
+    DECLARE @now DATETIME = GETDATE();
+
+    INSERT INTO a_cards (card_id, title, description, create_dt, update_dt, is_blocked, blocked_reason, unblocked_reason, last_blocked_dt, last_unblocked_dt, last_movement_dt, column_board_id)
+    SELECT i.card_id, i.title, i.description, @now, NULL, i.is_blocked, i.blocked_reason, i.unblocked_reason, i.last_blocked_dt, i.last_unblocked_dt, i.last_movement_dt, i.column_board_id
+    FROM inserted i;
+
+    INSERT INTO a_cards_latest (card_id, create_dt, blocked_reason, last_blocked_dt)
+    SELECT i.card_id, @now, i.blocked_reason, i.last_blocked_dt
+    FROM inserted i;
+END;
+
+GO
+ALTER TRIGGER trg_audit_update_cards
+ON cards
+AFTER UPDATE
+AS
+BEGIN
+    SET NOCOUNT ON;
+    INSERT INTO a_cards (card_id, title, description, create_dt, update_dt, is_blocked, blocked_reason, unblocked_reason, last_blocked_dt, last_unblocked_dt, last_movement_dt, column_board_id)
+    SELECT i.card_id, i.title, i.description,
+            l.create_dt,
+            GETDATE(), i.is_blocked,
+            CASE
+                WHEN i.is_blocked = 0 AND i.unblocked_reason IS NOT NULL
+                THEN l.blocked_reason
+                ELSE i.blocked_reason
+            END AS blocked_reason,
+
+            i.unblocked_reason,
+
+            CASE
+                WHEN i.is_blocked = 0 AND i.unblocked_reason IS NOT NULL
+                THEN l.last_blocked_dt
+                ELSE i.last_blocked_dt
+            END AS last_blocked_dt,
+           i.last_unblocked_dt, i.last_movement_dt, i.column_board_id
+    FROM inserted i
+    LEFT JOIN a_cards_latest l ON l.card_id = i.card_id;
+
+    -- Carry the most recent block forward, as the old ORDER BY last_blocked_dt DESC lookup did
+    UPDATE l
+    SET l.blocked_reason = i.blocked_reason,
+        l.last_blocked_dt = i.last_blocked_dt
+    FROM a_cards_latest l
+    JOIN inserted i ON i.card_id = l.card_id
+    WHERE NOT (i.is_blocked = 0 AND i.unblocked_reason IS NOT NULL)
+      AND i.last_blocked_dt IS NOT NULL
+      AND (l.last_blocked_dt IS NULL OR i.last_blocked_dt >= l.last_blocked_dt);
+END;
+
+GO
+ALTER TRIGGER trg_audit_delete_cards
+ON cards
+AFTER DELETE
+AS
+BEGIN
+    SET NOCOUNT ON;
+    INSERT INTO a_cards (card_id, title, description, create_dt, update_dt, is_blocked, blocked_reason, unblocked_reason, last_blocked_dt, last_unblocked_dt, last_movement_dt, column_board_id)
+    SELECT d.card_id, d.title, d.description,
+           l.create_dt,
+           GETDATE(), d.is_blocked, d.blocked_reason, d.unblocked_reason, d.last_blocked_dt, d.last_unblocked_dt, d.last_movement_dt, d.column_board_id
+    FROM deleted d
+    LEFT JOIN a_cards_latest l ON l.card_id = d.card_id;
+
+    DELETE l
+    FROM a_cards_latest l
+    JOIN deleted d ON d.card_id = l.card_id;
+END;
+GO
@@ -0,0 +1,10 @@
+-- Last committed chunk of each card import, updated in the same transaction as the chunk
+CREATE TABLE card_import_checkpoints (
+    import_key VARCHAR(450) PRIMARY KEY,
+    column_board_id BIGINT NOT NULL,
+    file_size BIGINT NOT NULL,
+    lines_committed BIGINT NOT NULL,
+    cards_imported BIGINT NOT NULL,
+    cards_rejected BIGINT NOT NULL,
+    update_dt DATETIME NOT NULL
+);
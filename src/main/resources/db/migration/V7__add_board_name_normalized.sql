@@ -0,0 +1,7 @@
+-- Board lookup by name: trimmed, lower-case copy of the name that an index can seek on.
+-- Names are not unique in the application, so the index is not either; the lowest board_id wins.
+ALTER TABLE boards ADD name_normalized AS LOWER(LTRIM(RTRIM(name))) PERSISTED;
+GO
+
+CREATE NONCLUSTERED INDEX ix_boards_name_normalized
+ON boards (name_normalized, board_id);
@@ -0,0 +1,12 @@
+-- Deleted boards are hidden at once and purged later in chunks
+ALTER TABLE boards ADD deleted_dt DATETIME NULL;
+GO
+
+-- Purge worker: boards waiting to be purged, oldest first
+CREATE NONCLUSTERED INDEX ix_boards_deleted_dt
+ON boards (deleted_dt)
+WHERE deleted_dt IS NOT NULL;
+
+-- Purge and working set: cards of a column
+CREATE NONCLUSTERED INDEX ix_cards_column_board_id
+ON cards (column_board_id);
@@ -0,0 +1,4 @@
+-- Row versions checked by Hibernate on every update of a card or column
+ALTER TABLE cards ADD version BIGINT NOT NULL CONSTRAINT df_cards_version DEFAULT 0;
+
+ALTER TABLE board_columns ADD version BIGINT NOT NULL CONSTRAINT df_board_columns_version DEFAULT 0;
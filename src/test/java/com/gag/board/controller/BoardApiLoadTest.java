@@ -0,0 +1,75 @@
+package com.gag.board.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+/**
+ * Load test of the HTTP API against a running application, e.g.
+ * {@code mvn test -Dtest=BoardApiLoadTest -Dboard.loadtest.url=http://localhost:8081 -Dboard.loadtest.board-id=1}.
+ * Skipped unless {@code board.loadtest.url} is set. Fails on any failed request, or when the throughput stays
+ * below {@code board.loadtest.min-rps} requests per second.
+ */
+@EnabledIfSystemProperty(named = "board.loadtest.url", matches = ".+")
+class BoardApiLoadTest {
+    private static final Logger log = LoggerFactory.getLogger(BoardApiLoadTest.class);
+
+    @Test
+    void shouldSustainConcurrentCardListings() throws Exception {
+        //given
+        String url = System.getProperty("board.loadtest.url");
+        long boardId = Long.getLong("board.loadtest.board-id", 1L);
+        int concurrency = Integer.getInteger("board.loadtest.concurrency", 500);
+        Duration duration = Duration.ofSeconds(Long.getLong("board.loadtest.seconds", 30L));
+        long minRequestsPerSecond = Long.getLong("board.loadtest.min-rps", 1L);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/api/boards/" + boardId + "/cards")).GET().build();
+        LongAdder succeeded = new LongAdder();
+        LongAdder failed = new LongAdder();
+        //when
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder().executor(clients).build()) {
+            List<Future<?>> workers = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            (response.statusCode() == 200 ? succeeded : failed).increment();
+                        } catch (Exception e) {
+                            failed.increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        double requestsPerSecond = succeeded.sum() / seconds;
+        //then
+        log.info("{} clients: {} requests in {}s, {} req/s, {} failed", concurrency, succeeded.sum(),
+                String.format("%.1f", seconds), String.format("%.0f", requestsPerSecond), failed.sum());
+        assertEquals(0, failed.sum(), "failed requests");
+        assertTrue(requestsPerSecond >= minRequestsPerSecond,
+                "throughput of " + requestsPerSecond + " req/s is below " + minRequestsPerSecond + " req/s");
+    }
+}
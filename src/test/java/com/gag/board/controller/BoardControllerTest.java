@@ -0,0 +1,136 @@
+package com.gag.board.controller;
+
+import com.gag.board.dto.CardCommandResult;
+import com.gag.board.dto.CardSummary;
+import com.gag.board.entity.Board;
+import com.gag.board.entity.BoardColumn;
+import com.gag.board.service.BoardColumnService;
+import com.gag.board.service.BoardService;
+import com.gag.board.service.CardCommandService;
+import com.gag.board.service.CardService;
+import com.gag.board.service.MessageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class BoardControllerTest {
+    @Mock
+    private BoardService boardService;
+    @Mock
+    private BoardColumnService boardColumnService;
+    @Mock
+    private CardService cardService;
+    @Mock
+    private CardCommandService cardCommandService;
+    @Mock
+    private MessageService messageService;
+
+    @InjectMocks
+    private BoardController boardController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(boardController).build();
+    }
+    @Test
+    void shouldCreateBoardWithCardsInTheFirstColumn() throws Exception {
+        //given
+        Board board = new Board();
+        board.setId(1L);
+        board.setName("API");
+        List<BoardColumn> columns = new ArrayList<>(List.of(new BoardColumn(), new BoardColumn(), new BoardColumn()));
+        Mockito.when(boardService.addBoard("API")).thenReturn(board);
+        Mockito.when(boardColumnService.generateBoardColumns(3, board)).thenReturn(columns);
+        Mockito.when(cardService.generateCards(Mockito.anyList(), Mockito.eq(columns.getFirst()))).thenReturn(List.of());
+        //when
+        mockMvc.perform(post("/api/boards").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"API\",\"columns\":3,\"cards\":[{\"title\":\"a\",\"description\":\"b\"}]}"))
+        //then
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(1));
+        verify(boardService).create(board);
+    }
+    @Test
+    void shouldRejectBoardWithLessThanThreeColumns() throws Exception {
+        //when
+        mockMvc.perform(post("/api/boards").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"API\",\"columns\":2}"))
+        //then
+                .andExpect(status().isBadRequest());
+        Mockito.verifyNoInteractions(boardService);
+    }
+    @Test
+    void shouldListCardsOfExistingBoard() throws Exception {
+        //given
+        Mockito.when(boardService.resolveBoard("1")).thenReturn(Optional.of(new Board()));
+        Mockito.when(cardService.listCards(1L)).thenReturn(List.of(new CardSummary(5L, "title", "desc", false, 10L, "Initial")));
+        //when
+        mockMvc.perform(get("/api/boards/1/cards"))
+        //then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(5))
+                .andExpect(jsonPath("$[0].columnName").value("Initial"));
+    }
+    @Test
+    void shouldAnswerNotFoundForUnknownBoard() throws Exception {
+        //given
+        Mockito.when(boardService.resolveBoard("9")).thenReturn(Optional.empty());
+        //when
+        mockMvc.perform(get("/api/boards/9/cards"))
+        //then
+                .andExpect(status().isNotFound());
+    }
+    @Test
+    void shouldMapCardCommandOutcomeToStatus() throws Exception {
+        //given
+        Mockito.when(cardCommandService.move(1L, 5L)).thenReturn(CardCommandResult.MOVED);
+        Mockito.when(cardCommandService.block(1L, 5L, "waiting")).thenReturn(CardCommandResult.ALREADY_BLOCKED);
+        Mockito.when(messageService.getMessage(Mockito.anyString())).thenReturn("message");
+        //when
+        mockMvc.perform(post("/api/boards/1/cards/5/move"))
+        //then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value("MOVED"));
+        mockMvc.perform(post("/api/boards/1/cards/5/block").contentType(MediaType.APPLICATION_JSON).content("{\"reason\":\"waiting\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.result").value("ALREADY_BLOCKED"));
+    }
+    @Test
+    void shouldApplyBulkOperationToTheCardsMatchingTheFilter() throws Exception {
+        //given
+        Map<Long, CardCommandResult> outcomes = new LinkedHashMap<>();
+        outcomes.put(5L, CardCommandResult.BLOCKED);
+        outcomes.put(6L, CardCommandResult.ALREADY_BLOCKED);
+        Mockito.when(boardService.resolveBoard("1")).thenReturn(Optional.of(new Board()));
+        Mockito.when(cardService.findCardIds(1L, 2L, null)).thenReturn(List.of(5L, 6L));
+        Mockito.when(cardService.blockCards(1L, List.of(5L, 6L), "outage")).thenReturn(outcomes);
+        //when
+        mockMvc.perform(post("/api/boards/1/cards/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operation\":\"BLOCK\",\"columnId\":2,\"reason\":\"outage\"}"))
+        //then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.5").value("BLOCKED"))
+                .andExpect(jsonPath("$.6").value("ALREADY_BLOCKED"));
+    }
+}
@@ -0,0 +1,51 @@
+package com.gag.board.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityIdentityTest {
+
+    @Test
+    void persistedEntitiesShouldHashByTheirId() {
+        //given
+        Set<Integer> hashes = new HashSet<>();
+        //when
+        for (long id = 1; id <= 100; id++) {
+            Card card = new Card();
+            card.setId(id);
+            hashes.add(card.hashCode());
+        }
+        //then
+        assertEquals(100, hashes.size());
+    }
+    @Test
+    void transientEntitiesShouldOnlyEqualThemselves() {
+        //given
+        Card card = new Card();
+        Set<Card> cards = new HashSet<>();
+        //when
+        cards.add(card);
+        //then
+        assertTrue(cards.contains(card));
+        assertFalse(cards.contains(new Card()));
+    }
+    @Test
+    void entitiesShouldBeEqualOnlyWhenTheyShareAnAssignedId() {
+        //given
+        Card first = new Card();
+        Card second = new Card();
+        //when //then
+        assertNotEquals(first, second);
+        first.setId(1L);
+        second.setId(1L);
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        BoardColumn column = new BoardColumn();
+        column.setId(1L);
+        assertNotEquals(first, column);
+    }
+}
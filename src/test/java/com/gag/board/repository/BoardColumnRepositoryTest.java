@@ -0,0 +1,133 @@
+package com.gag.board.repository;
+
+import com.gag.board.dto.ColumnDefinition;
+import com.gag.board.dto.ColumnSummary;
+import com.gag.board.entity.Board;
+import com.gag.board.entity.BoardColumn;
+import com.gag.board.entity.Card;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * N+1 regression test: loading the working set of a board must cost one statement, whatever its size.
+ * Runs on an in-memory H2 database with the schema generated from the entities; the SQL Server migrations are not applied.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.data.jpa.repositories.bootstrap-mode=lazy"
+})
+class BoardColumnRepositoryTest {
+    @Autowired
+    private BoardColumnRepository boardColumnRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findWorkingSetByBoardId_loadsBoardColumnsAndCardsInOneStatement() {
+        // given
+        Long boardId = persistBoard(5, 20);
+        persistBoard(3, 2);
+        entityManager.clear();
+        statistics.clear();
+
+        // when
+        List<BoardColumn> columns = boardColumnRepository.findWorkingSetByBoardId(boardId);
+        int cards = 0;
+        for (BoardColumn column : columns) {
+            assertEquals(boardId, column.getBoard().getId());
+            assertNotNull(column.getBoard().getName());
+            for (Card card : column.getCardList()) {
+                assertSame(column, card.getBoardColumn());
+                cards++;
+            }
+        }
+
+        // then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(5, columns.size());
+        assertEquals(100, cards);
+        assertEquals(List.of(0, 1, 2, 3, 4), columns.stream().map(BoardColumn::getBoard_order).toList());
+    }
+
+    @Test
+    void findSummariesByBoardId_countsCardsWithoutLoadingEntities() {
+        // given
+        Long boardId = persistBoard(3, 4);
+        entityManager.clear();
+        statistics.clear();
+
+        // when
+        List<ColumnSummary> columns = boardColumnRepository.findSummariesByBoardId(boardId);
+
+        // then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(List.of(4L, 4L, 4L), columns.stream().map(ColumnSummary::cardCount).toList());
+        assertEquals("column 0", columns.getFirst().name());
+    }
+
+    @Test
+    void findDefinitionsByBoardId_readsColumnsInBoardOrderWithoutLoadingEntities() {
+        // given
+        Long boardId = persistBoard(3, 1);
+        entityManager.clear();
+        statistics.clear();
+
+        // when
+        List<ColumnDefinition> columns = boardColumnRepository.findDefinitionsByBoardId(boardId);
+
+        // then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(List.of(0, 1, 2), columns.stream().map(ColumnDefinition::boardOrder).toList());
+        assertEquals("column 0", columns.getFirst().name());
+    }
+
+    private Long persistBoard(int columnCount, int cardsPerColumn) {
+        Board board = new Board();
+        board.setName("board " + columnCount);
+        board.setCreateDt(OffsetDateTime.now());
+        List<BoardColumn> columns = new ArrayList<>();
+        for (int order = columnCount - 1; order >= 0; order--) {
+            BoardColumn column = new BoardColumn();
+            column.setBoard(board);
+            column.setName("column " + order);
+            column.setBoard_order(order);
+            column.setType('P');
+            column.setCreateDt(OffsetDateTime.now());
+            List<Card> cards = new ArrayList<>();
+            for (int i = 0; i < cardsPerColumn; i++) {
+                cards.add(new Card("card " + i, "desc", OffsetDateTime.now(), null, false, column));
+            }
+            column.setCardList(cards);
+            columns.add(column);
+        }
+        board.setBoardColumns(columns);
+        entityManager.persist(board);
+        entityManager.flush();
+        return board.getId();
+    }
+}
@@ -1,22 +1,28 @@
 package com.gag.board.service;
 
+import com.gag.board.config.CacheConfig;
+import com.gag.board.dto.ColumnDefinition;
 import com.gag.board.entity.Board;
 import com.gag.board.entity.BoardColumn;
 import com.gag.board.repository.BoardColumnRepository;
 import com.gag.board.repository.BoardRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,17 +31,22 @@ public class BoardColumnServiceTest {
     @Mock
     BoardColumnRepository boardColumnRepository;
 
-    @InjectMocks
+    CacheManager cacheManager;
+
     BoardColumnService boardColumnService;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.BOARD_COLUMNS);
+        boardColumnService = new BoardColumnService(boardColumnRepository, cacheManager);
+    }
 @Test
-    void shouldReturnListOfBoardColumnsByBoardIdWhenIdExists() {
+    void shouldReturnColumnDefinitionsByBoardIdWhenIdExists() {
         // given
-        List<BoardColumn> boardColumnListMock = new ArrayList<>(1);
-        boardColumnListMock.addFirst(new BoardColumn());
-        Mockito.when(boardColumnRepository.findByBoard_Id(1L))
-                .thenReturn(boardColumnListMock);
+        Mockito.when(boardColumnRepository.findDefinitionsByBoardId(1L))
+                .thenReturn(List.of(definition(10L, 0)));
         // when
-        List<BoardColumn> boardColumnList = boardColumnService.findByBoard_Id(1L);
+        List<ColumnDefinition> boardColumnList = boardColumnService.findLayout(1L).columns();
         // then
         assertNotNull(boardColumnList);
         assertEquals(1,boardColumnList.size());
@@ -51,5 +62,70 @@ public class BoardColumnServiceTest {
         assertNotNull(boardColumns);
         assertEquals(3, boardColumns.size());
     }
+    @Test
+    void shouldFollowBoardOrderWhenColumnIdsAreNotConsecutive() {
+        // given
+        List<BoardColumn> columns = List.of(column(40L, 0), column(7L, 1), column(91L, 2), column(12L, 3));
+        Mockito.when(boardColumnRepository.findDefinitionsByBoardId(1L))
+                .thenReturn(List.of(definition(40L, 0), definition(7L, 1), definition(91L, 2), definition(12L, 3)));
+        Mockito.when(boardColumnRepository.findWorkingSetByBoardId(1L)).thenReturn(columns);
+        // when
+        ColumnTransitions transitions = boardColumnService.findWorkingSet(1L).getTransitions();
+        // then
+        assertEquals(7L, transitions.nextColumnId(columns.get(0)));
+        assertEquals(91L, transitions.nextColumnId(columns.get(1)));
+        assertNull(transitions.nextColumnId(columns.get(2)));
+        assertNull(transitions.nextColumnId(columns.get(3)));
+        assertEquals(12L, transitions.cancelColumnId());
+    }
+    @Test
+    void shouldBuildTransitionsOncePerCachedLayout() {
+        // given
+        Mockito.when(boardColumnRepository.findDefinitionsByBoardId(1L))
+                .thenReturn(List.of(definition(1L, 0), definition(2L, 1), definition(3L, 2)));
+        Mockito.when(boardColumnRepository.findWorkingSetByBoardId(1L))
+                .thenReturn(List.of(column(1L, 0), column(2L, 1), column(3L, 2)));
+        // when
+        ColumnTransitions first = boardColumnService.findLayout(1L).transitions();
+        ColumnTransitions second = boardColumnService.findWorkingSet(1L).getTransitions();
+        // then
+        assertSame(first, second);
+        verify(boardColumnRepository).findDefinitionsByBoardId(1L);
+    }
+    @Test
+    void shouldRebuildTransitionsWhenTheLayoutIsEvicted() {
+        // given
+        List<ColumnDefinition> columns = List.of(definition(1L, 0), definition(2L, 1), definition(3L, 2));
+        List<ColumnDefinition> changedColumns = List.of(definition(1L, 0), definition(2L, 1), definition(4L, 2), definition(3L, 3));
+        Mockito.when(boardColumnRepository.findDefinitionsByBoardId(1L)).thenReturn(columns, changedColumns);
+        ColumnTransitions first = boardColumnService.findLayout(1L).transitions();
+        // when
+        cacheManager.getCache(CacheConfig.BOARD_COLUMNS).evict(1L);
+        ColumnTransitions rebuilt = boardColumnService.findLayout(1L).transitions();
+        // then
+        assertNotSame(first, rebuilt);
+        assertEquals(4L, rebuilt.nextColumnId(changedColumns.get(1)));
+    }
 
+    @Test
+    void shouldReferenceColumnWithoutReadingIt() {
+        // given
+        BoardColumn reference = column(10L, 0);
+        Mockito.when(boardColumnRepository.getReferenceById(10L)).thenReturn(reference);
+        // when
+        BoardColumn column = boardColumnService.getReference(10L);
+        // then
+        assertSame(reference, column);
+        verify(boardColumnRepository, Mockito.never()).findById(10L);
+    }
+
+    private static ColumnDefinition definition(long id, int order) {
+        return new ColumnDefinition(id, "column_" + id, order, 'P');
+    }
+    private static BoardColumn column(long id, int order) {
+        BoardColumn column = new BoardColumn();
+        column.setId(id);
+        column.setBoard_order(order);
+        return column;
+    }
 }
@@ -0,0 +1,80 @@
+package com.gag.board.service;
+
+import com.gag.board.service.audit.AuditLogWriter;
+import com.gag.board.service.audit.AuditOperation;
+import com.gag.board.service.audit.AuditRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class BoardPurgeServiceTest {
+    private static final String DELETE_CARDS = BoardPurgeService.DELETE_CARDS.formatted("");
+    private static final String DELETE_COLUMNS = BoardPurgeService.DELETE_COLUMNS.formatted("");
+    private static final String DELETE_BOARD = BoardPurgeService.DELETE_BOARD.formatted("");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ObjectProvider<AuditLogWriter> auditLogWriter;
+    @Mock
+    private AuditLogWriter writer;
+
+    private BoardPurgeService boardPurgeService;
+
+    @BeforeEach
+    void setUp() {
+        boardPurgeService = new BoardPurgeService(jdbcTemplate, transactionManager, auditLogWriter, 2);
+    }
+    @Test
+    void purge_shouldDeleteCardsThenColumnsThenBoardInChunks() {
+        //given
+        Mockito.when(jdbcTemplate.update(Mockito.eq(DELETE_CARDS), Mockito.any(Object[].class))).thenReturn(2, 2, 1);
+        Mockito.when(jdbcTemplate.update(Mockito.eq(DELETE_COLUMNS), Mockito.any(Object[].class))).thenReturn(2, 0);
+        Mockito.when(jdbcTemplate.update(Mockito.eq(DELETE_BOARD), Mockito.any(Object[].class))).thenReturn(1);
+        //when
+        boardPurgeService.purge(5L);
+        //then
+        InOrder order = Mockito.inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate, Mockito.times(3)).update(DELETE_CARDS, 2, 5L);
+        order.verify(jdbcTemplate, Mockito.times(2)).update(DELETE_COLUMNS, 2, 5L);
+        order.verify(jdbcTemplate).update(DELETE_BOARD, 5L);
+        Mockito.verify(transactionManager, Mockito.times(6)).commit(Mockito.any());
+        assertFalse(DELETE_CARDS.contains("OUTPUT"));
+    }
+    @Test
+    void purge_shouldQueueDeletedRowsWhenAuditIsAsynchronous() {
+        //given
+        AuditRecord card = new AuditRecord.CardRecord(AuditOperation.DELETE, 1L, "title", null, false, null, null,
+                null, null, null, 3L, OffsetDateTime.now());
+        Mockito.when(auditLogWriter.getIfAvailable()).thenReturn(writer);
+        Mockito.when(jdbcTemplate.query(Mockito.anyString(), Mockito.<RowMapper<AuditRecord>>any(), Mockito.any(Object[].class)))
+                .thenReturn(List.of(card))
+                .thenReturn(Collections.emptyList());
+        //when
+        boardPurgeService.purge(5L);
+        //then
+        Mockito.verify(writer).enqueueAfterCommit(List.of(card));
+        Mockito.verify(jdbcTemplate).query(Mockito.argThat(sql -> sql.contains("DELETE TOP (?) FROM cards OUTPUT deleted.card_id")),
+                Mockito.<RowMapper<AuditRecord>>any(), Mockito.any(Object[].class));
+        Mockito.verify(jdbcTemplate, Mockito.never()).update(Mockito.anyString(), Mockito.any(Object[].class));
+        assertTrue(BoardPurgeService.DELETE_BOARD.formatted(BoardPurgeService.BOARD_OUTPUT).contains("OUTPUT deleted.board_id"));
+    }
+}
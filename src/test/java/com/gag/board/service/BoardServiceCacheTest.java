@@ -0,0 +1,150 @@
+package com.gag.board.service;
+
+import com.gag.board.config.CacheConfig;
+import com.gag.board.dto.ColumnDefinition;
+import com.gag.board.entity.Board;
+import com.gag.board.repository.BoardBulkRepository;
+import com.gag.board.repository.BoardColumnRepository;
+import com.gag.board.repository.BoardRepository;
+import com.gag.board.service.audit.AuditLogWriter;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringJUnitConfig(BoardServiceCacheTest.Config.class)
+class BoardServiceCacheTest {
+
+    @Configuration
+    @Import(CacheConfig.class)
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfig.BOARD_COLUMNS, CacheConfig.BOARD_IDS);
+            cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100).recordStats());
+            return cacheManager;
+        }
+        @Bean
+        BoardRepository boardRepository() {
+            return Mockito.mock(BoardRepository.class);
+        }
+        @Bean
+        BoardColumnRepository boardColumnRepository() {
+            return Mockito.mock(BoardColumnRepository.class);
+        }
+        @Bean
+        @SuppressWarnings("unchecked")
+        BoardService boardService(BoardRepository boardRepository, CacheManager cacheManager) {
+            return new BoardService(boardRepository, Mockito.mock(CardService.class), Mockito.mock(BoardBulkRepository.class),
+                    Mockito.mock(ObjectProvider.class), cacheManager);
+        }
+        @Bean
+        BoardColumnService boardColumnService(BoardColumnRepository boardColumnRepository, CacheManager cacheManager) {
+            return new BoardColumnService(boardColumnRepository, cacheManager);
+        }
+    }
+
+    @Autowired
+    private BoardService boardService;
+    @Autowired
+    private BoardColumnService boardColumnService;
+    @Autowired
+    private BoardRepository boardRepository;
+    @Autowired
+    private BoardColumnRepository boardColumnRepository;
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        Mockito.reset(boardRepository, boardColumnRepository);
+    }
+    @Test
+    void shouldServeRepeatedNameLookupsThroughCachedId() {
+        //given
+        Board board = new Board();
+        board.setId(1L);
+        ReflectionTestUtils.setField(board, "nameNormalized", "my board");
+        Mockito.when(boardRepository.findFirstByNameNormalizedOrderByIdAsc("my board")).thenReturn(Optional.of(board));
+        Mockito.when(boardRepository.findById(1L)).thenReturn(Optional.of(board));
+        //when
+        boardService.resolveBoard("My Board");
+        Optional<Board> cached = boardService.resolveBoard("my board");
+        //then
+        assertEquals(Optional.of(board), cached);
+        verify(boardRepository, times(1)).findFirstByNameNormalizedOrderByIdAsc("my board");
+        verify(boardRepository).findById(1L);
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfig.BOARD_IDS);
+        assertEquals(1, cache.getNativeCache().stats().hitCount());
+        assertEquals(1, cache.getNativeCache().stats().missCount());
+    }
+    @Test
+    void shouldCacheIdsAndColumnDefinitionsInsteadOfEntities() {
+        //given
+        Board board = new Board();
+        board.setId(1L);
+        Mockito.when(boardRepository.findFirstByNameNormalizedOrderByIdAsc("my board")).thenReturn(Optional.of(board));
+        Mockito.when(boardColumnRepository.findDefinitionsByBoardId(1L)).thenReturn(List.of(new ColumnDefinition(10L, "Initial", 0, 'I')));
+        //when
+        boardService.resolveBoard("My Board");
+        boardColumnService.findLayout(1L);
+        //then
+        assertEquals(1L, cacheManager.getCache(CacheConfig.BOARD_IDS).get("my board", Long.class));
+        ColumnLayout layout = cacheManager.getCache(CacheConfig.BOARD_COLUMNS).get(1L, ColumnLayout.class);
+        assertEquals(List.of(new ColumnDefinition(10L, "Initial", 0, 'I')), layout.columns());
+    }
+    @Test
+    void shouldEvictBoardIdAndColumnsWhenBoardIsDeleted() {
+        //given
+        Board board = new Board();
+        board.setId(1L);
+        board.setName("My Board");
+        Mockito.when(boardRepository.findFirstByNameNormalizedOrderByIdAsc("my board")).thenReturn(Optional.of(board));
+        Mockito.when(boardColumnRepository.findDefinitionsByBoardId(1L)).thenReturn(List.of());
+        boardService.resolveBoard("My Board");
+        boardColumnService.findLayout(1L);
+        //when
+        boardService.delete(board);
+        boardService.resolveBoard("My Board");
+        boardColumnService.findLayout(1L);
+        //then
+        verify(boardRepository, times(2)).findFirstByNameNormalizedOrderByIdAsc("my board");
+        verify(boardColumnRepository, times(2)).findDefinitionsByBoardId(1L);
+    }
+    @Test
+    void shouldKeepCachedBoardIdWhenAnotherBoardIsCreated() {
+        //given
+        Board board = new Board();
+        board.setId(3L);
+        board.setName("Sprint");
+        ReflectionTestUtils.setField(board, "nameNormalized", "sprint");
+        Mockito.when(boardRepository.findFirstByNameNormalizedOrderByIdAsc("sprint")).thenReturn(Optional.of(board));
+        Mockito.when(boardRepository.findById(3L)).thenReturn(Optional.of(board));
+        boardService.resolveBoard(" Sprint ");
+        //when
+        boardService.create(new Board());
+        Optional<Board> resolved = boardService.resolveBoard("SPRINT");
+        //then
+        assertEquals(Optional.of(board), resolved);
+        verify(boardRepository, times(1)).findFirstByNameNormalizedOrderByIdAsc("sprint");
+        verify(boardRepository).findById(3L);
+    }
+}
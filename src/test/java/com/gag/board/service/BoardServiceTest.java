@@ -1,15 +1,21 @@
 package com.gag.board.service;
 
+import com.gag.board.config.CacheConfig;
 import com.gag.board.dto.BlockUnblockReport;
 import com.gag.board.dto.MovementReport;
 import com.gag.board.entity.Board;
+import com.gag.board.repository.BoardBulkRepository;
 import com.gag.board.repository.BoardRepository;
+import com.gag.board.service.audit.AuditLogWriter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
@@ -27,6 +33,14 @@ class BoardServiceTest {
     private BoardRepository boardRepository;
     @Mock
     private CardService cardService;
+    @Mock
+    private BoardBulkRepository boardBulkRepository;
+    @Mock
+    private ObjectProvider<AuditLogWriter> auditLogWriter;
+    @Mock
+    private CacheManager cacheManager;
+    @Mock
+    private Cache boardIds;
 
     @InjectMocks
     private BoardService boardService;
@@ -38,11 +52,21 @@ class BoardServiceTest {
         Mockito.verify(boardRepository).save(board);
     }
     @Test
-    void delete_shouldCallBoardRepositoryDelete() {
+    void create_shouldInsertTheBoardGraphInBulk() {
+        Board board = new Board();
+        boardService.create(board);
+
+        Mockito.verify(boardBulkRepository).insert(board);
+        Mockito.verify(boardRepository, Mockito.never()).save(board);
+    }
+    @Test
+    void delete_shouldOnlyMarkTheBoardAsDeleted() {
         Board board = new Board();
+        board.setId(1L);
         boardService.delete(board);
 
-        Mockito.verify(boardRepository).delete(board);
+        Mockito.verify(boardRepository).markDeleted(Mockito.eq(1L), Mockito.any(OffsetDateTime.class));
+        Mockito.verify(boardRepository, Mockito.never()).delete(board);
     }
     @Test
     void addBoard_shouldCreateBoardWithNameAndDate() {
@@ -55,33 +79,6 @@ class BoardServiceTest {
         assertTrue(board.getCreateDt().isBefore(OffsetDateTime.now().plusSeconds(1)));
     }
     @Test
-    void shouldReturnBoardWhenIdOrNameExists() {
-        // given
-        Board mockBoard = new Board();
-        mockBoard.setId(1L);
-        mockBoard.setName("My Board");
-
-        Mockito.when(boardRepository.findByIdOrNameIgnoreCase(1L,"My Board"))
-                .thenReturn(Optional.of(mockBoard));
-        // when
-        Optional<Board> board = boardService.findByIdOrNameIgnoreCase(1L,"My Board");
-        // then
-        assertNotNull(board);
-        assertEquals("My Board", board.get().getName());
-
-    }
-    @Test
-    void shouldReturnTrueWhenIdOrNameExists(){
-        //given
-        Board mockBoard = new Board();
-        mockBoard.setId(1L);
-        mockBoard.setName("My Board");
-        // when
-        Mockito.when(boardService.existsByIdOrNameIgnoreCase(mockBoard.getId(), mockBoard.getName())).thenReturn(true);
-        //Then
-        assertTrue(boardService.existsByIdOrNameIgnoreCase(1L, "My Board"));
-    }
-    @Test
     void getMovementReport_shouldDelegateToCardService() {
         long boardId = 1L;
         List<MovementReport> mockReports = List.of(new MovementReport(
@@ -127,4 +124,41 @@ class BoardServiceTest {
         assertEquals(mockReports, result);
         Mockito.verify(cardService).getBlockedReport(boardId);
     }
+    @Test
+    void resolveBoard_shouldReadNumericInputById() {
+        Board board = new Board();
+        Mockito.when(boardRepository.findById(7L)).thenReturn(Optional.of(board));
+
+        assertEquals(Optional.of(board), boardService.resolveBoard(" 7 "));
+        Mockito.verifyNoInteractions(cacheManager);
+    }
+    @Test
+    void resolveBoard_shouldReadNameThroughNormalizedIndexAndRememberItsId() {
+        Board board = new Board();
+        board.setId(4L);
+        Mockito.when(cacheManager.getCache(CacheConfig.BOARD_IDS)).thenReturn(boardIds);
+        Mockito.when(boardRepository.findFirstByNameNormalizedOrderByIdAsc("my board")).thenReturn(Optional.of(board));
+
+        assertEquals(Optional.of(board), boardService.resolveBoard("My Board "));
+        Mockito.verify(boardIds).put("my board", 4L);
+        Mockito.verify(boardRepository, Mockito.never()).findById(Mockito.anyLong());
+    }
+    @Test
+    void resolveBoard_shouldDropCachedIdWhenBoardWasRenamed() {
+        Board board = new Board();
+        board.setId(4L);
+        Mockito.when(cacheManager.getCache(CacheConfig.BOARD_IDS)).thenReturn(boardIds);
+        Mockito.when(boardIds.get("old name", Long.class)).thenReturn(4L);
+        Mockito.when(boardRepository.findById(4L)).thenReturn(Optional.of(board));
+
+        assertTrue(boardService.resolveBoard("Old Name").isEmpty());
+        Mockito.verify(boardIds).evict("old name");
+        Mockito.verify(boardRepository).findFirstByNameNormalizedOrderByIdAsc("old name");
+    }
+    @Test
+    void normalizeName_shouldOnlyTrimSpacesLikeTheNormalizedColumn() {
+        assertEquals("my board", BoardService.normalizeName("  My Board "));
+        assertEquals("\tmy board", BoardService.normalizeName("\tMy Board"));
+        assertEquals("", BoardService.normalizeName(null));
+    }
 }
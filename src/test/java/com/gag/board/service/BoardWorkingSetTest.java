@@ -0,0 +1,54 @@
+package com.gag.board.service;
+
+import com.gag.board.entity.BoardColumn;
+import com.gag.board.entity.Card;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardWorkingSetTest {
+
+    @Test
+    void shouldIndexColumnsAndCardsById() {
+        //given
+        BoardColumn initial = column(10L);
+        BoardColumn cancelled = column(11L);
+        Card first = card(1L, initial);
+        Card second = card(2L, initial);
+        Card third = card(3L, cancelled);
+        initial.setCardList(List.of(first, second));
+        cancelled.setCardList(List.of(third));
+        //when
+        BoardWorkingSet workingSet = BoardWorkingSet.of(List.of(initial, cancelled));
+        //then
+        assertSame(second, workingSet.findCard(2L));
+        assertSame(cancelled, workingSet.findColumn(11L));
+        assertNull(workingSet.findCard(99L));
+        assertEquals(List.of(first, second, third), workingSet.getCards());
+        assertEquals(List.of(initial, cancelled), workingSet.getColumns());
+    }
+    @Test
+    void shouldTreatEntitiesWithSameIdAsEqual() {
+        //given
+        Card loaded = card(5L, null);
+        Card detached = card(5L, null);
+        //then
+        assertEquals(loaded, detached);
+        assertEquals(loaded.hashCode(), detached.hashCode());
+        assertNotEquals(new Card(), new Card());
+    }
+
+    private static BoardColumn column(long id) {
+        BoardColumn column = new BoardColumn();
+        column.setId(id);
+        return column;
+    }
+    private static Card card(long id, BoardColumn column) {
+        Card card = new Card();
+        card.setId(id);
+        card.setBoardColumn(column);
+        return card;
+    }
+}
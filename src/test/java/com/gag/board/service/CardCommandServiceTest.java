@@ -0,0 +1,175 @@
+package com.gag.board.service;
+
+import com.gag.board.dto.CardCommandResult;
+import com.gag.board.dto.ColumnDefinition;
+import com.gag.board.entity.BoardColumn;
+import com.gag.board.entity.Card;
+import com.gag.board.repository.BoardColumnRepository;
+import com.gag.board.repository.CardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CardCommandServiceTest {
+    @Mock
+    private CardRepository cardRepository;
+    @Mock
+    private BoardColumnRepository boardColumnRepository;
+    @Mock
+    private BoardColumnService boardColumnService;
+    @Mock
+    private CardService cardService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CardCommandService cardCommandService;
+
+    private List<BoardColumn> columns;
+
+    @BeforeEach
+    void setUp() {
+        cardCommandService = new CardCommandService(cardRepository, boardColumnRepository, boardColumnService,
+                cardService, transactionManager, 3, 0);
+        columns = List.of(column(10L, 0), column(20L, 1), column(30L, 2), column(40L, 3));
+    }
+    @Test
+    void move_shouldMoveCardToTheColumnWithTheNextOrder() {
+        //given
+        Card card = card(columns.get(0), false);
+        BoardColumn next = columns.get(1);
+        stubBoard(card);
+        Mockito.when(boardColumnRepository.getReferenceById(20L)).thenReturn(next);
+        //when
+        CardCommandResult result = cardCommandService.move(1L, 5L);
+        //then
+        assertEquals(CardCommandResult.MOVED, result);
+        assertSame(next, card.getBoardColumn());
+        assertNotNull(card.getLastMovementDt());
+        verify(cardService).save(card);
+    }
+    @Test
+    void move_shouldRefuseBlockedCardsAndTheLastActiveColumn() {
+        //given
+        Card blocked = card(columns.get(0), true);
+        Card finished = card(columns.get(2), false);
+        Mockito.when(cardRepository.findOnBoard(1L, 5L)).thenReturn(Optional.of(blocked));
+        Mockito.when(cardRepository.findOnBoard(1L, 6L)).thenReturn(Optional.of(finished));
+        Mockito.when(boardColumnService.findLayout(1L)).thenReturn(layout(columns));
+        //when
+        CardCommandResult blockedResult = cardCommandService.move(1L, 5L);
+        CardCommandResult finishedResult = cardCommandService.move(1L, 6L);
+        //then
+        assertEquals(CardCommandResult.CARD_IS_BLOCKED, blockedResult);
+        assertEquals(CardCommandResult.LAST_ACTIVE_COLUMN, finishedResult);
+        Mockito.verifyNoInteractions(cardService);
+    }
+    @Test
+    void cancel_shouldMoveCardToCancelColumnAndUnblockIt() {
+        //given
+        Card card = card(columns.get(1), true);
+        card.setBlockedReason("waiting");
+        stubBoard(card);
+        Mockito.when(boardColumnRepository.getReferenceById(40L)).thenReturn(columns.get(3));
+        //when
+        CardCommandResult result = cardCommandService.cancel(1L, 5L);
+        //then
+        assertEquals(CardCommandResult.CANCELLED, result);
+        assertSame(columns.get(3), card.getBoardColumn());
+        assertFalse(card.getIsBlocked());
+        assertNull(card.getBlockedReason());
+        verify(cardService).save(card);
+    }
+    @Test
+    void block_shouldReportMissingCardAndAlreadyBlockedCard() {
+        //given
+        Mockito.when(cardRepository.findOnBoard(1L, 5L)).thenReturn(Optional.empty());
+        Mockito.when(cardRepository.findOnBoard(1L, 6L)).thenReturn(Optional.of(card(columns.get(0), true)));
+        //when
+        CardCommandResult missing = cardCommandService.block(1L, 5L, "reason");
+        CardCommandResult alreadyBlocked = cardCommandService.block(1L, 6L, "reason");
+        //then
+        assertEquals(CardCommandResult.CARD_NOT_FOUND, missing);
+        assertEquals(CardCommandResult.ALREADY_BLOCKED, alreadyBlocked);
+        Mockito.verifyNoInteractions(cardService);
+    }
+    @Test
+    void unblock_shouldClearBlockAndKeepReason() {
+        //given
+        Card card = card(columns.get(0), true);
+        card.setLastBlockedDt(OffsetDateTime.now());
+        Mockito.when(cardRepository.findOnBoard(1L, 5L)).thenReturn(Optional.of(card));
+        //when
+        CardCommandResult result = cardCommandService.unblock(1L, 5L, "done");
+        //then
+        assertEquals(CardCommandResult.UNBLOCKED, result);
+        assertFalse(card.getIsBlocked());
+        assertEquals("done", card.getUnblockedReason());
+        assertNotNull(card.getLastUnblockedDt());
+        verify(cardService).save(card);
+    }
+    @Test
+    void block_shouldRereadAndRetryTheCardAfterAVersionConflict() {
+        //given
+        Card stale = card(columns.get(0), false);
+        Card fresh = card(columns.get(0), false);
+        Mockito.when(cardRepository.findOnBoard(1L, 5L)).thenReturn(Optional.of(stale), Optional.of(fresh));
+        Mockito.doThrow(new ObjectOptimisticLockingFailureException(Card.class, 5L))
+                .doNothing()
+                .when(cardRepository).flush();
+        //when
+        CardCommandResult result = cardCommandService.block(1L, 5L, "reason");
+        //then
+        assertEquals(CardCommandResult.BLOCKED, result);
+        assertTrue(fresh.getIsBlocked());
+        verify(cardRepository, Mockito.times(2)).findOnBoard(1L, 5L);
+        verify(cardService).save(fresh);
+        verify(transactionManager).rollback(Mockito.any());
+    }
+    @Test
+    void unblock_shouldGiveUpWithConflictWhenEveryAttemptRaces() {
+        //given
+        Mockito.when(cardRepository.findOnBoard(1L, 5L)).thenAnswer(invocation -> Optional.of(card(columns.get(0), true)));
+        Mockito.doThrow(new ObjectOptimisticLockingFailureException(Card.class, 5L))
+                .when(cardRepository).flush();
+        //when
+        CardCommandResult result = cardCommandService.unblock(1L, 5L, "done");
+        //then
+        assertEquals(CardCommandResult.CONFLICT, result);
+        assertFalse(result.isApplied());
+        verify(cardRepository, Mockito.times(3)).findOnBoard(1L, 5L);
+    }
+
+    private void stubBoard(Card card) {
+        Mockito.when(cardRepository.findOnBoard(1L, 5L)).thenReturn(Optional.of(card));
+        Mockito.when(boardColumnService.findLayout(1L)).thenReturn(layout(columns));
+    }
+    private static ColumnLayout layout(List<BoardColumn> columns) {
+        return ColumnLayout.of(columns.stream()
+                .map(column -> new ColumnDefinition(column.getId(), column.getName(), column.getBoard_order(), column.getType()))
+                .toList());
+    }
+    private static BoardColumn column(long id, int order) {
+        BoardColumn column = new BoardColumn();
+        column.setId(id);
+        column.setBoard_order(order);
+        return column;
+    }
+    private static Card card(BoardColumn column, boolean blocked) {
+        Card card = new Card("title", "desc", OffsetDateTime.now(), null, blocked, column);
+        card.setId(5L);
+        return card;
+    }
+}
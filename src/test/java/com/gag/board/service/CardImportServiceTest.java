@@ -0,0 +1,90 @@
+package com.gag.board.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gag.board.dto.CardSpec;
+import com.gag.board.dto.ImportProgress;
+import com.gag.board.entity.BoardColumn;
+import com.gag.board.util.importer.CardImportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardImportServiceTest {
+    @Mock
+    private CardService cardService;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @TempDir
+    Path tempDir;
+
+    private CardImportService cardImportService;
+    private BoardColumn column;
+
+    @BeforeEach
+    void setUp() {
+        cardImportService = new CardImportService(cardService, jdbcTemplate, transactionManager, new ObjectMapper(), 2);
+        column = new BoardColumn();
+        column.setId(7L);
+    }
+    @Test
+    void importCards_shouldCommitChunksWithCheckpointsAndRemoveTheCheckpointAtTheEnd() throws IOException {
+        //given
+        Path file = tempDir.resolve("cards.csv");
+        Files.writeString(file, "title,description\nA,a\nB,b\n,rejected\nC,c\nD,d\nE,e");
+        List<ImportProgress> progress = new ArrayList<>();
+        //when
+        ImportProgress result = cardImportService.importCards(file, CardImportFormat.CSV, column, progress::add);
+        //then
+        assertEquals(5, result.imported());
+        assertEquals(1, result.rejected());
+        assertEquals(3, progress.size());
+        Mockito.verify(cardService, Mockito.times(3)).seedCards(Mockito.anyList(), Mockito.eq(column));
+        Mockito.verify(jdbcTemplate).update(Mockito.eq(CardImportService.INSERT_CHECKPOINT), Mockito.any(Object[].class));
+        Mockito.verify(jdbcTemplate).update(Mockito.eq(CardImportService.UPDATE_CHECKPOINT), Mockito.any(Object[].class));
+        Mockito.verify(jdbcTemplate).update(CardImportService.DELETE_CHECKPOINT, CardImportService.importKey(file, column));
+        Mockito.verify(transactionManager, Mockito.times(3)).commit(Mockito.any());
+    }
+    @Test
+    void importCards_shouldResumeAfterTheLastCommittedChunk() throws Exception {
+        //given
+        Path file = tempDir.resolve("cards.ndjson");
+        Files.writeString(file, "{\"title\":\"A\"}\n{\"title\":\"B\"}\n{\"title\":\"C\"}");
+        ResultSet checkpoint = Mockito.mock(ResultSet.class);
+        Mockito.when(checkpoint.next()).thenReturn(true);
+        Mockito.when(checkpoint.getLong("file_size")).thenReturn(Files.size(file));
+        Mockito.when(checkpoint.getLong("lines_committed")).thenReturn(2L);
+        Mockito.when(checkpoint.getLong("cards_imported")).thenReturn(2L);
+        Mockito.when(checkpoint.getLong("cards_rejected")).thenReturn(0L);
+        Mockito.when(jdbcTemplate.query(Mockito.eq(CardImportService.FIND_CHECKPOINT), Mockito.<ResultSetExtractor<Object>>any(), Mockito.<Object>any()))
+                .thenAnswer(invocation -> invocation.<ResultSetExtractor<Object>>getArgument(1).extractData(checkpoint));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CardSpec>> specs = ArgumentCaptor.forClass(List.class);
+        //when
+        ImportProgress result = cardImportService.importCards(file, CardImportFormat.NDJSON, column, progress -> { });
+        //then
+        Mockito.verify(cardService).seedCards(specs.capture(), Mockito.eq(column));
+        assertEquals(List.of(new CardSpec("C", null)), specs.getValue());
+        assertEquals(2, result.resumedAtLine());
+        assertEquals(3, result.imported());
+    }
+}
@@ -1,22 +1,37 @@
 package com.gag.board.service;
 
 import com.gag.board.dto.BlockUnblockReport;
+import com.gag.board.dto.BlockedCard;
+import com.gag.board.dto.BlockedTime;
+import com.gag.board.dto.CardCommandResult;
+import com.gag.board.dto.CardSpec;
+import com.gag.board.dto.ColumnDefinition;
 import com.gag.board.dto.MovementReport;
+import com.gag.board.dto.ReportPage;
 import com.gag.board.entity.Board;
 import com.gag.board.entity.BoardColumn;
 import com.gag.board.entity.Card;
+import com.gag.board.repository.BoardBulkRepository;
+import com.gag.board.repository.CardBulkRepository;
+import com.gag.board.repository.CardBulkRepository.CardState;
 import com.gag.board.repository.CardRepository;
 import com.gag.board.repository.audit.AuditCardRepository;
+import com.gag.board.service.audit.AuditLogWriter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.verify;
@@ -27,6 +42,14 @@ public class CardServiceTest {
     private CardRepository cardRepository;
     @Mock
     private AuditCardRepository auditCardRepository;
+    @Mock
+    private BoardBulkRepository boardBulkRepository;
+    @Mock
+    private ObjectProvider<AuditLogWriter> auditLogWriter;
+    @Mock
+    private CardBulkRepository cardBulkRepository;
+    @Mock
+    private BoardColumnService boardColumnService;
     @InjectMocks
     private CardService cardService;
     @Test
@@ -49,21 +72,26 @@ public class CardServiceTest {
         assertEquals("title", cardList.getFirst().getTitle());
     }
     @Test
-    void shouldCreateCardsWithMapOfTitleDescriptionForSpecifColumn(){
+    void generateCards_shouldKeepOrderAndDuplicateTitles(){
         //given
-        Map<String,String> titlesAndDescriptions = new HashMap<>();
-        titlesAndDescriptions.put("title_1","desc_1");
-        titlesAndDescriptions.put("title_2","desc_2");
+        List<CardSpec> specs = List.of(new CardSpec("same", "desc_1"), new CardSpec("other", "desc_2"), new CardSpec("same", "desc_3"));
         BoardColumn boardColumn = new BoardColumn();
         //when
-        List<Card> cardList = cardService.generateCards(titlesAndDescriptions,boardColumn);
+        List<Card> cardList = cardService.generateCards(specs, boardColumn);
         //then
-        assertNotNull(cardList);
-        assertEquals(2,cardList.size());
-        for (Card card : cardList) {
-            assertTrue(titlesAndDescriptions.containsKey(card.getTitle()));
-            assertEquals(titlesAndDescriptions.get(card.getTitle()), card.getDescription());
-        }
+        assertEquals(List.of("same", "other", "same"), cardList.stream().map(Card::getTitle).toList());
+        assertEquals(List.of("desc_1", "desc_2", "desc_3"), cardList.stream().map(Card::getDescription).toList());
+        assertTrue(cardList.stream().allMatch(card -> card.getBoardColumn() == boardColumn && !card.getIsBlocked()));
+    }
+    @Test
+    void seedCards_shouldInsertGeneratedCardsInBulk(){
+        //given
+        List<CardSpec> specs = List.of(new CardSpec("title_1", "desc_1"), new CardSpec("title_2", "desc_2"));
+        //when
+        List<Card> cardList = cardService.seedCards(specs, new BoardColumn());
+        //then
+        assertEquals(2, cardList.size());
+        verify(boardBulkRepository).insertCards(cardList);
     }
     @Test
     void shouldGetMovementReportWhenBoardIdExists(){
@@ -149,4 +177,136 @@ public class CardServiceTest {
             assertTrue(card.getIsBlocked());
         }
     }
+    @Test
+    void streamMovementReport_shouldMapCursorRowsAndCloseTheStream(){
+        //given
+        Object[] row = new Object[]{1L, "title_1", "desc_1", "type_1", 1L, 1L, OffsetDateTime.now().minusDays(1), 20.0};
+        AtomicBoolean closed = new AtomicBoolean(false);
+        Mockito.when(auditCardRepository.streamCardMovementReport(1L, AuditCardRepository.REPORT_MIN_DATE, AuditCardRepository.REPORT_MAX_DATE))
+                .thenReturn(Stream.<Object[]>of(row).onClose(() -> closed.set(true)));
+        List<MovementReport> received = new ArrayList<>();
+        //when
+        cardService.streamMovementReport(1L, reports -> reports.forEach(received::add));
+        //then
+        assertEquals(1, received.size());
+        assertEquals("title_1", received.getFirst().title());
+        assertNotNull(received.getFirst().exitTime());
+        assertTrue(closed.get());
+    }
+    @Test
+    void getMovementReportPage_shouldContinueAfterTheLastCardOfAFullPage(){
+        //given
+        OffsetDateTime from = OffsetDateTime.now().minusDays(7);
+        Object[] row = new Object[]{5L, "title_5", "desc_5", "type_5", 1L, 1L, null, 20.0};
+        Mockito.when(auditCardRepository.findMovementReportCardIds(1L, from, AuditCardRepository.REPORT_MAX_DATE, 0L, Limit.of(2)))
+                .thenReturn(List.of(3L, 5L));
+        Mockito.when(auditCardRepository.getCardMovementReportPage(1L, from, AuditCardRepository.REPORT_MAX_DATE, List.of(3L, 5L)))
+                .thenReturn(Collections.singletonList(row));
+        //when
+        ReportPage<MovementReport> page = cardService.getMovementReportPage(1L, from, null, 0L, 2);
+        //then
+        assertEquals(1, page.rows().size());
+        assertEquals(5L, page.nextAfterCardId());
+    }
+    @Test
+    void getMovementReportPage_shouldEndWhenNoCardsAreLeft(){
+        //given
+        Mockito.when(auditCardRepository.findMovementReportCardIds(1L, AuditCardRepository.REPORT_MIN_DATE, AuditCardRepository.REPORT_MAX_DATE, 5L, Limit.of(2)))
+                .thenReturn(List.of());
+        //when
+        ReportPage<MovementReport> page = cardService.getMovementReportPage(1L, null, null, 5L, 2);
+        //then
+        assertTrue(page.rows().isEmpty());
+        assertNull(page.nextAfterCardId());
+        Mockito.verify(auditCardRepository, Mockito.never()).getCardMovementReportPage(Mockito.anyLong(), Mockito.any(), Mockito.any(), Mockito.anyCollection());
+    }
+    @Test
+    void moveCards_shouldIssueOneUpdatePerTargetColumnAndReportEachCard(){
+        //given
+        List<ColumnDefinition> columns = List.of(column(10L, 0), column(20L, 1), column(30L, 2), column(40L, 3));
+        Mockito.when(boardColumnService.findLayout(1L)).thenReturn(ColumnLayout.of(columns));
+        List<Long> cardIds = List.of(1L, 2L, 3L, 4L, 5L, 6L);
+        Mockito.when(cardBulkRepository.lockCards(Mockito.eq(1L), Mockito.anyCollection())).thenReturn(List.of(
+                new CardState(1L, 10L, false), new CardState(2L, 10L, false), new CardState(3L, 20L, false),
+                new CardState(4L, 10L, true), new CardState(5L, 30L, false)));
+        Mockito.when(cardBulkRepository.moveCards(Mockito.eq(List.of(1L, 2L)), Mockito.eq(10L), Mockito.eq(20L), Mockito.any()))
+                .thenReturn(List.of(bulkCard(1L), bulkCard(2L)));
+        Mockito.when(cardBulkRepository.moveCards(Mockito.eq(List.of(3L)), Mockito.eq(20L), Mockito.eq(30L), Mockito.any()))
+                .thenReturn(List.of(bulkCard(3L)));
+        //when
+        Map<Long, CardCommandResult> outcomes = cardService.moveCards(1L, cardIds);
+        //then
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), List.copyOf(outcomes.keySet()));
+        assertEquals(CardCommandResult.MOVED, outcomes.get(1L));
+        assertEquals(CardCommandResult.MOVED, outcomes.get(2L));
+        assertEquals(CardCommandResult.MOVED, outcomes.get(3L));
+        assertEquals(CardCommandResult.CARD_IS_BLOCKED, outcomes.get(4L));
+        assertEquals(CardCommandResult.LAST_ACTIVE_COLUMN, outcomes.get(5L));
+        assertEquals(CardCommandResult.CARD_NOT_FOUND, outcomes.get(6L));
+        verify(cardBulkRepository, Mockito.times(2)).moveCards(Mockito.anyCollection(), Mockito.anyLong(), Mockito.anyLong(), Mockito.any());
+    }
+    @Test
+    @SuppressWarnings("unchecked")
+    void blockCards_shouldSkipBlockedCardsAndQueueAuditOfTheChangedOnes(){
+        //given
+        AuditLogWriter writer = Mockito.mock(AuditLogWriter.class);
+        Mockito.doAnswer(invocation -> {
+            ((Consumer<AuditLogWriter>) invocation.getArgument(0)).accept(writer);
+            return null;
+        }).when(auditLogWriter).ifAvailable(Mockito.any());
+        Mockito.when(cardBulkRepository.lockCards(Mockito.eq(1L), Mockito.anyCollection()))
+                .thenReturn(List.of(new CardState(1L, 10L, false), new CardState(2L, 10L, true), new CardState(3L, 10L, false)));
+        List<Card> blocked = List.of(bulkCard(1L));
+        Mockito.when(cardBulkRepository.blockCards(Mockito.eq(List.of(1L, 3L)), Mockito.eq("outage"), Mockito.any()))
+                .thenReturn(blocked);
+        //when
+        Map<Long, CardCommandResult> outcomes = cardService.blockCards(1L, List.of(1L, 2L, 3L, 1L), "outage");
+        //then
+        assertEquals(3, outcomes.size());
+        assertEquals(CardCommandResult.BLOCKED, outcomes.get(1L));
+        assertEquals(CardCommandResult.ALREADY_BLOCKED, outcomes.get(2L));
+        assertEquals(CardCommandResult.CONFLICT, outcomes.get(3L));
+        verify(writer).enqueueUpdatedAfterCommit(blocked);
+    }
+    @Test
+    void unblockCards_shouldNotTouchTheDatabaseForAnEmptySelection(){
+        //when
+        Map<Long, CardCommandResult> outcomes = cardService.unblockCards(1L, List.of(), "back");
+        //then
+        assertTrue(outcomes.isEmpty());
+        Mockito.verifyNoInteractions(cardBulkRepository, auditLogWriter);
+    }
+    @Test
+    void getCurrentlyBlocked_shouldMapOpenBlockEpisodes(){
+        //given
+        OffsetDateTime blockedDt = OffsetDateTime.now().minusHours(2);
+        Object[] row = new Object[]{5L, "title_5", 20L, "Pending", "waiting", blockedDt, 7200};
+        Mockito.when(auditCardRepository.findCurrentlyBlocked(1L)).thenReturn(List.<Object[]>of(row));
+        //when
+        List<BlockedCard> blocked = cardService.getCurrentlyBlocked(1L);
+        //then
+        assertEquals(1, blocked.size());
+        assertEquals(5L, blocked.getFirst().id());
+        assertEquals("Pending", blocked.getFirst().columnName());
+        assertEquals(blockedDt.toLocalDateTime(), blocked.getFirst().blockedSince());
+        assertEquals(7200L, blocked.getFirst().secondsBlocked());
+    }
+    @Test
+    void getBlockedTimeTotals_shouldMapEpisodeCountAndTotalSeconds(){
+        //given
+        Object[] row = new Object[]{5L, "title_5", 3L, 5400L};
+        Mockito.when(auditCardRepository.getBlockedTimeTotals(1L)).thenReturn(List.<Object[]>of(row));
+        //when
+        List<BlockedTime> totals = cardService.getBlockedTimeTotals(1L);
+        //then
+        assertEquals(List.of(new BlockedTime(5L, "title_5", 3L, 5400L)), totals);
+    }
+    private static ColumnDefinition column(long id, int order) {
+        return new ColumnDefinition(id, "column_" + id, order, 'P');
+    }
+    private static Card bulkCard(long id) {
+        Card card = new Card();
+        card.setId(id);
+        return card;
+    }
 }
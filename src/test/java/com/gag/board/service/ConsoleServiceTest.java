@@ -1,12 +1,14 @@
 package com.gag.board.service;
 
-import com.gag.board.dto.BlockUnblockReport;
-import com.gag.board.dto.MovementReport;
+import com.gag.board.dto.CardCommandResult;
+import com.gag.board.dto.CardSummary;
+import com.gag.board.dto.ColumnSummary;
+import com.gag.board.dto.ReportFormat;
+import com.gag.board.dto.ReportType;
 import com.gag.board.entity.Board;
 import com.gag.board.entity.BoardColumn;
 import com.gag.board.entity.Card;
-import com.gag.board.util.exporter.ExcelExporter;
-import com.gag.board.util.exporter.PDFExporter;
+import com.gag.board.exception.ReportJobRejectedException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -14,12 +16,11 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Path;
 import java.time.OffsetDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
-import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
@@ -45,10 +46,13 @@ class ConsoleServiceTest {
     private CardService cardService;
 
     @Mock
-    private ExcelExporter excelExporter;
+    private ReportJobService reportJobService;
 
     @Mock
-    private PDFExporter pdfExporter;
+    private CardImportService cardImportService;
+
+    @Mock
+    private CardCommandService cardCommandService;
 
     @Test
     void shouldCreateNewBoardWhenValidInputProvided() {
@@ -69,21 +73,21 @@ class ConsoleServiceTest {
         Mockito.when(consoleInterface.prompt("type.card.description")).thenReturn("Description 1");
         Mockito.when(boardService.addBoard("My Board")).thenReturn(mockBoard);
         Mockito.when(boardColumnService.generateBoardColumns(3, mockBoard)).thenReturn(mockColumns);
-        Mockito.when(cardService.generateCards(Mockito.anyMap(), Mockito.any())).thenReturn(mockCards);
+        Mockito.when(cardService.generateCards(Mockito.anyList(), Mockito.any())).thenReturn(mockCards);
         consoleService.createNewBoard();
         // then
-        verify(boardService).save(mockBoard);
+        verify(boardService).create(mockBoard);
     }
     @Test
     void shouldDeleteBoardWhenBoardExists() {
         // given
         Board board = new Board();
+        board.setId(1L);
         Optional<Board> boardOpt = Optional.of(board);
         // when
         Mockito.when(messageService.getMessage("type.board.id.or.name")).thenReturn("type.board.id.or.name");
         Mockito.when(consoleInterface.prompt("type.board.id.or.name")).thenReturn("1");
-        Mockito.when(boardService.existsByIdOrNameIgnoreCase(1L, "")).thenReturn(true);
-        Mockito.when(boardService.findByIdOrNameIgnoreCase(1L, "")).thenReturn(boardOpt);
+        Mockito.when(boardService.resolveBoard("1")).thenReturn(boardOpt);
         consoleService.deleteBoard();
         // then
         verify(boardService).delete(board);
@@ -93,193 +97,197 @@ class ConsoleServiceTest {
         //given
         Board board = new Board();
         board.setId(1L);
-        List<MovementReport> reportList = List.of();
         //when
         Mockito.when(consoleInterface.prompt(Mockito.anyString()))
                 .thenReturn("1") // board ID
                 .thenReturn("1"); // export as Excel
         Mockito.when(messageService.getMessage(Mockito.anyString())).thenReturn("Mensagem");
-        Mockito.when(boardService.existsByIdOrNameIgnoreCase(1L, "")).thenReturn(true);
-        Mockito.when(boardService.findByIdOrNameIgnoreCase(1L, "")).thenReturn(Optional.of(board));
-        Mockito.when(cardService.getMovementReport(1L)).thenReturn(reportList);
+        Mockito.when(boardService.resolveBoard("1")).thenReturn(Optional.of(board));
+        Mockito.when(reportJobService.submit(1L, ReportType.MOVEMENT, ReportFormat.EXCEL))
+                .thenReturn(new ReportJob(1L, 1L, ReportType.MOVEMENT, ReportFormat.EXCEL, Path.of("MovementReport.xlsx")));
         consoleService.printMovementReport();
         //then
-        Mockito.verify(excelExporter).exportMovementToExcel(reportList,
-                "C:\\Users\\GabrielAlves\\Desktop\\MovementReport.xlsx",
-                "MovementReport");
+        Mockito.verify(reportJobService).submit(1L, ReportType.MOVEMENT, ReportFormat.EXCEL);
     }
     @Test
     void shouldExportBlockedReportToExcelWhenOptionIs1() {
         //given
         Board board = new Board();
         board.setId(1L);
-        List<BlockUnblockReport> blockedReports = List.of(Mockito.mock(BlockUnblockReport.class));
         //when
         Mockito.when(messageService.getMessage("type.board.id.or.name")).thenReturn("type.board.id.or.name");
         Mockito.when(messageService.getMessage("type.report.type")).thenReturn("type.report.type");
         Mockito.when(consoleInterface.prompt("type.board.id.or.name")).thenReturn("1");
         Mockito.when(consoleInterface.prompt("type.report.type")).thenReturn("1");
-        Mockito.when(boardService.existsByIdOrNameIgnoreCase(1L, "")).thenReturn(true);
-        Mockito.when(boardService.findByIdOrNameIgnoreCase(1L, "")).thenReturn(Optional.of(board));
-        Mockito.when(cardService.getBlockedReport(1L)).thenReturn(blockedReports);
+        Mockito.when(boardService.resolveBoard("1")).thenReturn(Optional.of(board));
+        Mockito.when(reportJobService.submit(1L, ReportType.BLOCKED, ReportFormat.EXCEL))
+                .thenReturn(new ReportJob(2L, 1L, ReportType.BLOCKED, ReportFormat.EXCEL, Path.of("blockReport.xlsx")));
         consoleService.printBlockedReport();
         //then
-        verify(excelExporter).exportBlockedUnblockedToExcel(
-                Mockito.eq(blockedReports),
-                Mockito.contains("blockReport.xlsx"),
-                Mockito.eq("blockReport")
-        );
+        verify(reportJobService).submit(1L, ReportType.BLOCKED, ReportFormat.EXCEL);
     }
     @Test
     void shouldExportBlockedReportToPdfWhenOptionIs2() {
         //given
         Board board = new Board();
         board.setId(1L);
-        List<BlockUnblockReport> reportList = List.of();
         //when
         Mockito.when(consoleInterface.prompt(Mockito.anyString()))
                 .thenReturn("1") // board ID
                 .thenReturn("2"); // export as PDF
         Mockito.when(messageService.getMessage(Mockito.anyString())).thenReturn("Mensagem");
-        Mockito.when(boardService.existsByIdOrNameIgnoreCase(1L, "")).thenReturn(true);
-        Mockito.when(boardService.findByIdOrNameIgnoreCase(1L, "")).thenReturn(Optional.of(board));
-        Mockito.when(cardService.getBlockedReport(1L)).thenReturn(reportList);
+        Mockito.when(boardService.resolveBoard("1")).thenReturn(Optional.of(board));
+        Mockito.when(reportJobService.submit(1L, ReportType.BLOCKED, ReportFormat.PDF))
+                .thenReturn(new ReportJob(3L, 1L, ReportType.BLOCKED, ReportFormat.PDF, Path.of("blockReport.pdf")));
         consoleService.printBlockedReport();
         //then
-        Mockito.verify(pdfExporter).exportBlockedUnblockedReportToPDF(reportList, "C:\\Users\\GabrielAlves\\Desktop\\blockReport.pdf", "blockReport");
+        Mockito.verify(reportJobService).submit(1L, ReportType.BLOCKED, ReportFormat.PDF);
     }
     @Test
     void shouldExportMovementReportToPdfWhenOptionIs2() {
         //given
         Board board = new Board();
         board.setId(1L);
-        List<MovementReport> movementReports = List.of(Mockito.mock(MovementReport.class));
         //when
         Mockito.when(messageService.getMessage("type.board.id.or.name")).thenReturn("type.board.id.or.name");
         Mockito.when(messageService.getMessage("type.report.type")).thenReturn("type.report.type");
         Mockito.when(consoleInterface.prompt("type.board.id.or.name")).thenReturn("1");
         Mockito.when(consoleInterface.prompt("type.report.type")).thenReturn("2");
-        Mockito.when(boardService.existsByIdOrNameIgnoreCase(1L, "")).thenReturn(true);
-        Mockito.when(boardService.findByIdOrNameIgnoreCase(1L, "")).thenReturn(Optional.of(board));
-        Mockito.when(cardService.getMovementReport(1L)).thenReturn(movementReports);
+        Mockito.when(boardService.resolveBoard("1")).thenReturn(Optional.of(board));
+        Mockito.when(reportJobService.submit(1L, ReportType.MOVEMENT, ReportFormat.PDF))
+                .thenReturn(new ReportJob(4L, 1L, ReportType.MOVEMENT, ReportFormat.PDF, Path.of("MovementReport.pdf")));
         consoleService.printMovementReport();
         //then
-        verify(pdfExporter).exportMovementReportToPDF(
-                Mockito.eq(movementReports),
-                Mockito.contains("MovementReport.pdf"),
-                Mockito.eq("MovementReport")
-        );
+        verify(reportJobService).submit(1L, ReportType.MOVEMENT, ReportFormat.PDF);
+    }
+    @Test
+    void shouldPrintBoardOverviewFromSummaries() {
+        //given
+        Mockito.when(boardColumnService.listColumns(1L)).thenReturn(List.of(new ColumnSummary(10L, "Initial", 0, 'I', 2L)));
+        Mockito.when(cardService.listCards(1L)).thenReturn(List.of(
+                new CardSummary(5L, "Task A", "desc", false, 10L, "Initial"),
+                new CardSummary(6L, "Task B", "desc", true, 10L, "Initial")));
+        Mockito.when(messageService.getMessage("msg.board.column.summary", "Initial", "2")).thenReturn("Initial (2 cards)");
+        Mockito.when(messageService.getMessage("msg.board.card.summary", "5", "Task A")).thenReturn("#5 Task A");
+        Mockito.when(messageService.getMessage("msg.board.card.summary.blocked", "6", "Task B")).thenReturn("#6 Task B [blocked]");
+        //when
+        consoleService.printBoardOverview(1L);
+        //then
+        verify(consoleInterface).printMessage("Initial (2 cards)");
+        verify(consoleInterface).printMessage("#5 Task A");
+        verify(consoleInterface).printMessage("#6 Task B [blocked]");
+        verify(boardColumnService, Mockito.never()).findWorkingSet(Mockito.anyLong());
+    }
+    @Test
+    void shouldTellUserWhenReportJobIsRejected() {
+        //given
+        Board board = new Board();
+        board.setId(1L);
+        //when
+        Mockito.when(consoleInterface.prompt(Mockito.any())).thenReturn("1");
+        Mockito.when(boardService.resolveBoard("1")).thenReturn(Optional.of(board));
+        Mockito.when(reportJobService.submit(1L, ReportType.DOSSIER, ReportFormat.EXCEL))
+                .thenThrow(new ReportJobRejectedException("busy"));
+        Mockito.when(messageService.getMessage("msg.report.job.rejected", "busy")).thenReturn("rejected: busy");
+        consoleService.printBoardDossier();
+        //then
+        verify(consoleInterface).printMessage("rejected: busy");
     }
     @Test
     void shouldCancelCardIfCardIsNotCancelled (){
         //given
-        List<BoardColumn> boardColumnList = new ArrayList<>();
-        BoardColumn pendingColumn = new BoardColumn();
-        BoardColumn cancelledColumn = new BoardColumn();
-        pendingColumn.setId(1L);
-        pendingColumn.setName("pending");
-        pendingColumn.setBoard_order(0);
-        cancelledColumn.setBoard_order(1);
-        cancelledColumn.setId(2L);
-        cancelledColumn.setName("cancelled");
-        boardColumnList.add(0, pendingColumn);
-        boardColumnList.add(1, cancelledColumn);
-        Card selectedCard = new Card("title","desc", OffsetDateTime.now(),OffsetDateTime.now(),false,pendingColumn);
+        Card selectedCard = new Card("title","desc", OffsetDateTime.now(),OffsetDateTime.now(),false,new BoardColumn());
+        selectedCard.setId(7L);
+        Mockito.when(cardCommandService.cancel(1L, 7L)).thenReturn(CardCommandResult.CANCELLED);
+        Mockito.when(messageService.getMessage("msg.card.cancelled")).thenReturn("cancelled");
         //when
-        consoleService.cancelCard(boardColumnList,selectedCard);
+        consoleService.cancelCard(1L, selectedCard);
         // then
-        assertEquals("cancelled", selectedCard.getBoardColumn().getName());
-        assertFalse(selectedCard.getIsBlocked());
-        verify(cardService).save(Mockito.any(Card.class));
-        verify(consoleInterface).printMessage(messageService.getMessage("msg.card.cancelled"));
+        verify(cardCommandService).cancel(1L, 7L);
+        verify(consoleInterface).printMessage("cancelled");
     }
     @Test
     void shouldNotCancelCardIfCardIsAlreadyCancelled (){
         //given
-        List<BoardColumn> boardColumnList = new ArrayList<>();
-        BoardColumn pendingColumn = new BoardColumn();
-        BoardColumn cancelledColumn = new BoardColumn();
-        pendingColumn.setId(1L);
-        pendingColumn.setName("pending");
-        pendingColumn.setBoard_order(0);
-        cancelledColumn.setBoard_order(1);
-        cancelledColumn.setId(2L);
-        cancelledColumn.setName("cancelled");
-        boardColumnList.add(0, pendingColumn);
-        boardColumnList.add(1, cancelledColumn);
-        Card selectedCard = new Card("title", "desc", OffsetDateTime.now(), OffsetDateTime.now(),false, cancelledColumn);
+        Card selectedCard = new Card("title", "desc", OffsetDateTime.now(), OffsetDateTime.now(),false, new BoardColumn());
+        selectedCard.setId(7L);
+        Mockito.when(cardCommandService.cancel(1L, 7L)).thenReturn(CardCommandResult.ALREADY_CANCELLED);
+        Mockito.when(messageService.getMessage("msg.error.card.already.cancelled")).thenReturn("already cancelled");
         //when
-        consoleService.cancelCard(boardColumnList,selectedCard);
+        consoleService.cancelCard(1L, selectedCard);
         // then
-        verify(consoleInterface).printMessage(messageService.getMessage("msg.error.card.already.cancelled"));
-        verify(cardService, Mockito.never()).save(Mockito.any(Card.class));
+        verify(consoleInterface).printMessage("already cancelled");
         verifyNoMoreInteractions(cardService);
-
     }
     @Test
-    void shouldNotMoveCardIfCardIsCancelled (){
+    void shouldNotMoveCardIfCardIsBlocked (){
         //given
-        List<BoardColumn> boardColumnList = new ArrayList<>();
-        BoardColumn pendingColumn = new BoardColumn();
-        BoardColumn cancelledColumn = new BoardColumn();
-        pendingColumn.setId(1L);
-        pendingColumn.setName("pending");
-        pendingColumn.setBoard_order(0);
-        cancelledColumn.setBoard_order(1);
-        cancelledColumn.setId(2L);
-        cancelledColumn.setName("cancelled");
-        boardColumnList.add(0, pendingColumn);
-        boardColumnList.add(1, cancelledColumn);
-        Card selectedCard = new Card("title","desc", OffsetDateTime.now(),OffsetDateTime.now(),true,pendingColumn);
+        Card selectedCard = new Card("title","desc", OffsetDateTime.now(),OffsetDateTime.now(),true,new BoardColumn());
+        selectedCard.setId(7L);
+        Mockito.when(cardCommandService.move(1L, 7L)).thenReturn(CardCommandResult.CARD_IS_BLOCKED);
+        Mockito.when(messageService.getMessage("msg.error.card.cant.be.moved")).thenReturn("cant be moved");
         //when
-        consoleService.moveCardToNextColumn(boardColumnList,selectedCard);
+        consoleService.moveCardToNextColumn(1L, selectedCard);
         // then
-        assertEquals("pending", selectedCard.getBoardColumn().getName());
-        assertTrue(selectedCard.getIsBlocked());
+        verify(consoleInterface).printMessage("cant be moved");
     }
     @Test
     void shouldMoveCardIfCardIsNotCancelled (){
         //given
-        List<BoardColumn> boardColumnList = new ArrayList<>();
+        Card selectedCard = new Card("title","desc", OffsetDateTime.now(),OffsetDateTime.now(),false,new BoardColumn());
+        selectedCard.setId(7L);
+        Mockito.when(cardCommandService.move(1L, 7L)).thenReturn(CardCommandResult.MOVED);
+        Mockito.when(messageService.getMessage("msg.card.moved.to.next.column")).thenReturn("moved");
+        //when
+        consoleService.moveCardToNextColumn(1L, selectedCard);
+        //then
+        verify(cardCommandService).move(1L, 7L);
+        verify(consoleInterface).printMessage("moved");
+    }
+    @Test
+    void shouldReportConcurrentUpdateWhenCommandGivesUp (){
+        //given
+        Card selectedCard = new Card("title","desc", OffsetDateTime.now(),OffsetDateTime.now(),false,new BoardColumn());
+        selectedCard.setId(7L);
+        Mockito.when(cardCommandService.move(1L, 7L)).thenReturn(CardCommandResult.CONFLICT);
+        Mockito.when(messageService.getMessage("msg.error.card.concurrent.update")).thenReturn("conflict");
+        //when
+        consoleService.moveCardToNextColumn(1L, selectedCard);
+        //then
+        verify(consoleInterface).printMessage("conflict");
+    }
+    @Test
+    void shouldReportUnknownCardIdWithoutTouchingTheBoard() {
+        //given
         BoardColumn initialColumn = new BoardColumn();
-        BoardColumn pendingColumn = new BoardColumn();
-        BoardColumn cancelledColumn = new BoardColumn();
         initialColumn.setId(1L);
-        initialColumn.setName("initial");
-        initialColumn.setBoard_order(0);
-
-        pendingColumn.setId(2L);
-        pendingColumn.setName("pending");
-        pendingColumn.setBoard_order(1);
-
-        cancelledColumn.setId(3L);
-        cancelledColumn.setName("cancelled");
-        cancelledColumn.setBoard_order(2);
-
-        boardColumnList.add(0, initialColumn);
-        boardColumnList.add(1, pendingColumn);
-        boardColumnList.add(2, cancelledColumn);
-        Card selectedCard = new Card("title","desc", OffsetDateTime.now(),OffsetDateTime.now(),false,initialColumn);
+        Card card = new Card("title","desc", OffsetDateTime.now(),OffsetDateTime.now(),false,initialColumn);
+        card.setId(7L);
+        initialColumn.setCardList(List.of(card));
+        BoardWorkingSet workingSet = BoardWorkingSet.of(List.of(initialColumn));
+        Mockito.when(messageService.getMessage("type.card.id")).thenReturn("type.card.id");
+        Mockito.when(messageService.getMessage("msg.error.card.id.not.found")).thenReturn("not found");
+        Mockito.when(consoleInterface.prompt("type.card.id")).thenReturn("8");
         //when
-        consoleService.moveCardToNextColumn(boardColumnList,selectedCard);
+        consoleService.updateCard(1L, workingSet, 1);
         //then
-        assertEquals("pending", selectedCard.getBoardColumn().getName());
+        verify(consoleInterface).printMessage("not found");
+        verifyNoMoreInteractions(cardService);
     }
     @Test
     void shouldBlockCardIfNotBlocked() {
         // given
         Card selectedCard = new Card("title", "desc", OffsetDateTime.now(), null, false, new BoardColumn());
+        selectedCard.setId(7L);
         // when
         Mockito.when(messageService.getMessage("type.block.reason")).thenReturn("block.reason");
         Mockito.when(consoleInterface.prompt("block.reason")).thenReturn("reason");
-        consoleService.blockCard(selectedCard);
+        Mockito.when(cardCommandService.block(1L, 7L, "reason")).thenReturn(CardCommandResult.BLOCKED);
+        Mockito.when(messageService.getMessage("msg.card.blocked")).thenReturn("blocked");
+        consoleService.blockCard(1L, selectedCard);
         // then
-        assertTrue(selectedCard.getIsBlocked());
-        assertEquals("reason", selectedCard.getBlockedReason());
-        assertNull(selectedCard.getUnblockedReason());
-        assertNotNull(selectedCard.getLastBlockedDt());
-        assertNotNull(selectedCard.getUpdateDt());
-        verify(cardService).save(selectedCard);
+        verify(cardCommandService).block(1L, 7L, "reason");
+        verify(consoleInterface).printMessage("blocked");
     }
     @Test
     void shouldNotBlockCardIfBlocked() {
@@ -287,29 +295,25 @@ class ConsoleServiceTest {
         Card selectedCard = new Card("title", "desc", OffsetDateTime.now(), null, true, new BoardColumn());
         // when
         Mockito.when(messageService.getMessage("msg.error.card.already.blocked")).thenReturn("msg.error.card.already.blocked");
-        consoleService.blockCard(selectedCard);
+        consoleService.blockCard(1L, selectedCard);
         // then
         verify(consoleInterface).printMessage("msg.error.card.already.blocked");
-        verify(cardService, Mockito.never()).save(Mockito.any());
+        verifyNoMoreInteractions(cardCommandService);
     }
     @Test
     void shouldUnblockCardIfBlocked() {
         // given
         Card selectedCard = new Card("title", "desc", OffsetDateTime.now(), null, true, new BoardColumn());
-        selectedCard.setBlockedReason("previous reason");
-        selectedCard.setLastBlockedDt(OffsetDateTime.now());
+        selectedCard.setId(7L);
         // when
         Mockito.when(messageService.getMessage("type.unblock.reason")).thenReturn("unblock.reason");
         Mockito.when(consoleInterface.prompt("unblock.reason")).thenReturn("unblocked now");
-        consoleService.unblockCard(selectedCard);
+        Mockito.when(cardCommandService.unblock(1L, 7L, "unblocked now")).thenReturn(CardCommandResult.UNBLOCKED);
+        Mockito.when(messageService.getMessage("msg.card.unblocked")).thenReturn("unblocked");
+        consoleService.unblockCard(1L, selectedCard);
         // then
-        assertFalse(selectedCard.getIsBlocked());
-        assertNull(selectedCard.getBlockedReason());
-        assertNull(selectedCard.getLastBlockedDt());
-        assertEquals("unblocked now", selectedCard.getUnblockedReason());
-        assertNotNull(selectedCard.getUpdateDt());
-        assertNotNull(selectedCard.getLastUnblockedDt());
-        verify(cardService).save(selectedCard);
+        verify(cardCommandService).unblock(1L, 7L, "unblocked now");
+        verify(consoleInterface).printMessage("unblocked");
     }
     @Test
     void shouldNotUnblockIfNotBlocked() {
@@ -318,10 +322,9 @@ class ConsoleServiceTest {
         // when
         Mockito.when(messageService.getMessage("msg.error.impossible.do.unblock"))
                 .thenReturn("cannot.unblock");
-        consoleService.unblockCard(selectedCard);
+        consoleService.unblockCard(1L, selectedCard);
         // then
         verify(consoleInterface).printMessage("cannot.unblock");
-        verify(cardService, Mockito.never()).save(Mockito.any());
+        verifyNoMoreInteractions(cardCommandService);
     }
 }
-
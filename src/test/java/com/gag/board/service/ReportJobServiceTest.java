@@ -0,0 +1,127 @@
+package com.gag.board.service;
+
+import com.gag.board.dto.MovementReport;
+import com.gag.board.dto.ReportFormat;
+import com.gag.board.dto.ReportType;
+import com.gag.board.exception.ReportExportException;
+import com.gag.board.exception.ReportJobRejectedException;
+import com.gag.board.util.exporter.ExcelExporter;
+import com.gag.board.util.exporter.PDFExporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportJobServiceTest {
+    @Mock
+    private CardService cardService;
+    @Mock
+    private ExcelExporter excelExporter;
+    @Mock
+    private PDFExporter pdfExporter;
+    @TempDir
+    Path tempDir;
+
+    private ReportJobService reportJobService;
+
+    @BeforeEach
+    void setUp() {
+        reportJobService = new ReportJobService(cardService, excelExporter, pdfExporter, tempDir.toString(), 2, 4, 1, 0);
+    }
+    @AfterEach
+    void tearDown() {
+        reportJobService.shutdown();
+    }
+    @Test
+    void shouldWriteReportsToConfiguredOutputDirectory() {
+        //when
+        ReportJob job = reportJobService.submit(1L, ReportType.MOVEMENT, ReportFormat.PDF);
+        //then
+        assertEquals(tempDir.resolve("MovementReport-board1-job" + job.getId() + ".pdf"), job.getOutputFile());
+        assertTrue(reportJobService.find(job.getId()).isPresent());
+    }
+    @Test
+    void shouldLimitJobsPerBoardAndReleaseTheBoardWhenCancelled() throws InterruptedException {
+        //given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Mockito.doAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            interrupted.set(Thread.currentThread().isInterrupted());
+            Consumer<Stream<MovementReport>> consumer = invocation.getArgument(1);
+            consumer.accept(Stream.generate(() -> (MovementReport) null).limit(3));
+            return null;
+        }).when(cardService).streamMovementReport(Mockito.eq(1L), Mockito.any());
+        Mockito.doAnswer(invocation -> {
+            Stream<MovementReport> reports = invocation.getArgument(0);
+            reports.forEach(report -> { });
+            return null;
+        }).when(excelExporter).streamMovementToExcel(Mockito.any(), Mockito.anyString(), Mockito.anyString());
+        ReportJob job = reportJobService.submit(1L, ReportType.MOVEMENT, ReportFormat.EXCEL);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        //when
+        assertThrows(ReportJobRejectedException.class, () -> reportJobService.submit(1L, ReportType.BLOCKED, ReportFormat.EXCEL));
+        assertTrue(reportJobService.cancel(job.getId()));
+        release.countDown();
+        //then
+        awaitFinished(job);
+        assertEquals(ReportJob.Status.CANCELLED, job.getStatus());
+        assertFalse(interrupted.get());
+        assertEquals(0, job.getRowsWritten());
+        assertNotNull(reportJobService.submit(1L, ReportType.BLOCKED, ReportFormat.EXCEL));
+    }
+    @Test
+    void shouldFailTheJobAndDeleteThePartialFileWhenTheExportFails() throws InterruptedException {
+        //given
+        Mockito.doAnswer(invocation -> {
+            Path partial = tempDir.resolve("MovementReport-board1-job1.xlsx");
+            Files.writeString(partial, "partial");
+            throw new ReportExportException("could not write report " + partial, new IOException("disk full"));
+        }).when(cardService).streamMovementReport(Mockito.eq(1L), Mockito.any());
+        //when
+        ReportJob job = reportJobService.submit(1L, ReportType.MOVEMENT, ReportFormat.EXCEL);
+        //then
+        awaitFinished(job);
+        assertEquals(ReportJob.Status.FAILED, job.getStatus());
+        assertFalse(Files.exists(job.getOutputFile()));
+    }
+    @Test
+    void shouldForgetJobsFinishedLongerThanTheRetention() throws InterruptedException {
+        //given
+        ReportJob job = reportJobService.submit(1L, ReportType.MOVEMENT, ReportFormat.EXCEL);
+        awaitFinished(job);
+        //when
+        reportJobService.pruneFinishedJobs();
+        //then
+        assertTrue(reportJobService.find(job.getId()).isEmpty());
+    }
+    @Test
+    void shouldReturnFalseWhenCancellingUnknownJob() {
+        assertFalse(reportJobService.cancel(42L));
+    }
+    private static void awaitFinished(ReportJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!job.isFinishedBy(Instant.now()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
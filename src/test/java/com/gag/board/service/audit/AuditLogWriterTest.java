@@ -0,0 +1,138 @@
+package com.gag.board.service.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gag.board.service.audit.AuditRecord.BoardRecord;
+import com.gag.board.service.audit.AuditRecord.CardRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogWriterTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AuditLogWriter auditLogWriter;
+
+    @BeforeEach
+    void setUp() {
+        auditLogWriter = new AuditLogWriter(jdbcTemplate, transactionManager, new ObjectMapper().findAndRegisterModules(), 10, 500, 50, 3, 1, 1);
+    }
+    @Test
+    void splitIntoRuns_shouldKeepOrderAndNeverRepeatAnEntityInARun() {
+        //given
+        CardRecord firstUpdateOf1 = card(AuditOperation.UPDATE, 1L);
+        CardRecord updateOf2 = card(AuditOperation.UPDATE, 2L);
+        CardRecord secondUpdateOf1 = card(AuditOperation.UPDATE, 1L);
+        BoardRecord board = new BoardRecord(AuditOperation.INSERT, 7L, "board", null, OffsetDateTime.now());
+        //when
+        List<List<AuditRecord>> runs = AuditLogWriter.splitIntoRuns(List.of(firstUpdateOf1, updateOf2, secondUpdateOf1, board));
+        //then
+        assertEquals(List.of(
+                List.<AuditRecord>of(firstUpdateOf1, updateOf2),
+                List.<AuditRecord>of(secondUpdateOf1),
+                List.<AuditRecord>of(board)), runs);
+    }
+    @Test
+    void flush_shouldWriteCardInsertsBeforeTheirUpdatesInOneTransaction() {
+        //given
+        List<AuditRecord> records = List.of(card(AuditOperation.INSERT, 1L), card(AuditOperation.UPDATE, 1L));
+        //when
+        auditLogWriter.flush(records);
+        //then
+        InOrder inOrder = Mockito.inOrder(transactionManager, jdbcTemplate);
+        inOrder.verify(transactionManager).getTransaction(Mockito.any());
+        inOrder.verify(jdbcTemplate).batchUpdate(Mockito.eq(AuditLogWriter.INSERT_CARD), Mockito.anyCollection(), Mockito.eq(500), Mockito.any());
+        inOrder.verify(jdbcTemplate).batchUpdate(Mockito.eq(AuditLogWriter.INSERT_CARD_SNAPSHOT), Mockito.anyCollection(), Mockito.eq(500), Mockito.any());
+        inOrder.verify(jdbcTemplate).batchUpdate(Mockito.eq(AuditLogWriter.UPDATE_CARD), Mockito.anyCollection(), Mockito.eq(500), Mockito.any());
+        inOrder.verify(transactionManager).commit(Mockito.any());
+    }
+    @Test
+    void flush_shouldCloseTheColumnVisitOfAMovedCardBeforeOpeningTheNextOne() {
+        //given
+        List<AuditRecord> records = List.of(card(AuditOperation.UPDATE, 1L), card(AuditOperation.DELETE, 2L));
+        //when
+        auditLogWriter.flush(records);
+        //then
+        InOrder inOrder = Mockito.inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).batchUpdate(Mockito.eq(AuditLogWriter.UPDATE_CARD), Mockito.anyCollection(), Mockito.eq(500), Mockito.any());
+        inOrder.verify(jdbcTemplate).batchUpdate(Mockito.eq(AuditLogWriter.CLOSE_DWELL), Mockito.anyCollection(), Mockito.eq(500), Mockito.any());
+        inOrder.verify(jdbcTemplate).batchUpdate(Mockito.eq(AuditLogWriter.OPEN_DWELL), Mockito.anyCollection(), Mockito.eq(500), Mockito.any());
+        inOrder.verify(jdbcTemplate).batchUpdate(Mockito.eq(AuditLogWriter.DELETE_CARD), Mockito.anyCollection(), Mockito.eq(500), Mockito.any());
+        inOrder.verify(jdbcTemplate).batchUpdate(Mockito.eq(AuditLogWriter.CLOSE_DWELL), Mockito.anyCollection(), Mockito.eq(500), Mockito.any());
+        Mockito.verify(jdbcTemplate, Mockito.times(1)).batchUpdate(Mockito.eq(AuditLogWriter.OPEN_DWELL), Mockito.anyCollection(), Mockito.eq(500), Mockito.any());
+    }
+    @Test
+    void flush_shouldOpenBlockEpisodesOfBlockedCardsAndCloseThoseOfUnblockedOnes() {
+        //given
+        CardRecord blocked = new CardRecord(AuditOperation.UPDATE, 1L, "title_1", "desc", true, "waiting", null,
+                OffsetDateTime.now(), null, null, 3L, OffsetDateTime.now());
+        List<AuditRecord> records = List.of(blocked, card(AuditOperation.UPDATE, 2L));
+        //when
+        auditLogWriter.flush(records);
+        //then
+        Mockito.verify(jdbcTemplate).batchUpdate(Mockito.eq(AuditLogWriter.CLOSE_BLOCK), Mockito.eq(List.of(records.get(1))), Mockito.eq(500), Mockito.any());
+        Mockito.verify(jdbcTemplate).batchUpdate(Mockito.eq(AuditLogWriter.OPEN_BLOCK), Mockito.eq(List.of(blocked)), Mockito.eq(500), Mockito.any());
+    }
+    @Test
+    void writeWithRetry_shouldRetryAFailedFlushUntilTheBatchIsWritten() {
+        //given
+        List<AuditRecord> records = List.of(board(7L));
+        Mockito.when(jdbcTemplate.batchUpdate(Mockito.eq(AuditLogWriter.INSERT_BOARD), Mockito.anyCollection(), Mockito.eq(500), Mockito.any()))
+                .thenThrow(new CannotAcquireLockException("deadlock"))
+                .thenReturn(new int[0][]);
+        //when
+        boolean written = auditLogWriter.writeWithRetry(records);
+        //then
+        assertTrue(written);
+        Mockito.verify(jdbcTemplate, Mockito.times(2)).batchUpdate(Mockito.eq(AuditLogWriter.INSERT_BOARD), Mockito.eq(records), Mockito.eq(500), Mockito.any());
+        Mockito.verify(transactionManager).rollback(Mockito.any());
+        Mockito.verify(jdbcTemplate, Mockito.never()).batchUpdate(Mockito.eq(AuditLogWriter.INSERT_DEAD_LETTER), Mockito.anyCollection(), Mockito.anyInt(), Mockito.any());
+    }
+    @Test
+    void writeWithRetry_shouldMoveABatchThatKeepsFailingToTheDeadLetterTable() {
+        //given
+        List<AuditRecord> records = List.of(board(7L));
+        Mockito.when(jdbcTemplate.batchUpdate(Mockito.eq(AuditLogWriter.INSERT_BOARD), Mockito.anyCollection(), Mockito.eq(500), Mockito.any()))
+                .thenThrow(new CannotAcquireLockException("deadlock"));
+        //when
+        boolean written = auditLogWriter.writeWithRetry(records);
+        //then
+        assertTrue(written);
+        Mockito.verify(jdbcTemplate, Mockito.times(3)).batchUpdate(Mockito.eq(AuditLogWriter.INSERT_BOARD), Mockito.eq(records), Mockito.eq(500), Mockito.any());
+        Mockito.verify(jdbcTemplate).batchUpdate(Mockito.eq(AuditLogWriter.INSERT_DEAD_LETTER), Mockito.eq(records), Mockito.eq(500), Mockito.any());
+    }
+    @Test
+    void shutdown_shouldWriteEveryQueuedRecord() {
+        //given
+        auditLogWriter.start();
+        auditLogWriter.enqueue(board(7L));
+        auditLogWriter.enqueue(board(8L));
+        //when
+        auditLogWriter.shutdown();
+        //then
+        assertEquals(0, auditLogWriter.pending());
+        Mockito.verify(jdbcTemplate, Mockito.atLeastOnce()).batchUpdate(Mockito.eq(AuditLogWriter.INSERT_BOARD), Mockito.anyCollection(), Mockito.eq(500), Mockito.any());
+    }
+
+    private static BoardRecord board(Long id) {
+        return new BoardRecord(AuditOperation.INSERT, id, "board_" + id, null, OffsetDateTime.now());
+    }
+    private static CardRecord card(AuditOperation operation, Long id) {
+        return new CardRecord(operation, id, "title_" + id, "desc", false, null, null, null, null, null, 3L, OffsetDateTime.now());
+    }
+}
@@ -0,0 +1,63 @@
+package com.gag.board.service.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditTriggerVerifierTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void verify_shouldPassWhenEveryTriggerMatchesTheMode() {
+        //given
+        givenTriggerState(triggers(true));
+        AuditTriggerVerifier verifier = new AuditTriggerVerifier(jdbcTemplate, AuditMode.ASYNC);
+        //when //then
+        assertDoesNotThrow(verifier::verify);
+    }
+    @Test
+    void verify_shouldFailWhenATriggerIsEnabledInAsyncMode() {
+        //given
+        Map<String, Boolean> state = triggers(true);
+        state.put("trg_dwell_update_cards", false);
+        givenTriggerState(state);
+        AuditTriggerVerifier verifier = new AuditTriggerVerifier(jdbcTemplate, AuditMode.ASYNC);
+        //when
+        IllegalStateException exception = assertThrows(IllegalStateException.class, verifier::verify);
+        //then
+        assertTrue(exception.getMessage().contains("trg_dwell_update_cards (enabled)"));
+    }
+    @Test
+    void verify_shouldFailWhenATriggerIsMissing() {
+        //given
+        Map<String, Boolean> state = triggers(false);
+        state.remove("trg_block_delete_cards");
+        givenTriggerState(state);
+        AuditTriggerVerifier verifier = new AuditTriggerVerifier(jdbcTemplate, AuditMode.TRIGGER);
+        //when
+        IllegalStateException exception = assertThrows(IllegalStateException.class, verifier::verify);
+        //then
+        assertTrue(exception.getMessage().contains("trg_block_delete_cards (missing)"));
+    }
+
+    private void givenTriggerState(Map<String, Boolean> state) {
+        Mockito.when(jdbcTemplate.query(Mockito.anyString(), Mockito.<ResultSetExtractor<Map<String, Boolean>>>any()))
+                .thenReturn(state);
+    }
+    private static Map<String, Boolean> triggers(boolean disabled) {
+        Map<String, Boolean> state = new HashMap<>();
+        AuditTriggerVerifier.AUDIT_TRIGGERS.forEach(trigger -> state.put(trigger, disabled));
+        return state;
+    }
+}
@@ -0,0 +1,48 @@
+package com.gag.board.util.exporter;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ColumnWidthEstimatorTest {
+
+    @Test
+    void shouldUseLongestValueOfEachColumnIncludingHeader() {
+        //given
+        ColumnWidthEstimator widths = new ColumnWidthEstimator(new String[]{"ID", "Title"});
+        //when
+        widths.record(0, 123456L);
+        widths.record(1, "abc");
+        widths.record(1, (String) null);
+        //then
+        assertEquals(6 + 2, widths.widthInCharacters(0));
+        assertEquals("Title".length() + 2, widths.widthInCharacters(1));
+    }
+    @Test
+    void shouldCapVeryLongValues() {
+        //given
+        ColumnWidthEstimator widths = new ColumnWidthEstimator(new String[]{"Description"});
+        //when
+        widths.record(0, "x".repeat(500));
+        //then
+        assertEquals(ColumnWidthEstimator.MAX_CHARACTERS + 2, widths.widthInCharacters(0));
+    }
+    @Test
+    void shouldApplyWidthsToSheetColumns() throws IOException {
+        //given
+        ColumnWidthEstimator widths = new ColumnWidthEstimator(new String[]{"ID", "Title"});
+        widths.record(1, "a longer title");
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("widths");
+            //when
+            widths.applyTo(sheet);
+            //then
+            assertEquals(widths.widthInCharacters(0) * 256, sheet.getColumnWidth(0));
+            assertEquals(widths.widthInCharacters(1) * 256, sheet.getColumnWidth(1));
+        }
+    }
+}
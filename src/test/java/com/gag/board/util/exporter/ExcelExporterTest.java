@@ -2,7 +2,7 @@ package com.gag.board.util.exporter;
 
 import com.gag.board.dto.BlockUnblockReport;
 import com.gag.board.dto.MovementReport;
-import com.gag.board.service.ConsoleInterface;
+import com.gag.board.exception.ReportExportException;
 import com.gag.board.service.MessageService;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
@@ -21,6 +21,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,14 +33,11 @@ class ExcelExporterTest {
     ExcelExporter exporter;
     @Mock
     MessageService messageService;
-    @Mock
-    ConsoleInterface consoleInterface;
     @TempDir
     Path tempDir;
     @Test
     void shouldExportMovementToExcelWithCorrectContent() throws Exception {
         // given
-        when(messageService.getMessage("export.success")).thenReturn("Export successful");
         when(messageService.getMessage("export.column.id")).thenReturn("ID");
         when(messageService.getMessage("export.column.title")).thenReturn("Title");
         when(messageService.getMessage("export.column.description")).thenReturn("Description");
@@ -62,7 +61,6 @@ class ExcelExporterTest {
         // when
         exporter.exportMovementToExcel(List.of(report), tempFile.getAbsolutePath(), "Movements");
         // then
-        verify(consoleInterface).printMessage("Export successful");
         try (FileInputStream fis = new FileInputStream(tempFile);
             Workbook workbook = new XSSFWorkbook(fis)) {
             Sheet sheet = workbook.getSheet("Movements");
@@ -103,7 +101,6 @@ class ExcelExporterTest {
         Path path = Paths.get(filePath);
         System.out.println(path);
         assertTrue(Files.exists(path));
-        verify(consoleInterface).printMessage("export.success");
         try (Workbook workbook = new XSSFWorkbook(Files.newInputStream(path))) {
             Sheet sheet = workbook.getSheetAt(0);
             Row dataRow = sheet.getRow(1);
@@ -117,6 +114,58 @@ class ExcelExporterTest {
             assertEquals(90,dataRow.getCell(11).getNumericCellValue());
         }
     }
-
+    @Test
+    void streamMovementToExcel_writesEveryRowBeyondTheStreamingWindow() throws IOException {
+        //given
+        int rowCount = ExcelExporter.STREAMING_WINDOW_SIZE * 3 + 7;
+        Stream<MovementReport> reports = LongStream.rangeClosed(1, rowCount).mapToObj(id -> new MovementReport(
+                id, "Card " + id, "Desc " + id, "P", 1L, 2L, LocalDateTime.of(2024, 4, 1, 10, 0), 15.0));
+        String filePath = tempDir.resolve("movement-stream.xlsx").toString();
+        when(messageService.getMessage(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        //when
+        exporter.streamMovementToExcel(reports, filePath, "Movements");
+        //then
+        try (Workbook workbook = new XSSFWorkbook(Files.newInputStream(Paths.get(filePath)))) {
+            Sheet sheet = workbook.getSheet("Movements");
+            assertEquals("export.column.id", sheet.getRow(0).getCell(0).getStringCellValue());
+            assertEquals(rowCount, sheet.getLastRowNum());
+            assertEquals("Card 1", sheet.getRow(1).getCell(1).getStringCellValue());
+            assertEquals("Card " + rowCount, sheet.getRow(rowCount).getCell(1).getStringCellValue());
+        }
+    }
+    @Test
+    void exportBoardDossierToExcel_writesBothReportsSharingStyles() throws IOException {
+        //given
+        List<MovementReport> movements = LongStream.rangeClosed(1, 50).mapToObj(id -> new MovementReport(
+                id, "Card " + id, "Desc", "P", 1L, 2L, LocalDateTime.of(2024, 4, 1, 10, 0), 15.0)).toList();
+        List<BlockUnblockReport> blocks = LongStream.rangeClosed(1, 50).mapToObj(id -> new BlockUnblockReport(
+                id, "Card " + id, "Desc", "P", 1L, 2L, id % 2 == 0, "Issue", "Solved",
+                LocalDateTime.of(2024, 4, 3, 13, 0), LocalDateTime.of(2024, 4, 3, 14, 0), 60L)).toList();
+        String filePath = tempDir.resolve("dossier.xlsx").toString();
+        when(messageService.getMessage(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        //when
+        exporter.exportBoardDossierToExcel(movements::stream, blocks::stream, filePath);
+        //then
+        try (Workbook workbook = new XSSFWorkbook(Files.newInputStream(Paths.get(filePath)))) {
+            assertEquals(2, workbook.getNumberOfSheets());
+            Sheet movementSheet = workbook.getSheet("export.sheet.movement");
+            Sheet blockedSheet = workbook.getSheet("export.sheet.blocked");
+            assertEquals(50, movementSheet.getLastRowNum());
+            assertEquals(50, blockedSheet.getLastRowNum());
+            assertEquals(movementSheet.getRow(0).getCell(0).getCellStyle().getIndex(),
+                    blockedSheet.getRow(0).getCell(11).getCellStyle().getIndex());
+            // default style + header, date-time, numeric and blocked highlight
+            assertEquals(5, workbook.getNumCellStyles());
+        }
+    }
+    @Test
+    void streamMovementToExcel_throwsWhenTheFileCannotBeWritten() throws IOException {
+        //given
+        Stream<MovementReport> reports = Stream.of(new MovementReport(
+                1L, "Card 1", "Desc", "P", 1L, 2L, LocalDateTime.of(2024, 4, 1, 10, 0), 15.0));
+        String filePath = Files.createDirectory(tempDir.resolve("occupied.xlsx")).toString();
+        when(messageService.getMessage(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        //when //then
+        assertThrows(ReportExportException.class, () -> exporter.streamMovementToExcel(reports, filePath, "Movements"));
+    }
 }
-
@@ -2,8 +2,8 @@ package com.gag.board.util.exporter;
 
 import com.gag.board.dto.BlockUnblockReport;
 import com.gag.board.dto.MovementReport;
+import com.gag.board.exception.ReportExportException;
 import com.gag.board.service.CardService;
-import com.gag.board.service.ConsoleInterface;
 import com.gag.board.service.MessageService;
 import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.pdmodel.PDDocument;
@@ -24,6 +24,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -32,8 +34,6 @@ public class PDFExporterTest {
 
     @Mock
     MessageService messageService;
-    @Mock
-    ConsoleInterface consoleInterface;
 
     @InjectMocks
     private PDFExporter exporter;
@@ -85,4 +85,52 @@ public class PDFExporterTest {
              assertTrue(text.contains("120"));
         }
     }
+    @Test
+    void streamMovementReportToPDF_resolvesLabelsOncePerExport() throws IOException {
+        //given
+        Stream<MovementReport> reports = LongStream.rangeClosed(1, 200).mapToObj(id -> new MovementReport(
+                id, "Task " + id, "Desc", "MOVE", 10L, 20L, LocalDateTime.of(2024, 4, 1, 10, 0), 30.0));
+        String filePath = tempDir.resolve("movement-stream.pdf").toString();
+        Mockito.when(messageService.getMessage(Mockito.anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        //when
+        exporter.streamMovementReportToPDF(reports, filePath, "Movement Report");
+        //then
+        Mockito.verify(messageService, Mockito.times(1)).getMessage("export.column.title");
+        try (PDDocument document = Loader.loadPDF(new File(filePath))){
+            assertTrue(document.getNumberOfPages() > 1);
+            String text = new PDFTextStripper().getText(document);
+            assertTrue(text.contains("Task 1"));
+            assertTrue(text.contains("Task 200"));
+        }
+    }
+    @Test
+    void streamMovementReportToPDF_throwsWhenTheFileCannotBeWritten() throws IOException {
+        //given
+        Stream<MovementReport> reports = Stream.of(new MovementReport(
+                1L, "Task 1", "Desc", "MOVE", 10L, 20L, LocalDateTime.of(2024, 4, 1, 10, 0), 30.0));
+        String filePath = Files.createDirectory(tempDir.resolve("occupied.pdf")).toString();
+        Mockito.when(messageService.getMessage(Mockito.anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        //when //then
+        assertThrows(ReportExportException.class, () -> exporter.streamMovementReportToPDF(reports, filePath, "Movement Report"));
+    }
+    @Test
+    void exportMovementReportToPDF_inParallelIsIndependentOfThreadCount() throws IOException {
+        //given
+        List<MovementReport> reports = LongStream.rangeClosed(1, 500).mapToObj(id -> new MovementReport(
+                id, "Task " + id, "Desc", "MOVE", 10L, 20L, LocalDateTime.of(2024, 4, 1, 10, 0), 30.0)).toList();
+        Path singleThreaded = tempDir.resolve("movement-1.pdf");
+        Path multiThreaded = tempDir.resolve("movement-4.pdf");
+        Mockito.when(messageService.getMessage(Mockito.anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        //when
+        exporter.exportMovementReportToPDF(reports, singleThreaded.toString(), "Movement Report", 1);
+        exporter.exportMovementReportToPDF(reports, multiThreaded.toString(), "Movement Report", 4);
+        //then
+        assertArrayEquals(Files.readAllBytes(singleThreaded), Files.readAllBytes(multiThreaded));
+        try (PDDocument document = Loader.loadPDF(singleThreaded.toFile())){
+            assertTrue(document.getNumberOfPages() > 1);
+            String text = new PDFTextStripper().getText(document);
+            assertTrue(text.indexOf("Task 1\n") < text.indexOf("Task 250"));
+            assertTrue(text.indexOf("Task 250") < text.indexOf("Task 500"));
+        }
+    }
 }
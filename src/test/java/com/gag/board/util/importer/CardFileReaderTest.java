@@ -0,0 +1,94 @@
+package com.gag.board.util.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardFileReaderTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void next_readsCsvWithHeaderQuotesAndRejectedRows() throws IOException {
+        // given
+        Path file = tempDir.resolve("cards.csv");
+        Files.writeString(file, String.join("\n",
+                "title,description",
+                "Task A,plain",
+                "\"Task, B\",\"says \"\"hi\"\"\"",
+                "",
+                ",missing title",
+                "Task C"));
+
+        // when
+        List<CardFileReader.Row> rows = readAll(file, CardImportFormat.CSV);
+
+        // then
+        assertEquals(4, rows.size());
+        assertEquals("Task A", rows.get(0).spec().title());
+        assertEquals("Task, B", rows.get(1).spec().title());
+        assertEquals("says \"hi\"", rows.get(1).spec().description());
+        assertFalse(rows.get(2).isValid());
+        assertEquals(5, rows.get(2).lineNumber());
+        assertNull(rows.get(3).spec().description());
+    }
+
+    @Test
+    void next_readsNdjsonAndRejectsInvalidLines() throws IOException {
+        // given
+        Path file = tempDir.resolve("cards.ndjson");
+        Files.writeString(file, String.join("\n",
+                "{\"title\": \"Task A\", \"description\": \"desc\"}",
+                "{not json}",
+                "{\"title\": \"" + "x".repeat(CardFileReader.MAX_LENGTH + 1) + "\"}"));
+
+        // when
+        List<CardFileReader.Row> rows = readAll(file, CardImportFormat.NDJSON);
+
+        // then
+        assertEquals(3, rows.size());
+        assertEquals("desc", rows.get(0).spec().description());
+        assertFalse(rows.get(1).isValid());
+        assertFalse(rows.get(2).isValid());
+    }
+
+    @Test
+    void skip_resumesAfterTheGivenLine() throws IOException {
+        // given
+        Path file = tempDir.resolve("cards.csv");
+        Files.writeString(file, "title,description\nTask A,a\nTask B,b\nTask C,c");
+
+        // when
+        List<CardFileReader.Row> rows = new ArrayList<>();
+        try (CardFileReader reader = new CardFileReader(file, CardImportFormat.CSV, new ObjectMapper())) {
+            reader.skip(3);
+            CardFileReader.Row row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+
+        // then
+        assertEquals(1, rows.size());
+        assertEquals("Task C", rows.getFirst().spec().title());
+    }
+
+    private static List<CardFileReader.Row> readAll(Path file, CardImportFormat format) throws IOException {
+        List<CardFileReader.Row> rows = new ArrayList<>();
+        try (CardFileReader reader = new CardFileReader(file, format, new ObjectMapper())) {
+            CardFileReader.Row row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,83 @@
+-- Measures the cost of the card audit, column visit and block episode triggers while their history grows.
+-- Run it by hand against a disposable database migrated by Flyway with board.audit.mode=trigger, e.g.:
+--   sqlcmd -S localhost -d board_bench -U sa -P <password> -i audit_trigger_benchmark.sql
+-- Each round moves every card to the other column once, so a_cards and a_card_column_dwell grow by @cards rows
+-- per round, then updates all of them again in a single statement (one trigger call with @cards rows).
+-- The card triggers of the migrated schema read the latest card state from a_cards_latest (V5) and the open visit
+-- through ux_a_card_column_dwell_open (V10), never the history itself, so the milliseconds per update stay flat
+-- across rounds for both kinds of update.
+SET NOCOUNT ON;
+
+IF EXISTS (SELECT 1 FROM sys.triggers
+           WHERE name IN ('trg_audit_update_cards', 'trg_dwell_update_cards', 'trg_block_update_cards')
+             AND is_disabled = 1)
+    THROW 50000, 'The card triggers are disabled: migrate the database with board.audit.mode=trigger.', 1;
+
+DECLARE @cards INT = 1000;
+DECLARE @rounds INT = 20;
+
+DECLARE @boardId BIGINT;
+DECLARE @columnId BIGINT;
+DECLARE @otherColumnId BIGINT;
+
+INSERT INTO boards (name, create_dt) VALUES ('trigger benchmark', GETDATE());
+SET @boardId = SCOPE_IDENTITY();
+
+INSERT INTO board_columns (board_id, name, board_order, type, create_dt)
+VALUES (@boardId, 'benchmark', 0, 'I', GETDATE());
+SET @columnId = SCOPE_IDENTITY();
+
+INSERT INTO board_columns (board_id, name, board_order, type, create_dt)
+VALUES (@boardId, 'benchmark other', 1, 'P', GETDATE());
+SET @otherColumnId = SCOPE_IDENTITY();
+
+INSERT INTO cards (title, description, create_dt, is_blocked, column_board_id)
+SELECT TOP (@cards) CONCAT('card ', n.n), 'benchmark', GETDATE(), 0, @columnId
+FROM (SELECT ROW_NUMBER() OVER (ORDER BY (SELECT NULL)) AS n
+      FROM sys.all_objects a CROSS JOIN sys.all_objects b) n;
+
+DECLARE @results TABLE (round INT, a_cards_rows BIGINT, dwell_rows BIGINT, elapsed_ms INT, ms_per_update DECIMAL(10, 4), bulk_elapsed_ms INT);
+DECLARE @round INT = 1;
+DECLARE @started DATETIME2;
+DECLARE @cardId BIGINT;
+
+WHILE @round <= @rounds
+BEGIN
+    SET @started = SYSDATETIME();
+
+    -- One statement per card, so the triggers fire once per row as they do for the application
+    DECLARE card_cursor CURSOR LOCAL FAST_FORWARD FOR
+        SELECT card_id FROM cards WHERE column_board_id IN (@columnId, @otherColumnId);
+    OPEN card_cursor;
+    FETCH NEXT FROM card_cursor INTO @cardId;
+    WHILE @@FETCH_STATUS = 0
+    BEGIN
+        UPDATE cards
+        SET column_board_id = CASE WHEN column_board_id = @columnId THEN @otherColumnId ELSE @columnId END,
+            last_movement_dt = GETDATE(), update_dt = GETDATE()
+        WHERE card_id = @cardId;
+        FETCH NEXT FROM card_cursor INTO @cardId;
+    END;
+    CLOSE card_cursor;
+    DEALLOCATE card_cursor;
+
+    INSERT INTO @results (round, a_cards_rows, dwell_rows, elapsed_ms, ms_per_update)
+    SELECT @round,
+           (SELECT COUNT_BIG(*) FROM a_cards),
+           (SELECT COUNT_BIG(*) FROM a_card_column_dwell),
+           DATEDIFF(MILLISECOND, @started, SYSDATETIME()),
+           CAST(DATEDIFF(MILLISECOND, @started, SYSDATETIME()) AS DECIMAL(10, 4)) / @cards;
+
+    SET @started = SYSDATETIME();
+    UPDATE cards SET update_dt = GETDATE() WHERE column_board_id IN (@columnId, @otherColumnId);
+    UPDATE @results SET bulk_elapsed_ms = DATEDIFF(MILLISECOND, @started, SYSDATETIME()) WHERE round = @round;
+
+    SET @round = @round + 1;
+END;
+
+SELECT * FROM @results ORDER BY round;
+
+-- Cleanup: the audit rows of the benchmark are left in place on purpose, drop the database afterwards.
+DELETE FROM cards WHERE column_board_id IN (@columnId, @otherColumnId);
+DELETE FROM board_columns WHERE column_board_id IN (@columnId, @otherColumnId);
+DELETE FROM boards WHERE board_id = @boardId;